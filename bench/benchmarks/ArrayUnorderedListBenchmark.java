@@ -0,0 +1,181 @@
+package benchmarks;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import structures.ArrayUnorderedList;
+
+/**
+ * Benchmarks of every UnorderedListADT operation of ArrayUnorderedList. Each
+ * benchmark that changes the list undoes its change in the same call, so the
+ * list keeps its size across invocations, and the time reported is that of
+ * the pair of operations.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx8g"})
+public class ArrayUnorderedListBenchmark {
+
+    /** The number of elements. */
+    @Param({"10", "1000", "100000", "10000000"})
+    private int mySize;
+
+    /** The list under test. */
+    private ArrayUnorderedList<Integer> myList;
+
+    /** The element in the middle of the list. */
+    private Integer myMiddle;
+
+    /** An element that is not in the list. */
+    private Integer myAbsent;
+
+    /**
+     * Fills the list with the numbers 0 to size - 1.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        myList = new ArrayUnorderedList<>();
+        for (int i = 0; i < mySize; i++) {
+            myList.addToRear(i);
+        }
+        myMiddle = mySize / 2;
+        myAbsent = -1;
+    }
+
+    /**
+     * Measures addToFront() followed by removeFirst().
+     *
+     * @return the removed element
+     */
+    @Benchmark
+    public Integer addToFrontRemoveFirst() {
+        myList.addToFront(myAbsent);
+        return myList.removeFirst();
+    }
+
+    /**
+     * Measures addToRear() followed by removeLast().
+     *
+     * @return the removed element
+     */
+    @Benchmark
+    public Integer addToRearRemoveLast() {
+        myList.addToRear(myAbsent);
+        return myList.removeLast();
+    }
+
+    /**
+     * Measures addAfter() of the middle element followed by remove() of the
+     * added element.
+     *
+     * @return the removed element
+     */
+    @Benchmark
+    public Integer addAfterRemove() {
+        myList.addAfter(myAbsent, myMiddle);
+        return myList.remove(myAbsent);
+    }
+
+    /**
+     * Measures first().
+     *
+     * @return the first element
+     */
+    @Benchmark
+    public Integer first() {
+        return myList.first();
+    }
+
+    /**
+     * Measures last().
+     *
+     * @return the last element
+     */
+    @Benchmark
+    public Integer last() {
+        return myList.last();
+    }
+
+    /**
+     * Measures contains() for the middle element.
+     *
+     * @return true
+     */
+    @Benchmark
+    public boolean containsPresent() {
+        return myList.contains(myMiddle);
+    }
+
+    /**
+     * Measures contains() for an element not in the list.
+     *
+     * @return false
+     */
+    @Benchmark
+    public boolean containsAbsent() {
+        return myList.contains(myAbsent);
+    }
+
+    /**
+     * Measures isEmpty().
+     *
+     * @return false
+     */
+    @Benchmark
+    public boolean isEmpty() {
+        return myList.isEmpty();
+    }
+
+    /**
+     * Measures size().
+     *
+     * @return the size of the list
+     */
+    @Benchmark
+    public int size() {
+        return myList.size();
+    }
+
+    /**
+     * Measures toString().
+     *
+     * @return the string form of the list
+     */
+    @Benchmark
+    public String toStringList() {
+        return myList.toString();
+    }
+
+    /**
+     * Measures a full iteration.
+     *
+     * @param theHole consumes the elements
+     */
+    @Benchmark
+    public void iterator(final Blackhole theHole) {
+        final Iterator<Integer> itr = myList.iterator();
+        while (itr.hasNext()) {
+            theHole.consume(itr.next());
+        }
+    }
+}
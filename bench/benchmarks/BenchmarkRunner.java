@@ -0,0 +1,55 @@
+package benchmarks;
+
+import java.io.File;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the benchmarks with the GC profiler and saves the results as JSON in
+ * bench/results. The first argument names the result file, without the
+ * extension, and defaults to "latest"; use "baseline" to record the results
+ * that later runs are compared with. Further arguments are regular
+ * expressions that pick the benchmarks to run, and default to all of them.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public final class BenchmarkRunner {
+
+    /** The directory the results are saved in. */
+    private static final String RESULTS = "bench" + File.separator + "results";
+
+    /** Not instantiable. */
+    private BenchmarkRunner() {
+    }
+
+    /**
+     * Runs the benchmarks.
+     *
+     * @param theArgs the result name followed by benchmark patterns
+     * @throws RunnerException if a benchmark fails
+     */
+    public static void main(final String[] theArgs) throws RunnerException {
+        final String name = theArgs.length > 0 ? theArgs[0] : "latest";
+        new File(RESULTS).mkdirs();
+
+        final OptionsBuilder options = new OptionsBuilder();
+        if (theArgs.length > 1) {
+            for (int i = 1; i < theArgs.length; i++) {
+                options.include(theArgs[i]);
+            }
+        } else {
+            options.include(BenchmarkRunner.class.getPackage().getName() + "\\..*Benchmark");
+        }
+        final Options built = options.addProfiler(GCProfiler.class)
+                        .resultFormat(ResultFormatType.JSON)
+                        .result(RESULTS + File.separator + name + ".json")
+                        .build();
+        new Runner(built).run();
+    }
+}
@@ -0,0 +1,232 @@
+package benchmarks;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import structures.LinkedBinaryTree;
+import structures.TraversalOrder;
+
+/**
+ * Benchmarks of every BinaryTreeADT operation of LinkedBinaryTree, and of
+ * its internal traversal, on each tree shape and size. The tree is built once
+ * per trial and never changed.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = {"-Xms4g", "-Xmx8g"})
+public class LinkedBinaryTreeBenchmark {
+
+    /** The shape of the tree. */
+    @Param({"BALANCED", "LINE", "ZIG_ZAG", "PYRAMID"})
+    private TreeShape myShape;
+
+    /** The number of nodes. */
+    @Param({"10", "1000", "100000", "10000000"})
+    private int mySize;
+
+    /** The tree under test. */
+    private LinkedBinaryTree<Integer> myTree;
+
+    /** An element that is in the tree. */
+    private Integer myPresent;
+
+    /** An element that is not in the tree. */
+    private Integer myAbsent;
+
+    /**
+     * Builds the tree.
+     */
+    @Setup(Level.Trial)
+    public void setUp() {
+        myTree = myShape.build(mySize);
+        myPresent = mySize / 2;
+        myAbsent = -1;
+    }
+
+    /**
+     * Measures getRootElement().
+     *
+     * @return the root element
+     */
+    @Benchmark
+    public Integer getRootElement() {
+        return myTree.getRootElement();
+    }
+
+    /**
+     * Measures isEmpty().
+     *
+     * @return whether the tree is empty
+     */
+    @Benchmark
+    public boolean isEmpty() {
+        return myTree.isEmpty();
+    }
+
+    /**
+     * Measures size().
+     *
+     * @return the size of the tree
+     */
+    @Benchmark
+    public int size() {
+        return myTree.size();
+    }
+
+    /**
+     * Measures getHeight().
+     *
+     * @return the height of the tree
+     */
+    @Benchmark
+    public int getHeight() {
+        return myTree.getHeight();
+    }
+
+    /**
+     * Measures countLeafNodes().
+     *
+     * @return the number of leaves
+     */
+    @Benchmark
+    public int countLeafNodes() {
+        return myTree.countLeafNodes();
+    }
+
+    /**
+     * Measures countOneChildNodes().
+     *
+     * @return the number of one-child nodes
+     */
+    @Benchmark
+    public int countOneChildNodes() {
+        return myTree.countOneChildNodes();
+    }
+
+    /**
+     * Measures contains() for an element in the tree.
+     *
+     * @return true
+     */
+    @Benchmark
+    public boolean containsPresent() {
+        return myTree.contains(myPresent);
+    }
+
+    /**
+     * Measures contains() for an element not in the tree, which visits
+     * every node.
+     *
+     * @return false
+     */
+    @Benchmark
+    public boolean containsAbsent() {
+        return myTree.contains(myAbsent);
+    }
+
+    /**
+     * Measures find() for an element in the tree.
+     *
+     * @return the element found
+     */
+    @Benchmark
+    public Integer find() {
+        return myTree.find(myPresent);
+    }
+
+    /**
+     * Measures toString().
+     *
+     * @return the string form of the tree
+     */
+    @Benchmark
+    public String toStringInOrder() {
+        return myTree.toString();
+    }
+
+    /**
+     * Measures a full inorder iteration.
+     *
+     * @param theHole consumes the elements
+     */
+    @Benchmark
+    public void iteratorInOrder(final Blackhole theHole) {
+        drain(myTree.iteratorInOrder(), theHole);
+    }
+
+    /**
+     * Measures a full preorder iteration.
+     *
+     * @param theHole consumes the elements
+     */
+    @Benchmark
+    public void iteratorPreOrder(final Blackhole theHole) {
+        drain(myTree.iteratorPreOrder(), theHole);
+    }
+
+    /**
+     * Measures a full postorder iteration.
+     *
+     * @param theHole consumes the elements
+     */
+    @Benchmark
+    public void iteratorPostOrder(final Blackhole theHole) {
+        drain(myTree.iteratorPostOrder(), theHole);
+    }
+
+    /**
+     * Measures a full levelorder iteration.
+     *
+     * @param theHole consumes the elements
+     */
+    @Benchmark
+    public void iteratorLevelOrder(final Blackhole theHole) {
+        drain(myTree.iteratorLevelOrder(), theHole);
+    }
+
+    /**
+     * Measures a full inorder walk with traverse().
+     *
+     * @param theHole consumes the elements
+     * @return true
+     */
+    @Benchmark
+    public boolean traverseInOrder(final Blackhole theHole) {
+        return myTree.traverse(TraversalOrder.IN_ORDER, element -> {
+            theHole.consume(element);
+            return true;
+        });
+    }
+
+    /**
+     * Consumes every element of an iterator.
+     *
+     * @param theIter the iterator
+     * @param theHole consumes the elements
+     */
+    private static void drain(final Iterator<Integer> theIter, final Blackhole theHole) {
+        while (theIter.hasNext()) {
+            theHole.consume(theIter.next());
+        }
+    }
+}
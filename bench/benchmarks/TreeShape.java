@@ -0,0 +1,80 @@
+package benchmarks;
+
+import structures.BalancedTreeBuilder;
+import structures.LinkedBinaryTree;
+
+/**
+ * TreeShape builds trees of any size in the four shapes used by the fixtures
+ * of TestLinkedBinaryTree. The elements are the numbers 0 to size - 1, each
+ * once, so a search for size / 2 always succeeds and a search for -1 visits
+ * every node.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public enum TreeShape {
+    /** A tree of minimal height holding the elements in inorder. */
+    BALANCED {
+        @Override
+        public LinkedBinaryTree<Integer> build(final int theSize) {
+            final Integer[] elements = new Integer[theSize];
+            for (int i = 0; i < theSize; i++) {
+                elements[i] = i;
+            }
+            return BalancedTreeBuilder.build(elements);
+        }
+    },
+
+    /** A tree in which every node but the last has only a left child. */
+    LINE {
+        @Override
+        public LinkedBinaryTree<Integer> build(final int theSize) {
+            LinkedBinaryTree<Integer> tree = null;
+            for (int i = 0; i < theSize; i++) {
+                tree = new LinkedBinaryTree<>(i, tree, null);
+            }
+            return tree == null ? new LinkedBinaryTree<Integer>() : tree;
+        }
+    },
+
+    /** A line whose nodes alternate between left and right children. */
+    ZIG_ZAG {
+        @Override
+        public LinkedBinaryTree<Integer> build(final int theSize) {
+            LinkedBinaryTree<Integer> tree = null;
+            for (int i = 0; i < theSize; i++) {
+                tree = i % 2 == 0 ? new LinkedBinaryTree<>(i, tree, null)
+                                  : new LinkedBinaryTree<>(i, null, tree);
+            }
+            return tree == null ? new LinkedBinaryTree<Integer>() : tree;
+        }
+    },
+
+    /** A root with a left arm that only goes left and a right arm that only goes right. */
+    PYRAMID {
+        @Override
+        public LinkedBinaryTree<Integer> build(final int theSize) {
+            if (theSize == 0) {
+                return new LinkedBinaryTree<Integer>();
+            }
+            final int leftSize = (theSize - 1) / 2;
+            LinkedBinaryTree<Integer> left = null;
+            for (int i = 0; i < leftSize; i++) {
+                left = new LinkedBinaryTree<>(i, left, null);
+            }
+            LinkedBinaryTree<Integer> right = null;
+            for (int i = theSize - 1; i > leftSize; i--) {
+                right = new LinkedBinaryTree<>(i, null, right);
+            }
+            return new LinkedBinaryTree<>(leftSize, left, right);
+        }
+    };
+
+    /**
+     * Builds a tree of this shape.
+     *
+     * @param theSize the number of nodes
+     * @return the tree
+     */
+    public abstract LinkedBinaryTree<Integer> build(int theSize);
+}
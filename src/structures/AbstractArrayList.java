@@ -4,15 +4,22 @@ package structures;
 import exceptions.ElementNotFoundException;
 import exceptions.EmptyCollectionException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
+import java.util.function.Predicate;
 
 /**
- * ArrayList represents an array implementation of a list. The front of the list
- * is kept at array index 0. This class will be extended to create a specific
- * kind of list.
+ * ArrayList represents an array implementation of a list. The list is kept in
+ * a circular array: the front of the list is at index myFront and the rear
+ * wraps around to the start of the array, so elements can be added and
+ * removed at either end in constant time. This class will be extended to
+ * create a specific kind of list.
  *
  * @author Lewis and Chase
  * @author Yaro Salo - formatted for TCSS 342
@@ -25,14 +32,20 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
     private static final int DEFAULT_CAPACITY = 100;
 
     /** Integer indicating that an element was not found. */
-    private static final int NOT_FOUND = -1;
+    protected static final int NOT_FOUND = -1;
 
     /** A string to indicate an array list. */
     private static final String LIST = "Array List";
 
-    /** The size of the list and a reference to the next available element spot. */
+    /** The array index of the first element in the list. */
+    protected int myFront;
+
+    /** The array index of the next available element spot at the rear. */
     protected int myRear;
 
+    /** The number of elements in the list. */
+    protected int myCount;
+
     /** The list. */
     protected T[] myList;
 
@@ -52,18 +65,137 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
      * @param theInitialCapacity the integer value of the size of the array list
      */
     public AbstractArrayList(final int theInitialCapacity) {
+        myFront = 0;
         myRear = 0;
-        myList = (T[]) (new Object[theInitialCapacity]);
+        myCount = 0;
+        myList = newArray(theInitialCapacity);
         myModCount = 0;
     }
 
     /**
      * Creates a new array to store the contents of this list with twice the
-     * capacity of the old one. Called by descendant classes that add elements
-     * to the list.
+     * capacity of the old one. The elements are unwrapped so that the front
+     * of the list is at index 0 of the new array. Called by descendant classes
+     * that add elements to the list. Each growth is counted by TreeMetrics and
+     * reported as a structures.ArrayGrowth JFR event.
      */
     protected void expandCapacity() {
-        myList = Arrays.copyOf(myList, myList.length * 2);
+        growTo(Math.max(1, myList.length * 2));
+    }
+
+    /**
+     * Grows the array, if needed, so that it holds at least the given number
+     * of elements, at least doubling it so that repeated calls stay cheap.
+     * Called before adding many elements at once so that the array grows at
+     * most once.
+     *
+     * @param theCapacity the number of elements the array must hold
+     */
+    protected void ensureCapacity(final int theCapacity) {
+        if (theCapacity > myList.length) {
+            growTo(Math.max(theCapacity, myList.length * 2));
+        }
+    }
+
+    /**
+     * Creates an array of elements of the given length.
+     *
+     * @param theLength the length of the array
+     * @param <T> the generic data type
+     * @return the new array, filled with null
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newArray(final int theLength) {
+        return (T[]) new Object[theLength];
+    }
+
+    /**
+     * Moves the elements to a new array of the given capacity, unwrapped so
+     * that the front of the list is at index 0.
+     *
+     * @param theCapacity the capacity of the new array, at least the count
+     */
+    private void growTo(final int theCapacity) {
+        final ArrayGrowthEvent event = new ArrayGrowthEvent();
+        event.begin();
+        final int oldCapacity = myList.length;
+        final T[] larger = newArray(theCapacity);
+        final int firstPart = Math.min(myCount, myList.length - myFront);
+
+        System.arraycopy(myList, myFront, larger, 0, firstPart);
+        System.arraycopy(myList, 0, larger, firstPart, myCount - firstPart);
+        myList = larger;
+        myFront = 0;
+        myRear = myCount;
+
+        TreeMetrics.recordGrowth(myCount);
+        if (event.shouldCommit()) {
+            event.myOldCapacity = oldCapacity;
+            event.myNewCapacity = larger.length;
+            event.myCopied = myCount;
+            event.commit();
+        }
+    }
+
+    /**
+     * Returns the array index that holds the element at the given position in
+     * the list.
+     *
+     * @param theIndex the position in the list, counted from the front
+     * @return the array index of that position
+     */
+    protected int physical(final int theIndex) {
+        final int index = myFront + theIndex;
+        return index >= myList.length ? index - myList.length : index;
+    }
+
+    /**
+     * Returns the array index that follows the given one, wrapping around.
+     *
+     * @param theIndex an array index
+     * @return the next array index
+     */
+    protected int next(final int theIndex) {
+        return theIndex + 1 == myList.length ? 0 : theIndex + 1;
+    }
+
+    /**
+     * Returns the array index that precedes the given one, wrapping around.
+     *
+     * @param theIndex an array index
+     * @return the previous array index
+     */
+    protected int previous(final int theIndex) {
+        return theIndex == 0 ? myList.length - 1 : theIndex - 1;
+    }
+
+    /**
+     * Inserts an element at the given position in the list. The elements on
+     * the shorter side of the position are shifted to make room.
+     *
+     * @param theIndex the position the new element will have
+     * @param theElement the element to insert
+     */
+    protected void insert(final int theIndex, final T theElement) {
+        if (myCount == myList.length) {
+            expandCapacity();
+        }
+        if (theIndex < myCount / 2) {
+            // shift the front part down one
+            myFront = previous(myFront);
+            for (int scan = 0; scan < theIndex; scan++) {
+                myList[physical(scan)] = myList[physical(scan + 1)];
+            }
+        } else {
+            // shift the rear part up one
+            for (int scan = myCount; scan > theIndex; scan--) {
+                myList[physical(scan)] = myList[physical(scan - 1)];
+            }
+            myRear = next(myRear);
+        }
+        myList[physical(theIndex)] = theElement;
+        myCount++;
+        myModCount++;
     }
 
     /**
@@ -77,9 +209,10 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
             throw new EmptyCollectionException(LIST);
         }
         final T result;
-        myRear--;
+        myRear = previous(myRear);
         result = myList[myRear];
         myList[myRear] = null;
+        myCount--;
         myModCount++;
 
         return result;
@@ -95,13 +228,10 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
         if (isEmpty()) {
             throw new EmptyCollectionException(LIST);
         }
-        final T result = myList[0];
-        myRear--;
-        /** shift the elements */
-        for (int scan = 0; scan < myRear; scan++) {
-            myList[scan] = myList[scan + 1];
-        }
-        myList[myRear] = null;
+        final T result = myList[myFront];
+        myList[myFront] = null;
+        myFront = next(myFront);
+        myCount--;
         myModCount++;
 
         return result;
@@ -121,19 +251,94 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
         if (index == NOT_FOUND) {
             throw new ElementNotFoundException(LIST);
         }
-        result = myList[index];
-        myRear--;
+        result = myList[physical(index)];
 
-        // shift the appropriate elements
-        for (int scan = index; scan < myRear; scan++) {
-            myList[scan] = myList[scan + 1];
+        // shift the elements on the shorter side of the gap
+        if (index < myCount / 2) {
+            for (int scan = index; scan > 0; scan--) {
+                myList[physical(scan)] = myList[physical(scan - 1)];
+            }
+            myList[myFront] = null;
+            myFront = next(myFront);
+        } else {
+            for (int scan = index; scan < myCount - 1; scan++) {
+                myList[physical(scan)] = myList[physical(scan + 1)];
+            }
+            myRear = previous(myRear);
+            myList[myRear] = null;
         }
-        myList[myRear] = null;
+        myCount--;
         myModCount++;
 
         return result;
     }
 
+    /**
+     * Removes every element that the filter accepts, keeping the others in
+     * order. The filter is called once per element, front to rear, before
+     * anything is changed, so an exception from it leaves the list as it
+     * was. The survivors are then moved up in a single pass, so removing any
+     * number of elements takes linear time, and the modification count goes
+     * up once.
+     *
+     * @param theFilter returns true for the elements to remove
+     * @return true if any element was removed
+     */
+    public boolean removeIf(final Predicate<? super T> theFilter) {
+        long[] doomed = null;
+        for (int scan = 0; scan < myCount; scan++) {
+            if (theFilter.test(myList[physical(scan)])) {
+                if (doomed == null) {
+                    doomed = new long[(myCount + Long.SIZE - 1) / Long.SIZE];
+                }
+                //a long shift uses the low six bits, so this sets bit scan % 64
+                doomed[scan / Long.SIZE] |= 1L << scan;
+            }
+        }
+        if (doomed == null) {
+            return false;
+        }
+
+        int kept = 0;
+        for (int scan = 0; scan < myCount; scan++) {
+            if ((doomed[scan / Long.SIZE] & (1L << scan)) == 0) {
+                myList[physical(kept)] = myList[physical(scan)];
+                kept++;
+            }
+        }
+        for (int scan = kept; scan < myCount; scan++) {
+            myList[physical(scan)] = null;
+        }
+        myCount = kept;
+        myRear = physical(kept);
+        myModCount++;
+        return true;
+    }
+
+    /**
+     * Removes every element that is in the given collection, in one pass.
+     * Each element is looked up in the collection once, so the collection
+     * should be a hash set or similar when it is large.
+     *
+     * @param theElements the elements to remove
+     * @return true if any element was removed
+     */
+    public boolean removeAll(final Collection<?> theElements) {
+        return removeIf(theElements::contains);
+    }
+
+    /**
+     * Removes every element that is not in the given collection, in one
+     * pass. Each element is looked up in the collection once, so the
+     * collection should be a hash set or similar when it is large.
+     *
+     * @param theElements the elements to keep
+     * @return true if any element was removed
+     */
+    public boolean retainAll(final Collection<?> theElements) {
+        return removeIf(element -> !theElements.contains(element));
+    }
+
     /**
      * Returns a reference to the element at the front of this list. The element
      * is not removed from the list. Throws an EmptyCollectionException if the
@@ -146,7 +351,7 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
         if (isEmpty()) {
             throw new EmptyCollectionException(LIST);
         }
-        return myList[0];
+        return myList[myFront];
     }
 
     /**
@@ -161,7 +366,7 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
         if (isEmpty()) {
             throw new EmptyCollectionException(LIST);
         }
-        return myList[myRear - 1];
+        return myList[previous(myRear)];
     }
 
     /**
@@ -175,19 +380,48 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
     }
 
     /**
-     * Returns the array index of the specified element, or the constant
-     * NOT_FOUND if it is not found.
+     * Returns the position of the specified element counted from the front of
+     * the list, or the constant NOT_FOUND if it is not found. The search is
+     * timed and counted only while TreeMetrics or the structures.Search JFR
+     * event is on.
+     *
+     * @param theTarget the target element
+     * @return the position of the target element, or the NOT_FOUND constant
+     */
+    protected int find(final T theTarget) {
+        final SearchEvent event = new SearchEvent();
+        if (!event.isEnabled() && !TreeMetrics.enabled()) {
+            return scan(theTarget);
+        }
+        final long start = System.nanoTime();
+        event.begin();
+        final int result = scan(theTarget);
+        final int visited = result == NOT_FOUND ? myCount : result + 1;
+        TreeMetrics.recordSearch(visited, result != NOT_FOUND, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.myCollection = getClass().getSimpleName();
+            event.mySize = myCount;
+            event.myVisited = visited;
+            event.myFound = result != NOT_FOUND;
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the position of the specified element, scanning from the front
+     * of the list, or the constant NOT_FOUND if it is not found.
      *
      * @param theTarget the target element
-     * @return the index of the target element, or the NOT_FOUND constant
+     * @return the position of the target element, or the NOT_FOUND constant
      */
-    private int find(final T theTarget) {
+    private int scan(final T theTarget) {
         int scan = 0;
         int result = NOT_FOUND;
 
         if (!isEmpty()) {
-            while (result == NOT_FOUND && scan < myRear) {
-                if (theTarget.equals(myList[scan])) {
+            while (result == NOT_FOUND && scan < myCount) {
+                if (theTarget.equals(myList[physical(scan)])) {
                     result = scan;
                 } else {
                     scan++;
@@ -203,7 +437,7 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
      * @return true if the list is empty, false otherwise
      */
     public boolean isEmpty() {
-        return myRear == 0;
+        return myCount == 0;
     }
 
     /**
@@ -212,7 +446,7 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
      * @return the number of elements in the list
      */
     public int size() {
-        return myRear;
+        return myCount;
     }
 
     /**
@@ -221,12 +455,46 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
      * @return the string representation of the list
      */
     public String toString() {
-        String result = "";
-
-        for (int scan = 0; scan < myRear; scan++) {
-            result = result + myList[scan] + "\n";
+        final StringBuilder result = new StringBuilder();
+        try {
+            writeTo(result, ExportFormat.TEXT);
+        } catch (final IOException e) {
+            //a StringBuilder does not throw
+            throw new UncheckedIOException(e);
         }
-        return result;
+        return result.toString();
+    }
+
+    /**
+     * Writes this list to the output in the given format, front to rear, as
+     * the elements are read, without building the whole text first. The
+     * output is not flushed or closed. The TEXT format is the text of
+     * toString().
+     *
+     * @param theOut where the output goes
+     * @param theFormat the format
+     * @throws IOException if the output cannot be written
+     * @throws ConcurrentModificationException if the list changes while it
+     *             is written
+     */
+    public void writeTo(final Appendable theOut, final ExportFormat theFormat)
+                    throws IOException {
+        Exporter.writeList(iterator(), theFormat, theOut, getClass().getSimpleName());
+    }
+
+    /**
+     * Writes this list to the channel in the given format, encoded as UTF-8,
+     * through buffers of fixed size. The channel is not closed.
+     *
+     * @param theChannel where the output goes
+     * @param theFormat the format
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeTo(final WritableByteChannel theChannel, final ExportFormat theFormat)
+                    throws IOException {
+        final ChannelAppendable out = new ChannelAppendable(theChannel);
+        writeTo(out, theFormat);
+        out.finish();
     }
 
     /**
@@ -248,7 +516,7 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
          */
         protected int myIteratorModCount;
 
-        /** Is the index of the current element. */
+        /** Is the position of the current element. */
         protected int myCurrent;
 
         /**
@@ -272,7 +540,7 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
             if (myIteratorModCount != myModCount) {
                 throw new ConcurrentModificationException();
             }
-            return myCurrent < myRear;
+            return myCurrent < myCount;
         }
 
         /**
@@ -290,7 +558,7 @@ public abstract class AbstractArrayList<T> implements ListADT<T>, Iterable<T> {
             }
             myCurrent++;
 
-            return myList[myCurrent - 1];
+            return myList[physical(myCurrent - 1)];
         }
 
         /**
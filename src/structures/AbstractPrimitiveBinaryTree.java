@@ -0,0 +1,400 @@
+package structures;
+
+import exceptions.EmptyCollectionException;
+
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.function.Predicate;
+
+/**
+ * AbstractPrimitiveBinaryTree holds the operations shared by the binary trees
+ * of primitive elements: size, height, node counts, searching, toString and
+ * lazy node iterators for every traversal order. Subclasses only deal with
+ * their element type, so elements are never boxed.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ * @param <N> the node type
+ */
+public abstract class AbstractPrimitiveBinaryTree<N extends PrimitiveTreeNode<N>> {
+    /** The initial capacity of the node stacks and queues. */
+    private static final int STACK_CAPACITY = 16;
+
+    /** The root node. */
+    protected N myRoot;
+
+    /** Counts the number of times the tree has been modified. */
+    protected int myModCount;
+
+    /**
+     * Creates a tree with the given root.
+     *
+     * @param theRoot the root node, or null for an empty tree
+     */
+    protected AbstractPrimitiveBinaryTree(final N theRoot) {
+        myRoot = theRoot;
+    }
+
+    /**
+     * Returns the root node of the given tree, or null if the tree is null or
+     * empty.
+     *
+     * @param theTree the tree, may be null
+     * @param <N> the node type
+     * @return the root node, or null
+     */
+    protected static <N extends PrimitiveTreeNode<N>> N rootOf(
+                    final AbstractPrimitiveBinaryTree<N> theTree) {
+        return theTree == null ? null : theTree.myRoot;
+    }
+
+    /**
+     * Returns the name of this collection for use in exceptions.
+     *
+     * @return the name of this collection
+     */
+    protected abstract String collection();
+
+    /**
+     * Returns the root node of this tree.
+     *
+     * @return the root node
+     * @throws EmptyCollectionException if the tree is empty
+     */
+    protected N rootNode() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(collection());
+        }
+        return myRoot;
+    }
+
+    /**
+     * Returns the first node in preorder that passes the given test, or null
+     * if there is none.
+     *
+     * @param theTest the test for the node being sought
+     * @return the first node that passes the test, or null
+     */
+    protected N findNode(final Predicate<? super N> theTest) {
+        final Iterator<N> nodes = nodeIterator(TraversalOrder.PRE_ORDER);
+        while (nodes.hasNext()) {
+            final N current = nodes.next();
+            if (theTest.test(current)) {
+                return current;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if this binary tree is empty and false otherwise.
+     *
+     * @return true if this binary tree is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return myRoot == null;
+    }
+
+    /**
+     * Returns the integer size of this tree.
+     *
+     * @return the integer size of the tree
+     * @throws EmptyCollectionException if the tree is empty
+     */
+    public int size() {
+        return rootNode().getSize();
+    }
+
+    /**
+     * Returns the height of this tree, or -1 if the tree is empty. The tree is
+     * walked one level at a time.
+     *
+     * @return the height of the tree
+     */
+    public int getHeight() {
+        final ArrayUnorderedList<N> queue = new ArrayUnorderedList<>(STACK_CAPACITY);
+        int result = -1;
+
+        if (myRoot != null) {
+            queue.addToRear(myRoot);
+        }
+        while (!queue.isEmpty()) {
+            for (int width = queue.size(); width > 0; width--) {
+                final N current = queue.removeFirst();
+                if (current.getLeft() != null) {
+                    queue.addToRear(current.getLeft());
+                }
+                if (current.getRight() != null) {
+                    queue.addToRear(current.getRight());
+                }
+            }
+            result++;
+        }
+        return result;
+    }
+
+    /**
+     * This method counts the the nodes in the tree that have
+     * two null children (leaf nodes).
+     *
+     * @return the number of nodes in the tree which have two null children.
+     */
+    public int countLeafNodes() {
+        final Iterator<N> nodes = nodeIterator(TraversalOrder.PRE_ORDER);
+        int count = 0;
+        while (nodes.hasNext()) {
+            final N current = nodes.next();
+            if (current.getLeft() == null && current.getRight() == null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * This method counts the number of nodes that have one null child.
+     *
+     * @return the number of nodes that have one null child.
+     */
+    public int countOneChildNodes() {
+        final Iterator<N> nodes = nodeIterator(TraversalOrder.PRE_ORDER);
+        int count = 0;
+        while (nodes.hasNext()) {
+            final N current = nodes.next();
+            if ((current.getLeft() == null) != (current.getRight() == null)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns a string representation of this binary tree showing the nodes in
+     * an inorder fashion.
+     *
+     * @return a string representation of this binary tree
+     */
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        final Iterator<N> nodes = nodeIterator(TraversalOrder.IN_ORDER);
+        sb.append('[');
+        while (nodes.hasNext()) {
+            nodes.next().appendElement(sb);
+            if (nodes.hasNext()) { //don't print a space after the last element.
+                sb.append(' ');
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    /**
+     * Returns a lazy, fail-fast iterator over the nodes of this tree in the
+     * given order.
+     *
+     * @param theOrder the traversal order
+     * @return an iterator over the nodes of this tree
+     */
+    protected Iterator<N> nodeIterator(final TraversalOrder theOrder) {
+        final Iterator<N> result;
+        switch (theOrder) {
+            case IN_ORDER:
+                result = new InOrderNodes();
+                break;
+            case PRE_ORDER:
+                result = new PreOrderNodes();
+                break;
+            case POST_ORDER:
+                result = new PostOrderNodes();
+                break;
+            default:
+                result = new LevelOrderNodes();
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Base class of the node iterators. Keeps the pending nodes and checks
+     * for modification of the tree.
+     */
+    private abstract class NodeIterator implements Iterator<N> {
+        /** The nodes waiting to be visited. */
+        protected final ArrayUnorderedList<N> myNodes;
+
+        /** The modification count of the tree when this was created. */
+        private final int myExpectedModCount;
+
+        /**
+         * Sets up an empty iterator.
+         */
+        NodeIterator() {
+            myNodes = new ArrayUnorderedList<>(STACK_CAPACITY);
+            myExpectedModCount = myModCount;
+        }
+
+        /**
+         * Returns true if there are more nodes in this traversal.
+         *
+         * @return true if there are more nodes in this traversal
+         * @throws ConcurrentModificationException if the tree has changed
+         */
+        public boolean hasNext() {
+            if (myModCount != myExpectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return !myNodes.isEmpty();
+        }
+
+        /**
+         * Returns the next node in this traversal.
+         *
+         * @return the next node in this traversal
+         * @throws NoSuchElementException if the traversal is finished
+         */
+        public N next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return advance();
+        }
+
+        /**
+         * Removes the next node from the pending nodes and returns it.
+         *
+         * @return the next node in this traversal
+         */
+        protected abstract N advance();
+    }
+
+    /**
+     * Lazy inorder node iterator.
+     */
+    private class InOrderNodes extends NodeIterator {
+        /**
+         * Sets up this iterator at the leftmost node.
+         */
+        InOrderNodes() {
+            pushLeftPath(myRoot);
+        }
+
+        /**
+         * Pushes the given node and all of its left descendants.
+         *
+         * @param theNode the node from which to start
+         */
+        private void pushLeftPath(final N theNode) {
+            N current = theNode;
+            while (current != null) {
+                myNodes.addToRear(current);
+                current = current.getLeft();
+            }
+        }
+
+        @Override
+        protected N advance() {
+            final N current = myNodes.removeLast();
+            pushLeftPath(current.getRight());
+            return current;
+        }
+    }
+
+    /**
+     * Lazy preorder node iterator.
+     */
+    private class PreOrderNodes extends NodeIterator {
+        /**
+         * Sets up this iterator at the root.
+         */
+        PreOrderNodes() {
+            if (myRoot != null) {
+                myNodes.addToRear(myRoot);
+            }
+        }
+
+        @Override
+        protected N advance() {
+            final N current = myNodes.removeLast();
+            if (current.getRight() != null) {
+                myNodes.addToRear(current.getRight());
+            }
+            if (current.getLeft() != null) {
+                myNodes.addToRear(current.getLeft());
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Lazy postorder node iterator. A right subtree that still has to be
+     * walked is kept on the stack below a null marker.
+     */
+    private class PostOrderNodes extends NodeIterator {
+        /**
+         * Sets up this iterator at the first node in postorder.
+         */
+        PostOrderNodes() {
+            descend(myRoot);
+        }
+
+        /**
+         * Pushes the path from the given node down to the first node of its
+         * subtree in postorder.
+         *
+         * @param theNode the node from which to start
+         */
+        private void descend(final N theNode) {
+            N current = theNode;
+            while (current != null) {
+                myNodes.addToRear(current);
+                if (current.getLeft() == null) {
+                    current = current.getRight();
+                } else {
+                    if (current.getRight() != null) {
+                        myNodes.addToRear(current.getRight());
+                        myNodes.addToRear(null);
+                    }
+                    current = current.getLeft();
+                }
+            }
+        }
+
+        @Override
+        protected N advance() {
+            final N current = myNodes.removeLast();
+            if (!myNodes.isEmpty() && myNodes.last() == null) {
+                myNodes.removeLast();
+                descend(myNodes.removeLast());
+            }
+            return current;
+        }
+    }
+
+    /**
+     * Lazy levelorder node iterator.
+     */
+    private class LevelOrderNodes extends NodeIterator {
+        /**
+         * Sets up this iterator at the root.
+         */
+        LevelOrderNodes() {
+            if (myRoot != null) {
+                myNodes.addToRear(myRoot);
+            }
+        }
+
+        @Override
+        protected N advance() {
+            final N current = myNodes.removeFirst();
+            if (current.getLeft() != null) {
+                myNodes.addToRear(current.getLeft());
+            }
+            if (current.getRight() != null) {
+                myNodes.addToRear(current.getRight());
+            }
+            return current;
+        }
+    }
+}
@@ -0,0 +1,580 @@
+package structures;
+
+import exceptions.ElementNotFoundException;
+import exceptions.EmptyCollectionException;
+
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * ArrayBinaryTree implements the BinaryTreeADT interface with an array. The
+ * nodes are stored at their levelorder positions: the root is at index 0 and
+ * the children of the node at index i are at 2i+1 and 2i+2. A null entry means
+ * there is no node at that position, so null elements cannot be stored.
+ * Complete and near-complete trees fill the array densely and are walked
+ * without chasing any pointers; sparse trees waste space, and trees taller
+ * than 30 levels cannot be stored at all.
+ *
+ * A tree built by eytzinger() from sorted elements is also a search tree: it
+ * is complete, holds its elements in inorder, and finds elements by
+ * descending from the root with index arithmetic alone.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ * @param <T> the generic data type
+ */
+public class ArrayBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
+    /** ArrayBinaryTree string. */
+    public static final String COLLECTION = "ArrayBinaryTree";
+
+    /** The greatest height a tree can have and still be stored. */
+    private static final int MAX_HEIGHT = 29;
+
+    /** The nodes at their levelorder positions. */
+    protected T[] myTree;
+
+    /** The number of nodes. */
+    protected int myCount;
+
+    /** Counts the number of times the tree has been modified. */
+    protected int myModCount;
+
+    /** The order of a search tree, or null if the tree is not ordered. */
+    private final Comparator<? super T> myComparator;
+
+    /** Creates an empty binary tree. */
+    public ArrayBinaryTree() {
+        this(newArray(0), 0, null);
+    }
+
+    /**
+     * Creates a binary tree with the specified element as its root.
+     *
+     * @param theElement the element that will become the root of the binary
+     *            tree.
+     */
+    public ArrayBinaryTree(final T theElement) {
+        this(newArray(1), 1, null);
+        myTree[0] = requireElement(theElement);
+    }
+
+    /**
+     * Creates a binary tree with the same shape and elements as the given
+     * linked binary tree.
+     *
+     * @param theTree the tree to copy
+     * @throws IllegalArgumentException if the tree holds a null element or
+     *             is too tall to store
+     */
+    public ArrayBinaryTree(final LinkedBinaryTree<T> theTree) {
+        this(toArray(theTree), theTree.isEmpty() ? 0 : theTree.size(), null);
+    }
+
+    /**
+     * Creates a tree from its levelorder array.
+     *
+     * @param theTree the nodes at their levelorder positions
+     * @param theCount the number of nodes
+     * @param theComparator the order of a search tree, or null
+     */
+    private ArrayBinaryTree(final T[] theTree, final int theCount,
+                            final Comparator<? super T> theComparator) {
+        myTree = theTree;
+        myCount = theCount;
+        myComparator = theComparator;
+    }
+
+    /**
+     * Creates an array of elements of the given length. The array is really an
+     * Object[], so it must never be handed out as a T[].
+     *
+     * @param theLength the length of the array
+     * @param <T> the generic data type
+     * @return the new array, filled with null
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T[] newArray(final int theLength) {
+        return (T[]) new Object[theLength];
+    }
+
+    /**
+     * Creates a complete search tree from elements sorted by the given
+     * comparator. The elements are placed in the Eytzinger layout: an inorder
+     * walk of the implicit complete tree visits them in sorted order.
+     *
+     * @param theSorted the elements in ascending order
+     * @param theComparator the order the elements are sorted by
+     * @param <T> the generic data type
+     * @return the search tree
+     * @throws IllegalArgumentException if an element is null
+     * @throws NullPointerException if the comparator is null
+     */
+    public static <T> ArrayBinaryTree<T> eytzinger(final T[] theSorted,
+                                                   final Comparator<? super T> theComparator) {
+        Objects.requireNonNull(theComparator, "Null comparator for " + COLLECTION);
+        final int count = theSorted.length;
+        final T[] tree = newArray(count);
+        int index = leftmost(0, count);
+
+        for (int next = 0; next < count; next++) {
+            tree[index] = requireElement(theSorted[next]);
+            //move to the inorder successor in the implicit complete tree
+            if (2 * index + 2 < count) {
+                index = leftmost(2 * index + 2, count);
+            } else {
+                while (index > 0 && index % 2 == 0) {
+                    index = (index - 1) / 2;
+                }
+                index = (index - 1) / 2;
+            }
+        }
+        return new ArrayBinaryTree<>(tree, count, theComparator);
+    }
+
+    /**
+     * Returns the leftmost position below the given one in a complete tree.
+     *
+     * @param theIndex the starting position
+     * @param theCount the number of nodes in the complete tree
+     * @return the leftmost position of the subtree
+     */
+    private static int leftmost(final int theIndex, final int theCount) {
+        int index = theIndex;
+        while (2 * index + 1 < theCount) {
+            index = 2 * index + 1;
+        }
+        return index;
+    }
+
+    /**
+     * Copies a linked binary tree into a levelorder array.
+     *
+     * @param theTree the tree to copy
+     * @param <T> the generic data type
+     * @return the levelorder array
+     * @throws IllegalArgumentException if the tree holds a null element or is
+     *             too tall to store
+     */
+    private static <T> T[] toArray(final LinkedBinaryTree<T> theTree) {
+        final int height = theTree.getHeight();
+        if (height > MAX_HEIGHT) {
+            throw new IllegalArgumentException("Tree too tall for an array: " + height);
+        }
+        final T[] result = newArray((1 << (height + 1)) - 1);
+        final ArrayUnorderedList<BinaryTreeNode<T>> nodes = new ArrayUnorderedList<>();
+        final ArrayUnorderedList<Integer> positions = new ArrayUnorderedList<>();
+
+        if (!theTree.isEmpty()) {
+            nodes.addToRear(theTree.getRootNode());
+            positions.addToRear(0);
+        }
+        while (!nodes.isEmpty()) {
+            final BinaryTreeNode<T> current = nodes.removeLast();
+            final int position = positions.removeLast();
+            result[position] = requireElement(current.getElement());
+            if (current.getLeft() != null) {
+                nodes.addToRear(current.getLeft());
+                positions.addToRear(2 * position + 1);
+            }
+            if (current.getRight() != null) {
+                nodes.addToRear(current.getRight());
+                positions.addToRear(2 * position + 2);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Checks that an element can be stored in an array tree.
+     *
+     * @param theElement the element
+     * @param <T> the generic data type
+     * @return the element
+     * @throws IllegalArgumentException if the element is null
+     */
+    private static <T> T requireElement(final T theElement) {
+        if (theElement == null) {
+            throw new IllegalArgumentException("Null elements cannot be stored");
+        }
+        return theElement;
+    }
+
+    /**
+     * Returns a linked binary tree with the same shape and elements as this
+     * tree.
+     *
+     * @return the linked binary tree
+     */
+    public LinkedBinaryTree<T> toLinkedBinaryTree() {
+        final BinaryTreeNode<T>[] nodes = BinaryTreeNode.newArray(myTree.length);
+        final LinkedBinaryTree<T> result = new LinkedBinaryTree<>();
+
+        //children come after their parents, so build from the back
+        for (int index = myTree.length - 1; index >= 0; index--) {
+            if (myTree[index] != null) {
+                final BinaryTreeNode<T> node = new BinaryTreeNode<>(myTree[index]);
+                if (exists(2 * index + 1)) {
+                    node.setLeft(nodes[2 * index + 1]);
+                }
+                if (exists(2 * index + 2)) {
+                    node.setRight(nodes[2 * index + 2]);
+                }
+                nodes[index] = node;
+            }
+        }
+        if (myCount > 0) {
+            result.myRoot = nodes[0];
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if there is a node at the given position.
+     *
+     * @param theIndex the position
+     * @return true if there is a node at the position
+     */
+    private boolean exists(final int theIndex) {
+        return theIndex < myTree.length && myTree[theIndex] != null;
+    }
+
+    /**
+     * Returns true if this is a search tree built by eytzinger().
+     *
+     * @return true if this tree is ordered
+     */
+    public boolean isOrdered() {
+        return myComparator != null;
+    }
+
+    @Override
+    public T getRootElement() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return myTree[0];
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return myCount == 0;
+    }
+
+    @Override
+    public int size() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return myCount;
+    }
+
+    /**
+     * Returns the height of this tree, or -1 if the tree is empty. It is the
+     * level of the last occupied position.
+     *
+     * @return the height of the tree
+     */
+    public int getHeight() {
+        int last = myTree.length - 1;
+        while (last >= 0 && myTree[last] == null) {
+            last--;
+        }
+        return 31 - Integer.numberOfLeadingZeros(last + 1);
+    }
+
+    @Override
+    public int countLeafNodes() {
+        int count = 0;
+        for (int index = 0; index < myTree.length; index++) {
+            if (myTree[index] != null && !exists(2 * index + 1) && !exists(2 * index + 2)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int countOneChildNodes() {
+        int count = 0;
+        for (int index = 0; index < myTree.length; index++) {
+            if (myTree[index] != null && exists(2 * index + 1) != exists(2 * index + 2)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public boolean contains(final T theTargetElement) {
+        return position(theTargetElement) >= 0;
+    }
+
+    @Override
+    public T find(final T theTargetElement) throws ElementNotFoundException {
+        final int index = position(theTargetElement);
+
+        if (index < 0) {
+            throw new ElementNotFoundException(COLLECTION);
+        }
+        return myTree[index];
+    }
+
+    /**
+     * Returns the position of the target element, or -1 if it is not in the
+     * tree. A search tree is descended from the root; any other tree is
+     * scanned in array order.
+     *
+     * @param theTargetElement the element being sought
+     * @return the position of the element, or -1
+     */
+    private int position(final T theTargetElement) {
+        int index = 0;
+
+        if (myComparator != null) {
+            while (index < myCount) {
+                final int cmp = myComparator.compare(theTargetElement, myTree[index]);
+                if (cmp == 0) {
+                    return index;
+                }
+                index = 2 * index + (cmp < 0 ? 1 : 2);
+            }
+        } else {
+            for (; index < myTree.length; index++) {
+                if (myTree[index] != null && myTree[index].equals(theTargetElement)) {
+                    return index;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a string representation of this binary tree showing the nodes in
+     * an inorder fashion.
+     *
+     * @return a string representation of this binary tree
+     */
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        final Iterator<T> itr = iteratorInOrder();
+        sb.append('[');
+        while (itr.hasNext()) {
+            sb.append(itr.next());
+            if (itr.hasNext()) { //don't print a space after the last element.
+                sb.append(' ');
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return iteratorInOrder();
+    }
+
+    @Override
+    public Iterator<T> iteratorInOrder() {
+        return new PositionIterator(TraversalOrder.IN_ORDER);
+    }
+
+    @Override
+    public Iterator<T> iteratorPreOrder() {
+        return new PositionIterator(TraversalOrder.PRE_ORDER);
+    }
+
+    @Override
+    public Iterator<T> iteratorPostOrder() {
+        return new PositionIterator(TraversalOrder.POST_ORDER);
+    }
+
+    @Override
+    public Iterator<T> iteratorLevelOrder() {
+        return new PositionIterator(TraversalOrder.LEVEL_ORDER);
+    }
+
+    /**
+     * Iterator that moves between positions with index arithmetic alone: the
+     * parent of position i is (i - 1) / 2, so no stack is needed.
+     */
+    private class PositionIterator implements Iterator<T> {
+        /** The traversal order. */
+        private final TraversalOrder myOrder;
+
+        /** The modification count of the tree when this was created. */
+        private final int myExpectedModCount;
+
+        /** The position of the next node, or -1 when done. */
+        private int myNext;
+
+        /**
+         * Sets up this iterator at the first position in the given order.
+         *
+         * @param theOrder the traversal order
+         */
+        PositionIterator(final TraversalOrder theOrder) {
+            myOrder = theOrder;
+            myExpectedModCount = myModCount;
+            if (myCount == 0) {
+                myNext = -1;
+            } else if (theOrder == TraversalOrder.IN_ORDER) {
+                myNext = leftmostNode(0);
+            } else if (theOrder == TraversalOrder.POST_ORDER) {
+                myNext = deepestFirst(0);
+            } else {
+                myNext = 0;
+            }
+        }
+
+        /**
+         * Returns true if there are more elements in this traversal.
+         *
+         * @return true if there are more elements in this traversal
+         * @throws ConcurrentModificationException if the tree has changed
+         */
+        public boolean hasNext() {
+            if (myModCount != myExpectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return myNext >= 0;
+        }
+
+        /**
+         * Returns the next element in this traversal.
+         *
+         * @return the next element in this traversal
+         * @throws NoSuchElementException if the traversal is finished
+         */
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final int current = myNext;
+            switch (myOrder) {
+                case IN_ORDER:
+                    myNext = inOrderSuccessor(current);
+                    break;
+                case PRE_ORDER:
+                    myNext = preOrderSuccessor(current);
+                    break;
+                case POST_ORDER:
+                    myNext = postOrderSuccessor(current);
+                    break;
+                default:
+                    myNext = levelOrderSuccessor(current);
+                    break;
+            }
+            return myTree[current];
+        }
+
+        /**
+         * Returns the leftmost node below the given position.
+         *
+         * @param theIndex an occupied position
+         * @return the leftmost occupied position of its subtree
+         */
+        private int leftmostNode(final int theIndex) {
+            int index = theIndex;
+            while (exists(2 * index + 1)) {
+                index = 2 * index + 1;
+            }
+            return index;
+        }
+
+        /**
+         * Returns the first node in postorder below the given position.
+         *
+         * @param theIndex an occupied position
+         * @return the first occupied position of its subtree in postorder
+         */
+        private int deepestFirst(final int theIndex) {
+            int index = theIndex;
+            while (true) {
+                if (exists(2 * index + 1)) {
+                    index = 2 * index + 1;
+                } else if (exists(2 * index + 2)) {
+                    index = 2 * index + 2;
+                } else {
+                    return index;
+                }
+            }
+        }
+
+        /**
+         * Returns the inorder successor of a position, or -1.
+         *
+         * @param theIndex an occupied position
+         * @return the next position in inorder
+         */
+        private int inOrderSuccessor(final int theIndex) {
+            if (exists(2 * theIndex + 2)) {
+                return leftmostNode(2 * theIndex + 2);
+            }
+            int index = theIndex;
+            //climb while coming up from a right child
+            while (index > 0 && index % 2 == 0) {
+                index = (index - 1) / 2;
+            }
+            return index == 0 ? -1 : (index - 1) / 2;
+        }
+
+        /**
+         * Returns the preorder successor of a position, or -1.
+         *
+         * @param theIndex an occupied position
+         * @return the next position in preorder
+         */
+        private int preOrderSuccessor(final int theIndex) {
+            if (exists(2 * theIndex + 1)) {
+                return 2 * theIndex + 1;
+            }
+            if (exists(2 * theIndex + 2)) {
+                return 2 * theIndex + 2;
+            }
+            int index = theIndex;
+            while (index > 0) {
+                final int parent = (index - 1) / 2;
+                if (index % 2 == 1 && exists(2 * parent + 2)) {
+                    return 2 * parent + 2;
+                }
+                index = parent;
+            }
+            return -1;
+        }
+
+        /**
+         * Returns the postorder successor of a position, or -1.
+         *
+         * @param theIndex an occupied position
+         * @return the next position in postorder
+         */
+        private int postOrderSuccessor(final int theIndex) {
+            if (theIndex == 0) {
+                return -1;
+            }
+            final int parent = (theIndex - 1) / 2;
+            if (theIndex % 2 == 1 && exists(2 * parent + 2)) {
+                return deepestFirst(2 * parent + 2);
+            }
+            return parent;
+        }
+
+        /**
+         * Returns the levelorder successor of a position, or -1.
+         *
+         * @param theIndex an occupied position
+         * @return the next occupied position in array order
+         */
+        private int levelOrderSuccessor(final int theIndex) {
+            int index = theIndex + 1;
+            while (index < myTree.length && myTree[index] == null) {
+                index++;
+            }
+            return index < myTree.length ? index : -1;
+        }
+    }
+}
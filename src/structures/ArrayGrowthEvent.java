@@ -0,0 +1,35 @@
+package structures;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * The JFR event of an array list moving its elements to a larger array.
+ * Growth happens a logarithmic number of times per list, so every growth is
+ * recorded, with the stack that caused it.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+@Name("structures.ArrayGrowth")
+@Label("Array Growth")
+@Category({"Data Structures", "Allocation"})
+@Description("An array list copied its elements to a larger array")
+final class ArrayGrowthEvent extends jdk.jfr.Event {
+    /** The capacity before growing. */
+    @Name("oldCapacity")
+    @Label("Old Capacity")
+    int myOldCapacity;
+
+    /** The capacity after growing. */
+    @Name("newCapacity")
+    @Label("New Capacity")
+    int myNewCapacity;
+
+    /** The number of elements copied. */
+    @Name("copied")
+    @Label("Copied")
+    int myCopied;
+}
@@ -3,6 +3,8 @@ package structures;
 
 import exceptions.ElementNotFoundException;
 
+import java.util.Collection;
+
 /**
  * ArrayUnorderedList represents an array implementation of an unordered list.
  *
@@ -39,12 +41,9 @@ public class ArrayUnorderedList<T> extends
         if (size() == myList.length) {
             expandCapacity();
         }
-        // shift elements up one
-        for (int scan = myRear; scan > 0; scan--) {
-            myList[scan] = myList[scan - 1];
-        }
-        myList[0] = theElement;
-        myRear++;
+        myFront = previous(myFront);
+        myList[myFront] = theElement;
+        myCount++;
         myModCount++;
     }
 
@@ -58,10 +57,52 @@ public class ArrayUnorderedList<T> extends
             expandCapacity();
         }
         myList[myRear] = theElement;
-        myRear++;
+        myRear = next(myRear);
+        myCount++;
         myModCount++;
     }
 
+    /**
+     * Adds the given elements to the rear of this list, in iteration order.
+     * When their number is known up front, from a Collection or a ListADT,
+     * the array grows at most once; the modification count goes up once.
+     * A list may be added to itself, which doubles it.
+     *
+     * @param theElements the elements to add
+     */
+    public void addAll(final Iterable<? extends T> theElements) {
+        final int before = size();
+        try {
+            if (theElements == this) {
+                ensureCapacity(2 * before);
+                for (int scan = 0; scan < before; scan++) {
+                    myList[myRear] = myList[physical(scan)];
+                    myRear = next(myRear);
+                }
+                myCount += before;
+            } else {
+                if (theElements instanceof Collection) {
+                    ensureCapacity(before + ((Collection<?>) theElements).size());
+                } else if (theElements instanceof ListADT) {
+                    ensureCapacity(before + ((ListADT<?>) theElements).size());
+                }
+                for (final T element : theElements) {
+                    if (size() == myList.length) {
+                        expandCapacity();
+                    }
+                    myList[myRear] = element;
+                    myRear = next(myRear);
+                    myCount++;
+                }
+            }
+        } finally {
+            //elements added before a failure still count as a change
+            if (size() != before) {
+                myModCount++;
+            }
+        }
+    }
+
     /**
      * Adds the specified element after the specified target element. Throws an
      * ElementNotFoundException if the target is not found.
@@ -70,27 +111,11 @@ public class ArrayUnorderedList<T> extends
      * @param theTarget the target that the element is to be added after
      */
     public void addAfter(final T theElement, final T theTarget) {
-        if (size() == myList.length) {
-            expandCapacity();
-        }
-        int scan = 0;
+        final int index = find(theTarget);
 
-        // find the insertion point.
-        while (scan < myRear && !theTarget.equals(myList[scan])) {
-            scan++;
-        }
-        if (scan == myRear) {
+        if (index == NOT_FOUND) {
             throw new ElementNotFoundException("UnorderedList");
         }
-        scan++;
-
-        // shift elements up one
-        for (int shift = myRear; shift > scan; shift--) {
-            myList[shift] = myList[shift - 1];
-        }
-        // insert element
-        myList[scan] = theElement;
-        myRear++;
-        myModCount++;
+        insert(index + 1, theElement);
     }
 }
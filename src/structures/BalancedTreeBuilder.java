@@ -0,0 +1,124 @@
+package structures;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * BalancedTreeBuilder builds a LinkedBinaryTree of minimal height from
+ * elements given in order, in one pass that reads each element once. The
+ * elements end up in the tree in inorder, so sorted input gives a balanced
+ * search tree. The subtree of every node holds (n - 1) / 2 nodes on the left
+ * and the rest on the right, so the tree is at most one level taller than a
+ * complete tree.
+ *
+ * The build does not recurse: it keeps the subtrees under construction on a
+ * stack of fixed size, since a tree of any int size is less than 33 levels
+ * tall. Apart from that stack only the nodes are allocated.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public final class BalancedTreeBuilder {
+    /** The number of stack frames needed for any int size. */
+    private static final int MAX_DEPTH = Integer.SIZE + 2;
+
+    /** Not instantiable. */
+    private BalancedTreeBuilder() {
+    }
+
+    /**
+     * Builds a balanced tree holding the elements of the array in inorder.
+     *
+     * @param theElements the elements, sorted for a search tree
+     * @param <T> the generic data type
+     * @return the balanced tree
+     */
+    public static <T> LinkedBinaryTree<T> build(final T[] theElements) {
+        return build(Arrays.asList(theElements).iterator(), theElements.length);
+    }
+
+    /**
+     * Builds a balanced tree holding the elements of the list in inorder.
+     *
+     * @param theElements the elements, sorted for a search tree
+     * @param <T> the generic data type
+     * @return the balanced tree
+     */
+    public static <T> LinkedBinaryTree<T> build(final List<? extends T> theElements) {
+        return build(theElements.iterator(), theElements.size());
+    }
+
+    /**
+     * Builds a balanced tree holding the first elements of the iterator in
+     * inorder. Exactly theSize elements are read.
+     *
+     * @param theElements the elements, sorted for a search tree
+     * @param theSize the number of elements to read
+     * @param <T> the generic data type
+     * @return the balanced tree
+     * @throws IllegalArgumentException if the size is negative or the
+     *             iterator has fewer elements
+     */
+    public static <T> LinkedBinaryTree<T> build(final Iterator<? extends T> theElements,
+                                                final int theSize) {
+        if (theSize < 0) {
+            throw new IllegalArgumentException("Negative size: " + theSize);
+        }
+        //frame i builds a subtree of sizes[i] nodes; nodes[i] is null until
+        //its left subtree is done and holds the subtree root after that
+        final int[] sizes = new int[MAX_DEPTH];
+        final BinaryTreeNode<T>[] nodes = BinaryTreeNode.newArray(MAX_DEPTH);
+        BinaryTreeNode<T> result = null;
+        boolean returning = false;
+        int top = 0;
+
+        sizes[0] = theSize;
+        while (top >= 0) {
+            if (!returning) {
+                if (sizes[top] == 0) {
+                    result = null;
+                    returning = true;
+                    top--;
+                } else {
+                    sizes[top + 1] = (sizes[top] - 1) / 2;
+                    top++;
+                }
+            } else if (nodes[top] == null) {
+                //the left subtree is done, so the next element is this root
+                final BinaryTreeNode<T> node = new BinaryTreeNode<>(next(theElements));
+                node.setLeft(result);
+                nodes[top] = node;
+                sizes[top + 1] = sizes[top] - 1 - (sizes[top] - 1) / 2;
+                returning = false;
+                top++;
+            } else {
+                nodes[top].setRight(result);
+                result = nodes[top];
+                nodes[top] = null;
+                top--;
+            }
+        }
+
+        final LinkedBinaryTree<T> tree = new LinkedBinaryTree<>();
+        tree.myRoot = result;
+        return tree;
+    }
+
+    /**
+     * Returns the next element of the iterator.
+     *
+     * @param theElements the elements
+     * @param <T> the generic data type
+     * @return the next element
+     * @throws IllegalArgumentException if the iterator has no more elements
+     */
+    private static <T> T next(final Iterator<? extends T> theElements) {
+        try {
+            return theElements.next();
+        } catch (final NoSuchElementException e) {
+            throw new IllegalArgumentException("Fewer elements than the given size", e);
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package structures;
+
+import java.util.Iterator;
+
+/**
+ * BinarySearchTreeADT defines the interface to a binary tree that keeps its
+ * elements ordered: an inorder traversal returns them from smallest to
+ * largest.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ * 
+ * @param <T> the generic data type
+ */
+public interface BinarySearchTreeADT<T> extends BinaryTreeADT<T> {
+    /**
+     * Adds the specified element to its proper place in this tree. An element
+     * equal to one already in the tree is not added again.
+     *
+     * @param theElement the element to be added to the tree
+     */
+    void addElement(T theElement);
+
+    /**
+     * Removes the element that matches the specified target from this tree
+     * and returns it.
+     *
+     * @param theTargetElement the element being sought in the tree
+     * @return the element removed from the tree
+     */
+    T removeElement(T theTargetElement);
+
+    /**
+     * Returns the smallest element in this tree.
+     *
+     * @return the smallest element in the tree
+     */
+    T findMin();
+
+    /**
+     * Returns the largest element in this tree.
+     *
+     * @return the largest element in the tree
+     */
+    T findMax();
+
+    /**
+     * Returns the largest element in this tree that is less than or equal to
+     * the specified element.
+     *
+     * @param theElement the element to compare with
+     * @return the greatest element not greater than the specified element
+     */
+    T floor(T theElement);
+
+    /**
+     * Returns the smallest element in this tree that is greater than or equal
+     * to the specified element.
+     *
+     * @param theElement the element to compare with
+     * @return the least element not less than the specified element
+     */
+    T ceiling(T theElement);
+
+    /**
+     * Returns an iterator over the elements of this tree that lie between the
+     * specified bounds, inclusive, in ascending order.
+     *
+     * @param theLow the lowest element to include
+     * @param theHigh the highest element to include
+     * @return an iterator over the elements in the range
+     */
+    Iterator<T> iteratorRange(T theLow, T theHigh);
+}
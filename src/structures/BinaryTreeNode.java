@@ -3,7 +3,10 @@ package structures;
 
 /**
  * BinaryTreeNode represents a node in a binary tree with a left and right
- * child.
+ * child. Each node also keeps the number of nodes in the subtree rooted at it,
+ * which is recomputed from the children whenever a child link is set. Trees
+ * are assembled bottom-up, so the count stays correct as long as a child is
+ * complete before it is linked to its parent.
  * 
  * @author Lewis and Chase
  * @author Yaro Salo - formatted for TCSS 342
@@ -21,6 +24,9 @@ public class BinaryTreeNode<T> {
     /** A reference to the right node. */
     protected BinaryTreeNode<T> myRight;
 
+    /** The number of nodes in the subtree rooted at this node. */
+    protected int mySize;
+
     /**
      * Creates a new tree node with the specified data.
      *
@@ -30,6 +36,7 @@ public class BinaryTreeNode<T> {
         myElement = theObj;
         myLeft = null;
         myRight = null;
+        mySize = 1;
     }
 
     /**
@@ -52,23 +59,57 @@ public class BinaryTreeNode<T> {
         } else {
             this.myRight = theRight.getRootNode();
         }
+        updateSize();
     }
 
     /**
-     * Returns the number of non-null children of this node.
+     * Returns the number of non-null descendants of this node.
      *
-     * @return the integer number of non-null children of this node
+     * @return the integer number of non-null descendants of this node
      */
     public int numChildren() {
-        int children = 0;
+        return mySize - 1;
+    }
 
-        if (myLeft != null) {
-            children = 1 + myLeft.numChildren();
-        }
-        if (myRight != null) {
-            children = children + 1 + myRight.numChildren();
-        }
-        return children;
+    /**
+     * Returns the number of nodes in the subtree rooted at this node,
+     * including this node.
+     *
+     * @return the size of the subtree rooted at this node
+     */
+    public int getSize() {
+        return mySize;
+    }
+
+    /**
+     * Returns the size of the subtree rooted at the given node, or 0 if the
+     * node is null.
+     *
+     * @param theNode the root of the subtree
+     * @param <T> the generic data type
+     * @return the size of the subtree
+     */
+    public static <T> int sizeOf(final BinaryTreeNode<T> theNode) {
+        return theNode == null ? 0 : theNode.mySize;
+    }
+
+    /**
+     * Creates an array of nodes of the given length.
+     *
+     * @param theLength the length of the array
+     * @param <T> the generic data type
+     * @return the new array, filled with null
+     */
+    @SuppressWarnings("unchecked")
+    static <T> BinaryTreeNode<T>[] newArray(final int theLength) {
+        return (BinaryTreeNode<T>[]) new BinaryTreeNode<?>[theLength];
+    }
+
+    /**
+     * Recomputes the subtree size of this node from its children.
+     */
+    protected void updateSize() {
+        mySize = 1 + sizeOf(myLeft) + sizeOf(myRight);
     }
 
     /**
@@ -96,6 +137,7 @@ public class BinaryTreeNode<T> {
      */
     public void setRight(final BinaryTreeNode<T> theNode) {
         myRight = theNode;
+        updateSize();
     }
 
     /**
@@ -114,5 +156,6 @@ public class BinaryTreeNode<T> {
      */
     public void setLeft(final BinaryTreeNode<T> theNode) {
         myLeft = theNode;
+        updateSize();
     }
 }
@@ -0,0 +1,126 @@
+package structures;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ChannelAppendable encodes appended text as UTF-8 and writes it to a
+ * channel through two fixed buffers, so text of any length is written in
+ * constant memory. Unpaired surrogates are replaced, as String.getBytes()
+ * does. finish() must be called to write what is still buffered; the
+ * channel is not closed.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+final class ChannelAppendable implements Appendable {
+    /** The size of each buffer. */
+    private static final int BUFFER_SIZE = 8192;
+
+    /** The channel written to. */
+    private final WritableByteChannel myChannel;
+
+    /** Encodes the characters. */
+    private final CharsetEncoder myEncoder;
+
+    /** The characters appended but not yet encoded. */
+    private final CharBuffer myChars;
+
+    /** The bytes encoded but not yet written. */
+    private final ByteBuffer myBytes;
+
+    /**
+     * Creates an appendable writing to the given channel.
+     *
+     * @param theChannel the channel
+     */
+    ChannelAppendable(final WritableByteChannel theChannel) {
+        myChannel = theChannel;
+        myEncoder = StandardCharsets.UTF_8.newEncoder()
+                        .onMalformedInput(CodingErrorAction.REPLACE)
+                        .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        myChars = CharBuffer.allocate(BUFFER_SIZE);
+        myBytes = ByteBuffer.allocate(BUFFER_SIZE);
+    }
+
+    @Override
+    public Appendable append(final CharSequence theText) throws IOException {
+        final CharSequence text = theText == null ? "null" : theText;
+        return append(text, 0, text.length());
+    }
+
+    @Override
+    public Appendable append(final CharSequence theText, final int theStart,
+                             final int theEnd) throws IOException {
+        final CharSequence text = theText == null ? "null" : theText;
+        int start = theStart;
+        while (start < theEnd) {
+            if (!myChars.hasRemaining()) {
+                encode(false);
+            }
+            final int end = Math.min(theEnd, start + myChars.remaining());
+            myChars.append(text, start, end);
+            start = end;
+        }
+        return this;
+    }
+
+    @Override
+    public Appendable append(final char theChar) throws IOException {
+        if (!myChars.hasRemaining()) {
+            encode(false);
+        }
+        myChars.put(theChar);
+        return this;
+    }
+
+    /**
+     * Encodes and writes everything appended so far.
+     *
+     * @throws IOException if the channel cannot be written
+     */
+    void finish() throws IOException {
+        encode(true);
+        while (myEncoder.flush(myBytes).isOverflow()) {
+            write();
+        }
+        write();
+    }
+
+    /**
+     * Encodes the buffered characters, writing the bytes whenever their
+     * buffer fills. A high surrogate at the end stays buffered until its
+     * pair arrives, unless this is the end of the input.
+     *
+     * @param theEndOfInput true if no more characters will be appended
+     * @throws IOException if the channel cannot be written
+     */
+    private void encode(final boolean theEndOfInput) throws IOException {
+        myChars.flip();
+        CoderResult result = myEncoder.encode(myChars, myBytes, theEndOfInput);
+        while (result.isOverflow()) {
+            write();
+            result = myEncoder.encode(myChars, myBytes, theEndOfInput);
+        }
+        myChars.compact();
+    }
+
+    /**
+     * Writes the encoded bytes to the channel.
+     *
+     * @throws IOException if the channel cannot be written
+     */
+    private void write() throws IOException {
+        myBytes.flip();
+        while (myBytes.hasRemaining()) {
+            myChannel.write(myBytes);
+        }
+        myBytes.clear();
+    }
+}
@@ -0,0 +1,211 @@
+package structures;
+
+import java.util.Iterator;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * ConcurrentBinaryTree makes a LinkedBinaryTree safe to share between
+ * threads. Reads run under an optimistic stamp of a StampedLock: they take
+ * no lock and block no one, and only when a write overlaps them are they run
+ * again under the shared read lock. Writes run one at a time under the
+ * exclusive write lock. Read-mostly workloads therefore scale with the number
+ * of reading threads instead of queueing on a monitor.
+ *
+ * Once wrapped, the tree must only be used through this wrapper. A function
+ * passed to read() may see the tree in the middle of a write and may be run
+ * twice, so it must not change anything and must not keep the tree or its
+ * iterators. The iterators of this wrapper traverse a snapshot taken by such
+ * a read, and never see later writes. The element index of an indexed tree is
+ * only built or changed by writes, under the write lock; a read that finds it
+ * out of date searches the tree instead.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ * @param <T> the generic data type
+ * @param <B> the type of the wrapped tree
+ */
+public class ConcurrentBinaryTree<T, B extends LinkedBinaryTree<T>>
+                implements BinaryTreeADT<T>, Iterable<T> {
+    /** The wrapped tree. */
+    private final B myTree;
+
+    /** Guards the wrapped tree. */
+    private final StampedLock myLock;
+
+    /**
+     * Wraps the given tree.
+     *
+     * @param theTree the tree to share, not used directly from now on
+     */
+    public ConcurrentBinaryTree(final B theTree) {
+        myTree = theTree;
+        myLock = new StampedLock();
+        myTree.share();
+        update(tree -> { });
+    }
+
+    /**
+     * Runs a read-only function of the tree, first optimistically and, if a
+     * write got in the way, again under the read lock. An exception thrown
+     * by the optimistic run is only passed on if no write got in the way.
+     *
+     * @param theReader the function, which must not change the tree
+     * @param <R> the type of the result
+     * @return the result of the function
+     */
+    public <R> R read(final Function<? super B, ? extends R> theReader) {
+        final long stamp = myLock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                final R result = theReader.apply(myTree);
+                if (myLock.validate(stamp)) {
+                    return result;
+                }
+            } catch (final RuntimeException e) {
+                if (myLock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        final long readStamp = myLock.readLock();
+        try {
+            return theReader.apply(myTree);
+        } finally {
+            myLock.unlockRead(readStamp);
+        }
+    }
+
+    /**
+     * Runs a function of the tree under the write lock and returns its
+     * result.
+     *
+     * @param theWriter the function, which may change the tree
+     * @param <R> the type of the result
+     * @return the result of the function
+     */
+    public <R> R write(final Function<? super B, ? extends R> theWriter) {
+        final long stamp = myLock.writeLock();
+        try {
+            try {
+                return theWriter.apply(myTree);
+            } finally {
+                //readers never build the index, so bring it up to date here
+                myTree.ensureIndex();
+            }
+        } finally {
+            myLock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Runs an action on the tree under the write lock.
+     *
+     * @param theWriter the action, which may change the tree
+     */
+    public void update(final Consumer<? super B> theWriter) {
+        write(tree -> {
+            theWriter.accept(tree);
+            return null;
+        });
+    }
+
+    @Override
+    public T getRootElement() {
+        return read(LinkedBinaryTree::getRootElement);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return read(LinkedBinaryTree::isEmpty);
+    }
+
+    @Override
+    public int size() {
+        return read(LinkedBinaryTree::size);
+    }
+
+    /**
+     * Returns the height of the tree, or -1 if it is empty.
+     *
+     * @return the height of the tree
+     */
+    public int getHeight() {
+        return read(LinkedBinaryTree::getHeight);
+    }
+
+    @Override
+    public boolean contains(final T theTargetElement) {
+        return read(tree -> tree.contains(theTargetElement));
+    }
+
+    @Override
+    public int countLeafNodes() {
+        return read(LinkedBinaryTree::countLeafNodes);
+    }
+
+    @Override
+    public int countOneChildNodes() {
+        return read(LinkedBinaryTree::countOneChildNodes);
+    }
+
+    @Override
+    public T find(final T theTargetElement) {
+        return read(tree -> tree.find(theTargetElement));
+    }
+
+    @Override
+    public String toString() {
+        return read(LinkedBinaryTree::toString);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return iteratorInOrder();
+    }
+
+    @Override
+    public Iterator<T> iteratorInOrder() {
+        return snapshot(LinkedBinaryTree::iteratorInOrder);
+    }
+
+    @Override
+    public Iterator<T> iteratorPreOrder() {
+        return snapshot(LinkedBinaryTree::iteratorPreOrder);
+    }
+
+    @Override
+    public Iterator<T> iteratorPostOrder() {
+        return snapshot(LinkedBinaryTree::iteratorPostOrder);
+    }
+
+    @Override
+    public Iterator<T> iteratorLevelOrder() {
+        return snapshot(LinkedBinaryTree::iteratorLevelOrder);
+    }
+
+    /**
+     * Copies the elements of a traversal in a read and returns an iterator
+     * over the copy. A write during an optimistic copy makes the tree's
+     * iterator fail fast, so the copy is retried under the read lock early.
+     * The copy holds whatever the traversal returns, including the null the
+     * levelorder traversal of an empty tree returns.
+     *
+     * @param theOrder the traversal of the tree
+     * @return an iterator over the snapshot, which does not support remove
+     */
+    private Iterator<T> snapshot(final Function<? super B, Iterator<T>> theOrder) {
+        final ArrayUnorderedList<T> elements = read(tree -> {
+            final ArrayUnorderedList<T> result =
+                            new ArrayUnorderedList<>(tree.isEmpty() ? 1 : tree.size());
+            final Iterator<T> itr = theOrder.apply(tree);
+            while (itr.hasNext()) {
+                result.addToRear(itr.next());
+            }
+            return result;
+        });
+        return elements.iterator();
+    }
+}
@@ -0,0 +1,335 @@
+package structures;
+
+import exceptions.ElementNotFoundException;
+
+import java.util.Comparator;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ConcurrentSearchTree is a binary search tree that many threads can change
+ * at once. Every node has its own lock, and every operation walks down from
+ * the root with hand-over-hand locking: it locks a child before it unlocks
+ * the parent, and holds at most the two or three locks it is about to use.
+ * Operations in disjoint subtrees therefore run in parallel, and since locks
+ * are always taken from the top down they cannot deadlock. Each operation
+ * takes effect at one instant while it holds the locks of the nodes it
+ * changes, so the tree is linearizable.
+ *
+ * The tree is not rebalanced, so its height depends on the order of the
+ * updates; random orders give logarithmic height. Elements that compare as
+ * equal are stored once.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ * @param <T> the generic data type
+ */
+public class ConcurrentSearchTree<T> {
+    /** ConcurrentSearchTree string. */
+    public static final String COLLECTION = "ConcurrentSearchTree";
+
+    /** The sentinel whose left child is the root; it guards the root link. */
+    private final LockNode<T> myHead;
+
+    /** The number of elements. */
+    private final AtomicInteger myCount;
+
+    /** The comparator, or null to use the natural ordering. */
+    private final Comparator<? super T> myComparator;
+
+    /**
+     * Creates an empty tree ordered by the natural ordering of its elements.
+     * The elements must implement Comparable.
+     */
+    public ConcurrentSearchTree() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty tree ordered by the given comparator.
+     *
+     * @param theComparator the comparator, or null for the natural ordering
+     */
+    public ConcurrentSearchTree(final Comparator<? super T> theComparator) {
+        myHead = new LockNode<T>(null);
+        myCount = new AtomicInteger();
+        myComparator = theComparator;
+    }
+
+    /**
+     * Compares two elements using the comparator or the natural ordering.
+     *
+     * @param theFirst the first element
+     * @param theSecond the second element
+     * @return a negative number, zero, or a positive number as the first
+     *         element is less than, equal to, or greater than the second
+     */
+    @SuppressWarnings("unchecked")
+    protected int compare(final T theFirst, final T theSecond) {
+        final int result;
+        if (myComparator == null) {
+            result = ((Comparable<? super T>) theFirst).compareTo(theSecond);
+        } else {
+            result = myComparator.compare(theFirst, theSecond);
+        }
+        return result;
+    }
+
+    /**
+     * Compares an element with the element of a locked node. If the
+     * comparison throws, the locks held by the caller are released before
+     * the exception is passed on, so no node is left locked.
+     *
+     * @param theElement the element
+     * @param theNode the locked node to compare with
+     * @param theParent the other locked node, or null
+     * @return the result of compare()
+     */
+    private int compareHeld(final T theElement, final LockNode<T> theNode,
+                            final LockNode<T> theParent) {
+        try {
+            return compare(theElement, theNode.myElement);
+        } catch (final RuntimeException | Error e) {
+            theNode.unlock();
+            if (theParent != null) {
+                theParent.unlock();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Adds the element unless an equal element is already in the tree.
+     *
+     * @param theElement the element to add
+     * @return true if the element was added
+     * @throws NullPointerException if the element is null and the tree uses
+     *             the natural ordering
+     */
+    public boolean addElement(final T theElement) {
+        if (theElement == null && myComparator == null) {
+            throw new NullPointerException("Null element in " + COLLECTION);
+        }
+        LockNode<T> parent = myHead;
+        parent.lock();
+        LockNode<T> current = myHead.myLeft;
+        if (current == null) {
+            myHead.myLeft = new LockNode<T>(theElement);
+            myCount.incrementAndGet();
+            parent.unlock();
+            return true;
+        }
+        current.lock();
+        parent.unlock();
+        while (true) {
+            final int cmp = compareHeld(theElement, current, null);
+            if (cmp == 0) {
+                current.unlock();
+                return false;
+            }
+            final LockNode<T> next = cmp < 0 ? current.myLeft : current.myRight;
+            if (next == null) {
+                if (cmp < 0) {
+                    current.myLeft = new LockNode<T>(theElement);
+                } else {
+                    current.myRight = new LockNode<T>(theElement);
+                }
+                myCount.incrementAndGet();
+                current.unlock();
+                return true;
+            }
+            next.lock();
+            current.unlock();
+            current = next;
+        }
+    }
+
+    /**
+     * Removes the element equal to the target. A node with two children
+     * takes the element of its successor, which is unlinked instead.
+     *
+     * @param theTargetElement the element to remove
+     * @return the removed element
+     * @throws ElementNotFoundException if the element is not in the tree
+     */
+    public T removeElement(final T theTargetElement) throws ElementNotFoundException {
+        LockNode<T> parent = myHead;
+        parent.lock();
+        LockNode<T> current = myHead.myLeft;
+        boolean leftChild = true;
+        if (current == null) {
+            parent.unlock();
+            throw new ElementNotFoundException(COLLECTION);
+        }
+        current.lock();
+        int cmp = compareHeld(theTargetElement, current, parent);
+        while (cmp != 0) {
+            final LockNode<T> next = cmp < 0 ? current.myLeft : current.myRight;
+            if (next == null) {
+                current.unlock();
+                parent.unlock();
+                throw new ElementNotFoundException(COLLECTION);
+            }
+            next.lock();
+            parent.unlock();
+            parent = current;
+            leftChild = cmp < 0;
+            current = next;
+            cmp = compareHeld(theTargetElement, current, parent);
+        }
+
+        final T result = current.myElement;
+        if (current.myLeft == null || current.myRight == null) {
+            final LockNode<T> child = current.myLeft == null ? current.myRight
+                                                             : current.myLeft;
+            if (leftChild) {
+                parent.myLeft = child;
+            } else {
+                parent.myRight = child;
+            }
+            current.unlock();
+            parent.unlock();
+        } else {
+            //the node stays in place, so its parent can go
+            parent.unlock();
+            removeSuccessor(current);
+        }
+        myCount.decrementAndGet();
+        return result;
+    }
+
+    /**
+     * Moves the element of the successor of the given node into it and
+     * unlinks the successor. The node stays locked throughout.
+     *
+     * @param theNode a locked node with two children
+     */
+    private void removeSuccessor(final LockNode<T> theNode) {
+        LockNode<T> parent = theNode;
+        LockNode<T> successor = theNode.myRight;
+        successor.lock();
+        while (successor.myLeft != null) {
+            final LockNode<T> next = successor.myLeft;
+            next.lock();
+            if (parent != theNode) {
+                parent.unlock();
+            }
+            parent = successor;
+            successor = next;
+        }
+        theNode.myElement = successor.myElement;
+        if (parent == theNode) {
+            theNode.myRight = successor.myRight;
+        } else {
+            parent.myLeft = successor.myRight;
+            parent.unlock();
+        }
+        successor.unlock();
+        theNode.unlock();
+    }
+
+    /**
+     * Returns the node holding an element equal to the target, locked, or
+     * null if there is none.
+     *
+     * @param theTargetElement the element being sought
+     * @return the locked node, or null
+     */
+    private LockNode<T> lockNode(final T theTargetElement) {
+        LockNode<T> current = myHead;
+        current.lock();
+        LockNode<T> next = myHead.myLeft;
+        while (next != null) {
+            next.lock();
+            current.unlock();
+            current = next;
+            final int cmp = compareHeld(theTargetElement, current, null);
+            if (cmp == 0) {
+                return current;
+            }
+            next = cmp < 0 ? current.myLeft : current.myRight;
+        }
+        current.unlock();
+        return null;
+    }
+
+    /**
+     * Returns true if an element equal to the target is in the tree.
+     *
+     * @param theTargetElement the element being sought
+     * @return true if the element is in the tree
+     */
+    public boolean contains(final T theTargetElement) {
+        final LockNode<T> node = lockNode(theTargetElement);
+        if (node == null) {
+            return false;
+        }
+        node.unlock();
+        return true;
+    }
+
+    /**
+     * Returns the element in the tree equal to the target.
+     *
+     * @param theTargetElement the element being sought
+     * @return the element in the tree
+     * @throws ElementNotFoundException if the element is not in the tree
+     */
+    public T find(final T theTargetElement) throws ElementNotFoundException {
+        final LockNode<T> node = lockNode(theTargetElement);
+        if (node == null) {
+            throw new ElementNotFoundException(COLLECTION);
+        }
+        final T result = node.myElement;
+        node.unlock();
+        return result;
+    }
+
+    /**
+     * Returns the number of elements in the tree.
+     *
+     * @return the number of elements
+     */
+    public int size() {
+        return myCount.get();
+    }
+
+    /**
+     * Returns true if the tree has no elements.
+     *
+     * @return true if the tree is empty
+     */
+    public boolean isEmpty() {
+        return myCount.get() == 0;
+    }
+
+    /**
+     * A tree node that is also its own lock. Its fields are only read or
+     * written while it is locked.
+     *
+     * @param <T> the generic data type
+     */
+    private static final class LockNode<T> extends ReentrantLock {
+        /** Generated serialization ID for this class. */
+        private static final long serialVersionUID = -6318250847722304587L;
+
+        /** The element of this node. */
+        private T myElement;
+
+        /** The left child. */
+        private LockNode<T> myLeft;
+
+        /** The right child. */
+        private LockNode<T> myRight;
+
+        /**
+         * Creates a leaf with the given element.
+         *
+         * @param theElement the element of the node
+         */
+        LockNode(final T theElement) {
+            myElement = theElement;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package structures;
+
+import java.nio.ByteBuffer;
+
+/**
+ * ElementCodec converts the elements of a tree to and from a fixed number of
+ * bytes, so that the element of any node of a serialized tree can be read
+ * directly from its position. Two elements must be equal exactly when their
+ * encodings are equal, because serialized trees search by comparing bytes.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ * @param <T> the generic data type
+ */
+public interface ElementCodec<T> {
+    /** Codec for Integer elements, four bytes each. */
+    ElementCodec<Integer> INTEGER = new ElementCodec<>() {
+        @Override
+        public int width() {
+            return Integer.BYTES;
+        }
+
+        @Override
+        public void encode(final Integer theElement, final ByteBuffer theBuffer,
+                           final int theOffset) {
+            theBuffer.putInt(theOffset, theElement);
+        }
+
+        @Override
+        public Integer decode(final ByteBuffer theBuffer, final int theOffset) {
+            return theBuffer.getInt(theOffset);
+        }
+    };
+
+    /** Codec for Long elements, eight bytes each. */
+    ElementCodec<Long> LONG = new ElementCodec<>() {
+        @Override
+        public int width() {
+            return Long.BYTES;
+        }
+
+        @Override
+        public void encode(final Long theElement, final ByteBuffer theBuffer,
+                           final int theOffset) {
+            theBuffer.putLong(theOffset, theElement);
+        }
+
+        @Override
+        public Long decode(final ByteBuffer theBuffer, final int theOffset) {
+            return theBuffer.getLong(theOffset);
+        }
+    };
+
+    /**
+     * Returns the number of bytes of every encoded element.
+     *
+     * @return the width of an encoded element
+     */
+    int width();
+
+    /**
+     * Writes the element at the given offset of the buffer.
+     *
+     * @param theElement the element to write, not null
+     * @param theBuffer the buffer to write to
+     * @param theOffset the offset of the first byte
+     */
+    void encode(T theElement, ByteBuffer theBuffer, int theOffset);
+
+    /**
+     * Reads the element at the given offset of the buffer.
+     *
+     * @param theBuffer the buffer to read from
+     * @param theOffset the offset of the first byte
+     * @return the element
+     */
+    T decode(ByteBuffer theBuffer, int theOffset);
+}
@@ -0,0 +1,33 @@
+package structures;
+
+/**
+ * The formats a tree or list can be written in by writeTo(). Every format is
+ * written in one pass with memory bounded by the height of a tree, so any
+ * size can be exported.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public enum ExportFormat {
+    /**
+     * The same text as toString(): the elements of a tree in inorder as
+     * "[a b c]", and the elements of a list one per line.
+     */
+    TEXT,
+
+    /**
+     * JSON. A list is an array of its elements. A tree is an object whose
+     * "nodes" array lists the nodes in preorder, each with its "id", its
+     * "element" and, except for the root, its "parent" id and "side", so
+     * trees of any depth are written without nesting. Numbers and booleans
+     * are written as such and other elements as strings.
+     */
+    JSON,
+
+    /**
+     * A Graphviz digraph with one node per element, labelled with the
+     * element. Tree edges are labelled L or R; list edges join each element
+     * to the next.
+     */
+    DOT
+}
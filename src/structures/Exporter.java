@@ -0,0 +1,276 @@
+package structures;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Iterator;
+
+/**
+ * Exporter writes trees and lists in the formats of ExportFormat. Output
+ * goes straight to the Appendable as it is produced, and the only memory
+ * used is the stack of a tree walk, which is bounded by the height of the
+ * tree and never recurses.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+final class Exporter {
+    /** The initial capacity of the node stacks. */
+    private static final int STACK_CAPACITY = 16;
+
+    /** The largest control character, which JSON requires escaped. */
+    private static final char LAST_CONTROL = 0x1f;
+
+    /** The hexadecimal digits. */
+    private static final String HEX = "0123456789abcdef";
+
+    /** Not instantiable. */
+    private Exporter() {
+    }
+
+    /**
+     * Writes the tree rooted at the given node.
+     *
+     * @param theRoot the root, or null for an empty tree
+     * @param theFormat the format
+     * @param theOut where the output goes
+     * @param theName the name of the graph in DOT
+     * @param <T> the generic data type
+     * @throws IOException if the output cannot be written
+     */
+    static <T> void writeTree(final BinaryTreeNode<T> theRoot, final ExportFormat theFormat,
+                              final Appendable theOut, final String theName) throws IOException {
+        if (theFormat == ExportFormat.TEXT) {
+            writeInOrder(theRoot, theOut);
+            return;
+        }
+        final boolean json = theFormat == ExportFormat.JSON;
+        final ArrayUnorderedList<BinaryTreeNode<T>> nodes =
+                        new ArrayUnorderedList<>(STACK_CAPACITY);
+        final IntDeque parents = new IntDeque();
+        final IntDeque sides = new IntDeque();
+        if (theRoot != null) {
+            nodes.addToRear(theRoot);
+            parents.addLast(-1);
+            sides.addLast(0);
+        }
+
+        writeHeader(theFormat, theOut, theName, true);
+        int id = 0;
+        while (!nodes.isEmpty()) {
+            final BinaryTreeNode<T> current = nodes.removeLast();
+            final int parent = parents.removeLast();
+            final boolean right = sides.removeLast() == 1;
+            if (json) {
+                theOut.append(id == 0 ? "\n" : ",\n").append("{\"id\":").append(Integer.toString(id));
+                if (parent >= 0) {
+                    theOut.append(",\"parent\":").append(Integer.toString(parent))
+                          .append(right ? ",\"side\":\"right\"" : ",\"side\":\"left\"");
+                }
+                theOut.append(",\"element\":");
+                writeJsonValue(current.getElement(), theOut);
+                theOut.append('}');
+            } else {
+                writeDotNode(id, current.getElement(), theOut);
+                if (parent >= 0) {
+                    theOut.append("  n").append(Integer.toString(parent))
+                          .append(" -> n").append(Integer.toString(id))
+                          .append(right ? " [label=\"R\"];\n" : " [label=\"L\"];\n");
+                }
+            }
+            if (current.getRight() != null) {
+                nodes.addToRear(current.getRight());
+                parents.addLast(id);
+                sides.addLast(1);
+            }
+            if (current.getLeft() != null) {
+                nodes.addToRear(current.getLeft());
+                parents.addLast(id);
+                sides.addLast(0);
+            }
+            id++;
+        }
+        writeFooter(theFormat, theOut, true);
+    }
+
+    /**
+     * Writes the elements of a list in order.
+     *
+     * @param theElements the elements
+     * @param theFormat the format
+     * @param theOut where the output goes
+     * @param theName the name of the graph in DOT
+     * @param <T> the generic data type
+     * @throws IOException if the output cannot be written
+     */
+    static <T> void writeList(final Iterator<T> theElements, final ExportFormat theFormat,
+                              final Appendable theOut, final String theName) throws IOException {
+        if (theFormat != ExportFormat.TEXT) {
+            writeHeader(theFormat, theOut, theName, false);
+        }
+        int id = 0;
+        while (theElements.hasNext()) {
+            final T element = theElements.next();
+            if (theFormat == ExportFormat.TEXT) {
+                theOut.append(String.valueOf(element)).append('\n');
+            } else if (theFormat == ExportFormat.JSON) {
+                theOut.append(id == 0 ? "\n" : ",\n");
+                writeJsonValue(element, theOut);
+            } else {
+                writeDotNode(id, element, theOut);
+                if (id > 0) {
+                    theOut.append("  n").append(Integer.toString(id - 1))
+                          .append(" -> n").append(Integer.toString(id)).append(";\n");
+                }
+            }
+            id++;
+        }
+        if (theFormat != ExportFormat.TEXT) {
+            writeFooter(theFormat, theOut, false);
+        }
+    }
+
+    /**
+     * Writes the elements of a tree in inorder as "[a b c]", the text of
+     * LinkedBinaryTree.toString().
+     *
+     * @param theRoot the root, or null for an empty tree
+     * @param theOut where the output goes
+     * @param <T> the generic data type
+     * @throws IOException if the output cannot be written
+     */
+    private static <T> void writeInOrder(final BinaryTreeNode<T> theRoot,
+                                         final Appendable theOut) throws IOException {
+        final ArrayUnorderedList<BinaryTreeNode<T>> stack =
+                        new ArrayUnorderedList<>(STACK_CAPACITY);
+        BinaryTreeNode<T> current = theRoot;
+        boolean first = true;
+        theOut.append('[');
+        while (current != null || !stack.isEmpty()) {
+            while (current != null) {
+                stack.addToRear(current);
+                current = current.getLeft();
+            }
+            current = stack.removeLast();
+            if (!first) {
+                theOut.append(' ');
+            }
+            first = false;
+            theOut.append(String.valueOf(current.getElement()));
+            current = current.getRight();
+        }
+        theOut.append(']');
+    }
+
+    /**
+     * Writes the opening of a JSON or DOT document.
+     *
+     * @param theFormat JSON or DOT
+     * @param theOut where the output goes
+     * @param theName the name of the graph in DOT
+     * @param theTree true for a tree, false for a list
+     * @throws IOException if the output cannot be written
+     */
+    private static void writeHeader(final ExportFormat theFormat, final Appendable theOut,
+                                    final String theName, final boolean theTree)
+                    throws IOException {
+        if (theFormat == ExportFormat.JSON) {
+            theOut.append(theTree ? "{\"nodes\":[" : "[");
+        } else {
+            theOut.append("digraph \"");
+            writeEscaped(theName, theOut, false);
+            theOut.append("\" {\n");
+        }
+    }
+
+    /**
+     * Writes the closing of a JSON or DOT document.
+     *
+     * @param theFormat JSON or DOT
+     * @param theOut where the output goes
+     * @param theTree true for a tree, false for a list
+     * @throws IOException if the output cannot be written
+     */
+    private static void writeFooter(final ExportFormat theFormat, final Appendable theOut,
+                                    final boolean theTree) throws IOException {
+        if (theFormat == ExportFormat.JSON) {
+            theOut.append(theTree ? "\n]}" : "\n]");
+        } else {
+            theOut.append("}\n");
+        }
+    }
+
+    /**
+     * Writes a DOT node statement labelled with the element.
+     *
+     * @param theId the node id
+     * @param theElement the element
+     * @param theOut where the output goes
+     * @throws IOException if the output cannot be written
+     */
+    private static void writeDotNode(final int theId, final Object theElement,
+                                     final Appendable theOut) throws IOException {
+        theOut.append("  n").append(Integer.toString(theId)).append(" [label=\"");
+        writeEscaped(String.valueOf(theElement), theOut, false);
+        theOut.append("\"];\n");
+    }
+
+    /**
+     * Writes an element as a JSON value: a number or boolean as such, null
+     * as null and anything else as the string of its toString().
+     *
+     * @param theElement the element
+     * @param theOut where the output goes
+     * @throws IOException if the output cannot be written
+     */
+    private static void writeJsonValue(final Object theElement,
+                                       final Appendable theOut) throws IOException {
+        if (theElement == null || theElement instanceof Boolean
+            || theElement instanceof Integer || theElement instanceof Long
+            || theElement instanceof Short || theElement instanceof Byte
+            || theElement instanceof BigInteger || theElement instanceof BigDecimal) {
+            theOut.append(String.valueOf(theElement));
+        } else if ((theElement instanceof Double || theElement instanceof Float)
+                   && Double.isFinite(((Number) theElement).doubleValue())) {
+            theOut.append(theElement.toString());
+        } else {
+            theOut.append('"');
+            writeEscaped(theElement.toString(), theOut, true);
+            theOut.append('"');
+        }
+    }
+
+    /**
+     * Writes text for a quoted JSON or DOT string, escaping quotes and
+     * backslashes, and in JSON also control characters. Runs of characters
+     * that need no escape are appended at once.
+     *
+     * @param theText the text
+     * @param theOut where the output goes
+     * @param theJson true for JSON, false for DOT
+     * @throws IOException if the output cannot be written
+     */
+    private static void writeEscaped(final String theText, final Appendable theOut,
+                                     final boolean theJson) throws IOException {
+        int start = 0;
+        for (int i = 0; i < theText.length(); i++) {
+            final char c = theText.charAt(i);
+            if (c == '"' || c == '\\' || (theJson && c <= LAST_CONTROL)) {
+                theOut.append(theText, start, i).append('\\');
+                if (c == '\n') {
+                    theOut.append('n');
+                } else if (c == '\t') {
+                    theOut.append('t');
+                } else if (c == '\r') {
+                    theOut.append('r');
+                } else if (c <= LAST_CONTROL) {
+                    theOut.append("u00").append(HEX.charAt(c >> 4)).append(HEX.charAt(c & 0xf));
+                } else {
+                    theOut.append(c);
+                }
+                start = i + 1;
+            }
+        }
+        theOut.append(theText, start, theText.length());
+    }
+}
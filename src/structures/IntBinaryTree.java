@@ -0,0 +1,189 @@
+package structures;
+
+import exceptions.ElementNotFoundException;
+import exceptions.EmptyCollectionException;
+
+import java.util.Iterator;
+import java.util.PrimitiveIterator;
+
+/**
+ * IntBinaryTree is a linked binary tree of unboxed int elements. It is built
+ * the same way as LinkedBinaryTree, from an element and two subtrees, and
+ * offers the same operations without boxing on insert, search or traversal.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public class IntBinaryTree extends AbstractPrimitiveBinaryTree<IntBinaryTreeNode>
+                implements IntBinaryTreeADT {
+    /** IntBinaryTree string. */
+    public static final String COLLECTION = "IntBinaryTree";
+
+    /** Creates an empty binary tree. */
+    public IntBinaryTree() {
+        super(null);
+    }
+
+    /**
+     * Creates a binary tree with the specified element as its root.
+     *
+     * @param theElement the element that will become the root of the binary
+     *            tree.
+     */
+    public IntBinaryTree(final int theElement) {
+        super(new IntBinaryTreeNode(theElement, null, null));
+    }
+
+    /**
+     * Creates a binary tree with the specified element as its root and the
+     * given trees as its left child and right child.
+     *
+     * @param theElement the element that will become the root of the binary
+     *            tree
+     * @param theLeft the left subtree of this tree, may be null
+     * @param theRight the right subtree of this tree, may be null
+     */
+    public IntBinaryTree(final int theElement, final IntBinaryTree theLeft,
+                         final IntBinaryTree theRight) {
+        super(new IntBinaryTreeNode(theElement, rootOf(theLeft), rootOf(theRight)));
+    }
+
+    /**
+     * Creates a binary tree with the given root node.
+     *
+     * @param theRoot the root node, or null for an empty tree
+     */
+    private IntBinaryTree(final IntBinaryTreeNode theRoot) {
+        super(theRoot);
+    }
+
+    @Override
+    protected String collection() {
+        return COLLECTION;
+    }
+
+    /**
+     * Returns the element at the root.
+     *
+     * @return the root element
+     * @throws EmptyCollectionException if the tree is empty
+     */
+    public int getRootElement() throws EmptyCollectionException {
+        return rootNode().getElement();
+    }
+
+    /**
+     * Returns the left subtree of the root of this tree.
+     *
+     * @return a link to the left subtree for the tree
+     */
+    public IntBinaryTree getLeft() {
+        return new IntBinaryTree(myRoot.getLeft());
+    }
+
+    /**
+     * Returns the right subtree of the root of this tree.
+     *
+     * @return a link to the right subtree of the tree
+     */
+    public IntBinaryTree getRight() {
+        return new IntBinaryTree(myRoot.getRight());
+    }
+
+    /**
+     * Returns true if this tree contains the specified element.
+     *
+     * @param theTargetElement the element being sought in this tree
+     * @return true if the element in is this tree, false otherwise
+     */
+    public boolean contains(final int theTargetElement) {
+        return findNode(node -> node.getElement() == theTargetElement) != null;
+    }
+
+    /**
+     * Returns the specified element if it is found in this binary tree.
+     *
+     * @param theTargetElement the element being sought in this tree
+     * @return the specified element
+     * @throws ElementNotFoundException if the element is not in the tree
+     */
+    public int find(final int theTargetElement) throws ElementNotFoundException {
+        if (!contains(theTargetElement)) {
+            throw new ElementNotFoundException(COLLECTION);
+        }
+        return theTargetElement;
+    }
+
+    /**
+     * Returns an iterator over the elements in this tree using the
+     * iteratorInOrder method.
+     *
+     * @return an in order iterator over this binary tree
+     */
+    public PrimitiveIterator.OfInt iterator() {
+        return iteratorInOrder();
+    }
+
+    /**
+     * Performs a lazy inorder traversal on this binary tree.
+     *
+     * @return an in order iterator over this binary tree
+     */
+    public PrimitiveIterator.OfInt iteratorInOrder() {
+        return new ElementIterator(nodeIterator(TraversalOrder.IN_ORDER));
+    }
+
+    /**
+     * Performs a lazy preorder traversal on this binary tree.
+     *
+     * @return a pre order iterator over this tree
+     */
+    public PrimitiveIterator.OfInt iteratorPreOrder() {
+        return new ElementIterator(nodeIterator(TraversalOrder.PRE_ORDER));
+    }
+
+    /**
+     * Performs a lazy postorder traversal on this binary tree.
+     *
+     * @return a post order iterator over this tree
+     */
+    public PrimitiveIterator.OfInt iteratorPostOrder() {
+        return new ElementIterator(nodeIterator(TraversalOrder.POST_ORDER));
+    }
+
+    /**
+     * Performs a lazy levelorder traversal on this binary tree.
+     *
+     * @return a levelorder iterator over this binary tree
+     */
+    public PrimitiveIterator.OfInt iteratorLevelOrder() {
+        return new ElementIterator(nodeIterator(TraversalOrder.LEVEL_ORDER));
+    }
+
+    /**
+     * Iterator over the unboxed elements of the nodes of a node iterator.
+     */
+    private static final class ElementIterator implements PrimitiveIterator.OfInt {
+        /** The node iterator. */
+        private final Iterator<IntBinaryTreeNode> myNodes;
+
+        /**
+         * Sets up this iterator over the given nodes.
+         *
+         * @param theNodes the node iterator
+         */
+        ElementIterator(final Iterator<IntBinaryTreeNode> theNodes) {
+            myNodes = theNodes;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return myNodes.hasNext();
+        }
+
+        @Override
+        public int nextInt() {
+            return myNodes.next().getElement();
+        }
+    }
+}
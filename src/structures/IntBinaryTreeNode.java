@@ -0,0 +1,39 @@
+package structures;
+
+/**
+ * IntBinaryTreeNode represents a node holding an unboxed int in a binary tree.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public class IntBinaryTreeNode extends PrimitiveTreeNode<IntBinaryTreeNode> {
+    /** The element. */
+    protected final int myElement;
+
+    /**
+     * Creates a new tree node with the specified data and children.
+     *
+     * @param theObj the element that will become a part of the new tree node
+     * @param theLeft the left child, may be null
+     * @param theRight the right child, may be null
+     */
+    public IntBinaryTreeNode(final int theObj, final IntBinaryTreeNode theLeft,
+                             final IntBinaryTreeNode theRight) {
+        super(theLeft, theRight);
+        myElement = theObj;
+    }
+
+    /**
+     * Return the element at this node.
+     *
+     * @return the element stored at this node
+     */
+    public int getElement() {
+        return myElement;
+    }
+
+    @Override
+    protected void appendElement(final StringBuilder theBuilder) {
+        theBuilder.append(myElement);
+    }
+}
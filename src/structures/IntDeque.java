@@ -0,0 +1,91 @@
+package structures;
+
+/**
+ * IntDeque is a growable circular deque of ints, used as the traversal stack
+ * or queue of trees that address their nodes by int position, so that node
+ * positions are never boxed.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+final class IntDeque {
+    /** The initial capacity. */
+    private static final int CAPACITY = 16;
+
+    /** The elements. */
+    private int[] myItems = new int[CAPACITY];
+
+    /** The index of the first element. */
+    private int myFront;
+
+    /** The number of elements. */
+    private int myCount;
+
+    /**
+     * Returns true if this deque is empty.
+     *
+     * @return true if this deque is empty
+     */
+    boolean isEmpty() {
+        return myCount == 0;
+    }
+
+    /**
+     * Returns the number of elements in this deque.
+     *
+     * @return the number of elements
+     */
+    int size() {
+        return myCount;
+    }
+
+    /**
+     * Adds an element at the rear.
+     *
+     * @param theValue the element to add
+     */
+    void addLast(final int theValue) {
+        if (myCount == myItems.length) {
+            final int[] larger = new int[myItems.length * 2];
+            final int firstPart = myItems.length - myFront;
+            System.arraycopy(myItems, myFront, larger, 0, firstPart);
+            System.arraycopy(myItems, 0, larger, firstPart, myFront);
+            myItems = larger;
+            myFront = 0;
+        }
+        myItems[(myFront + myCount) % myItems.length] = theValue;
+        myCount++;
+    }
+
+    /**
+     * Returns the element at the rear without removing it.
+     *
+     * @return the last element
+     */
+    int peekLast() {
+        return myItems[(myFront + myCount - 1) % myItems.length];
+    }
+
+    /**
+     * Removes and returns the element at the rear.
+     *
+     * @return the last element
+     */
+    int removeLast() {
+        final int result = peekLast();
+        myCount--;
+        return result;
+    }
+
+    /**
+     * Removes and returns the element at the front.
+     *
+     * @return the first element
+     */
+    int removeFirst() {
+        final int result = myItems[myFront];
+        myFront = (myFront + 1) % myItems.length;
+        myCount--;
+        return result;
+    }
+}
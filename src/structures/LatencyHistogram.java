@@ -0,0 +1,139 @@
+package structures;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * LatencyHistogram counts durations in buckets whose bounds are powers of
+ * two: bucket 0 holds 0 ns, and bucket b holds durations from 2^(b-1) to
+ * 2^b - 1 ns. Recording is a bit scan and two atomic adds, and the histogram
+ * takes a fixed 64 buckets whatever the range of the values, at the price of
+ * reporting percentiles only to within a factor of two. Threads may record
+ * and read at once; a read while others record sees each count at some
+ * instant, not all counts at one instant.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public final class LatencyHistogram {
+    /** The number of buckets, one per bit of a long. */
+    public static final int BUCKETS = Long.SIZE;
+
+    /** The number of durations in each bucket. */
+    private final AtomicLongArray myBuckets;
+
+    /** The sum of all durations, in nanoseconds. */
+    private final LongAdder myTotal;
+
+    /**
+     * Creates an empty histogram.
+     */
+    public LatencyHistogram() {
+        myBuckets = new AtomicLongArray(BUCKETS);
+        myTotal = new LongAdder();
+    }
+
+    /**
+     * Returns the bucket of a duration.
+     *
+     * @param theNanos the duration in nanoseconds, negative taken as 0
+     * @return the bucket index
+     */
+    static int bucketOf(final long theNanos) {
+        return theNanos <= 0 ? 0 : Math.min(BUCKETS - 1, BUCKETS - Long.numberOfLeadingZeros(theNanos));
+    }
+
+    /**
+     * Returns the largest duration counted in a bucket.
+     *
+     * @param theBucket the bucket index
+     * @return the upper bound of the bucket in nanoseconds
+     */
+    public static long upperBound(final int theBucket) {
+        return theBucket >= BUCKETS - 1 ? Long.MAX_VALUE : (1L << theBucket) - 1;
+    }
+
+    /**
+     * Counts one duration.
+     *
+     * @param theNanos the duration in nanoseconds
+     */
+    public void record(final long theNanos) {
+        myBuckets.incrementAndGet(bucketOf(theNanos));
+        myTotal.add(Math.max(0, theNanos));
+    }
+
+    /**
+     * Returns the number of durations counted.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        long result = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            result += myBuckets.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the sum of the durations counted.
+     *
+     * @return the total in nanoseconds
+     */
+    public long getTotalNanos() {
+        return myTotal.sum();
+    }
+
+    /**
+     * Returns the number of durations in each bucket.
+     *
+     * @return a new array of BUCKETS counts
+     */
+    public long[] getBuckets() {
+        final long[] result = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            result[i] = myBuckets.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Returns an upper bound of the given percentile: the upper bound of the
+     * bucket holding it, which is at most twice the true value.
+     *
+     * @param thePercentile the percentile, from 0 to 100
+     * @return the bound in nanoseconds, or 0 if nothing was counted
+     * @throws IllegalArgumentException if the percentile is out of range
+     */
+    public long getPercentile(final double thePercentile) {
+        if (!(thePercentile >= 0 && thePercentile <= 100)) {
+            throw new IllegalArgumentException("Percentile out of range: " + thePercentile);
+        }
+        final long[] buckets = getBuckets();
+        long count = 0;
+        for (final long bucket : buckets) {
+            count += bucket;
+        }
+        final long rank = (long) Math.ceil(count * thePercentile / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += buckets[i];
+            if (seen >= rank && seen > 0) {
+                return upperBound(i);
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Empties the histogram. Durations recorded during the reset may be
+     * kept or lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            myBuckets.set(i, 0);
+        }
+        myTotal.reset();
+    }
+}
@@ -4,9 +4,18 @@ package structures;
 import exceptions.ElementNotFoundException;
 import exceptions.EmptyCollectionException;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.ConcurrentModificationException;
+import java.util.HashMap;
 import java.util.Iterator;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * LinkedBinaryTree implements the BinaryTreeADT interface.
@@ -21,10 +30,26 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
     
     /** LinkedBinaryTree string. */
     public static final String COLLECTION = "LinkedBinaryTree";
+    /** The initial capacity of the node stacks used by the lazy traversals. */
+    private static final int STACK_CAPACITY = 16;
+    /** The depth below which traverse() continues with a node stack. */
+    private static final int MAX_RECURSION = 256;
     /** The root node. */
     protected BinaryTreeNode<T> myRoot;
     /** The number of nodes. */
     protected int myModCount;
+    /** True if find() and contains() use the element index. */
+    private boolean myIndexed;
+    /** Maps each element to its node, or null until the index is built. */
+    private HashMap<T, BinaryTreeNode<T>> myIndex;
+    /** The modification count at the time the index was built. */
+    private int myIndexModCount;
+    /** True while a Morris traversal has threaded right links of the tree. */
+    private boolean myThreaded;
+    /** True if the nodes belong to another tree and must not be edited. */
+    private boolean myReadOnly;
+    /** True if the tree is read by other threads without a lock. */
+    private boolean myShared;
    
     /** Creates an empty binary tree. */
     public LinkedBinaryTree() {
@@ -43,31 +68,31 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
 
     /**
      * Creates a binary tree with the specified element as its root and the
-     * given trees as its left child and right child.
+     * given trees as its left child and right child. The nodes of the given
+     * trees are moved, not copied, so they are left empty and every node
+     * belongs to one tree only.
      *
      * @param theElement the element that will become the root of the binary
      *            tree
-     * @param theLeft the left subtree of this tree
-     * @param theRight the right subtree of this tree
+     * @param theLeft the left subtree of this tree, may be null
+     * @param theRight the right subtree of this tree, may be null
+     * @throws IllegalArgumentException if both subtrees are the same tree
+     * @throws UnsupportedOperationException if a subtree is not editable
      */
     public LinkedBinaryTree(final T theElement, final LinkedBinaryTree<T> theLeft,
                             final LinkedBinaryTree<T> theRight) {
-        myRoot = new BinaryTreeNode<T>(theElement);
-       
-        if (theLeft == null) {    
-            myRoot.setLeft(null);
-        } else {
-            
-            myRoot.setLeft(theLeft.myRoot);
+        if (theLeft != null && theLeft == theRight) {
+            throw new IllegalArgumentException("A tree cannot be both subtrees");
         }
-       
-        if (theRight == null) {
-            
-            myRoot.setRight(null);
-        } else {
-            
-            myRoot.setRight(theRight.myRoot);
+        if (theLeft != null) {
+            theLeft.checkEditable();
+        }
+        if (theRight != null) {
+            theRight.checkEditable();
         }
+        myRoot = new BinaryTreeNode<T>(theElement);
+        myRoot.setLeft(take(theLeft));
+        myRoot.setRight(take(theRight));
     }
 
     /**
@@ -91,7 +116,8 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
     }
 
     /**
-     * Returns the left subtree of the root of this tree.
+     * Returns the left subtree of the root of this tree. The subtree shares
+     * its nodes with this tree, so it cannot be edited.
      *
      * @return a link to the left subtree for the tree
      */
@@ -102,11 +128,13 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
         //Grab the left child node from the root which now becomes the root 
         //node of the sub tree.
         leftSubTree.myRoot = myRoot.getLeft();
+        leftSubTree.myReadOnly = true;
         return leftSubTree;
     }
 
     /**
-     * Returns the right subtree of the root of this tree.
+     * Returns the right subtree of the root of this tree. The subtree shares
+     * its nodes with this tree, so it cannot be edited.
      *
      * @return a link to the right subtree of the tree
      */
@@ -116,144 +144,406 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
         //Grab the right child node from the root which now becomes the root 
         //node of the sub tree.
         rightSubTree.myRoot = myRoot.getRight();
+        rightSubTree.myReadOnly = true;
         return rightSubTree;
     }
 
     /**
-     * Returns true if this binary tree is empty and false otherwise.
+     * Makes the given tree the left subtree of the root of this tree. The
+     * nodes are moved, not copied, so the given tree is left empty. This
+     * takes constant time. The subtrees returned by getLeft() and getRight()
+     * share their nodes with another tree, and an edit through them would not
+     * update the sizes kept by the nodes above, so they cannot be edited or
+     * attached; neither can search trees. If the element index is on, it is
+     * updated in time proportional to the size of the moved subtrees, unless
+     * the tree holds equal elements, in which case it is rebuilt on the next
+     * search.
      *
-     * @return true if this binary tree is empty, false otherwise
+     * @param theTree the tree to attach
+     * @throws EmptyCollectionException if this tree is empty
+     * @throws IllegalStateException if the root already has a left subtree
+     * @throws IllegalArgumentException if the tree is this tree
+     * @throws UnsupportedOperationException if either tree is not editable
      */
-    public boolean isEmpty() {
-        return myRoot == null;
+    public void attachLeft(final LinkedBinaryTree<T> theTree) {
+        checkSlotEmpty(true);
+        relink(true, theTree);
     }
 
     /**
-     * Returns the integer size of this tree.
+     * Makes the given tree the right subtree of the root of this tree. The
+     * nodes are moved, not copied, so the given tree is left empty. This
+     * takes constant time.
      *
-     * @return the integer size of the tree
+     * @param theTree the tree to attach
+     * @throws EmptyCollectionException if this tree is empty
+     * @throws IllegalStateException if the root already has a right subtree
+     * @throws IllegalArgumentException if the tree is this tree
+     * @throws UnsupportedOperationException if either tree is not editable
      */
-    public int size() {
-        //the number of non null children plus the root is the size
-        if (this.isEmpty()) {
+    public void attachRight(final LinkedBinaryTree<T> theTree) {
+        checkSlotEmpty(false);
+        relink(false, theTree);
+    }
+
+    /**
+     * Removes the left subtree of the root of this tree and returns it as a
+     * tree of its own. This takes constant time.
+     *
+     * @return the former left subtree, empty if there was none
+     * @throws EmptyCollectionException if this tree is empty
+     * @throws UnsupportedOperationException if this tree is not editable
+     */
+    public LinkedBinaryTree<T> detachLeft() {
+        return wrap(relink(true, null));
+    }
+
+    /**
+     * Removes the right subtree of the root of this tree and returns it as a
+     * tree of its own. This takes constant time.
+     *
+     * @return the former right subtree, empty if there was none
+     * @throws EmptyCollectionException if this tree is empty
+     * @throws UnsupportedOperationException if this tree is not editable
+     */
+    public LinkedBinaryTree<T> detachRight() {
+        return wrap(relink(false, null));
+    }
+
+    /**
+     * Replaces the left subtree of the root of this tree with the given tree
+     * and returns the former subtree. The nodes of the given tree are moved,
+     * so it is left empty. This takes constant time.
+     *
+     * @param theTree the new left subtree, or null to remove it
+     * @return the former left subtree, empty if there was none
+     * @throws EmptyCollectionException if this tree is empty
+     * @throws IllegalArgumentException if the tree is this tree
+     * @throws UnsupportedOperationException if either tree is not editable
+     */
+    public LinkedBinaryTree<T> replaceLeft(final LinkedBinaryTree<T> theTree) {
+        return wrap(relink(true, theTree));
+    }
+
+    /**
+     * Replaces the right subtree of the root of this tree with the given tree
+     * and returns the former subtree. The nodes of the given tree are moved,
+     * so it is left empty. This takes constant time.
+     *
+     * @param theTree the new right subtree, or null to remove it
+     * @return the former right subtree, empty if there was none
+     * @throws EmptyCollectionException if this tree is empty
+     * @throws IllegalArgumentException if the tree is this tree
+     * @throws UnsupportedOperationException if either tree is not editable
+     */
+    public LinkedBinaryTree<T> replaceRight(final LinkedBinaryTree<T> theTree) {
+        return wrap(relink(false, theTree));
+    }
+
+    /**
+     * Replaces the element at the root of this tree.
+     *
+     * @param theElement the new root element
+     * @return the former root element
+     * @throws EmptyCollectionException if this tree is empty
+     * @throws UnsupportedOperationException if this tree is not editable
+     */
+    public T setRootElement(final T theElement) {
+        checkEditable();
+        if (isEmpty()) {
             throw new EmptyCollectionException(COLLECTION);
         }
-        return myRoot.numChildren() + 1; 
+        final boolean inPlace = isIndexExact();
+        final T result = myRoot.getElement();
+        myRoot.myElement = theElement;
+        myModCount++;
+        if (inPlace) {
+            //the root comes first in preorder, so it wins over any equal node
+            myIndex.remove(result);
+            myIndex.put(theElement, myRoot);
+            myIndexModCount = myModCount;
+        }
+        return result;
     }
 
     /**
-     * Returns the height of this tree.  
+     * Returns true if the nodes of this tree may be edited by position and
+     * threaded by the Morris traversals. Search trees, whose nodes are placed
+     * by their order, and the subtrees returned by getLeft() and getRight(),
+     * whose nodes belong to another tree, return false.
      *
-     * @return the height of the tree
+     * @return true if this tree may be edited
      */
-    public int getHeight() {
-         //start the recursive process with the root.
-        return height(myRoot);
+    protected boolean isEditable() {
+        return !myReadOnly;
     }
 
     /**
-     * Returns the height of the specified node. If the trees is empty returns -1.
+     * Throws an exception unless this tree may be edited by position.
      *
-     * @param theNode the node from which to calculate the height
-     * @return the height of the tree
+     * @throws UnsupportedOperationException if the tree is not editable
+     * @throws IllegalStateException if a Morris traversal is running
      */
-    private int height(final BinaryTreeNode<T> theNode) {
-        int result = 0;
-        int heightLeft = 0;
-        int heightRight = 0;
-        
-        if (theNode == null) {
-          
-            result = -1; //Indicates that the tree is empty
+    private void checkEditable() {
+        if (!isEditable()) {
+            throw new UnsupportedOperationException("A search tree cannot be edited by position");
+        }
+        checkNotThreaded();
+    }
+
+    /**
+     * Throws an exception unless the root has no subtree on the given side.
+     *
+     * @param theLeft true for the left side, false for the right
+     * @throws EmptyCollectionException if this tree is empty
+     * @throws IllegalStateException if the subtree is there
+     */
+    private void checkSlotEmpty(final boolean theLeft) {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        if ((theLeft ? myRoot.getLeft() : myRoot.getRight()) != null) {
+            throw new IllegalStateException((theLeft ? "Left" : "Right")
+                                            + " subtree is not empty");
+        }
+    }
+
+    /**
+     * Moves the nodes of the given tree to one side of the root and returns
+     * the subtree that was there. Only the size kept by the root changes.
+     *
+     * @param theLeft true for the left side, false for the right
+     * @param theTree the tree to move there, or null to leave it empty
+     * @return the root of the former subtree, or null
+     * @throws EmptyCollectionException if this tree is empty
+     * @throws IllegalArgumentException if the tree is this tree
+     */
+    private BinaryTreeNode<T> relink(final boolean theLeft,
+                                     final LinkedBinaryTree<T> theTree) {
+        checkEditable();
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        if (theTree == this) {
+            throw new IllegalArgumentException("A tree cannot be its own subtree");
+        }
+        if (theTree != null) {
+            theTree.checkEditable();
+        }
+        final BinaryTreeNode<T> node = take(theTree);
+        final boolean inPlace = isIndexExact();
+        final BinaryTreeNode<T> result;
+        if (theLeft) {
+            result = myRoot.getLeft();
+            myRoot.setLeft(node);
         } else {
-            
-            //compute the height of the left subtree. 
-            heightLeft = 1 + height(theNode.myLeft); 
-            
-            //compute the height of the right subtree.
-            heightRight = 1 + height(theNode.myRight); 
-            
-            if (heightLeft > heightRight) { //Find out which is greater
-                result = heightLeft;
-            } else {
-                result = heightRight;
+            result = myRoot.getRight();
+            myRoot.setRight(node);
+        }
+        myModCount++;
+        if (inPlace) {
+            updateIndex(theLeft, result, node);
+        }
+        return result;
+    }
+
+    /**
+     * Returns true if the element index is up to date and holds every node,
+     * that is no two nodes hold equal elements. Only then can an edit update
+     * the index in place: when an element is held twice, taking one of its
+     * nodes out would need a search for the other. The index of a shared tree
+     * is never changed in place, since readers may be using it.
+     *
+     * @return true if the index can be updated in place
+     */
+    private boolean isIndexExact() {
+        return !myShared && myIndexed && myIndex != null && myIndexModCount == myModCount
+               && myIndex.size() == BinaryTreeNode.sizeOf(myRoot);
+    }
+
+    /**
+     * Updates the element index after one subtree of the root was replaced by
+     * another. The index held every node before, so the elements of the old
+     * subtree are simply removed. An element of the new subtree replaces an
+     * equal one outside it only if that one comes later in preorder, which
+     * can only be a node of the right subtree when the new one is on the
+     * left. This takes time proportional to the size of the two subtrees.
+     *
+     * @param theLeft true if the left subtree was replaced
+     * @param theRemoved the root of the old subtree, or null
+     * @param theAdded the root of the new subtree, or null
+     */
+    private void updateIndex(final boolean theLeft, final BinaryTreeNode<T> theRemoved,
+                             final BinaryTreeNode<T> theAdded) {
+        for (final T element : firstNodes(theRemoved).keySet()) {
+            myIndex.remove(element);
+        }
+        for (final Map.Entry<T, BinaryTreeNode<T>> entry : firstNodes(theAdded).entrySet()) {
+            final BinaryTreeNode<T> other = myIndex.get(entry.getKey());
+            if (other == null || theLeft && other != myRoot) {
+                myIndex.put(entry.getKey(), entry.getValue());
             }
         }
-        return result; //return the greater height     
+        myIndexModCount = myModCount;
     }
-    
-    
 
-    @Override
-    public int countLeafNodes() {
-        return countLeafsRecursive(myRoot);
+    /**
+     * Returns a tree whose root is the given node.
+     *
+     * @param theNode the root, or null for an empty tree
+     * @param <T> the generic data type
+     * @return the tree
+     */
+    private static <T> LinkedBinaryTree<T> wrap(final BinaryTreeNode<T> theNode) {
+        final LinkedBinaryTree<T> result = new LinkedBinaryTree<>();
+        result.myRoot = theNode;
+        return result;
     }
-    
+
     /**
-     * Recursive helper method to count the number of leafs 
-     * in the tree.
-     * 
-     * @return the leaf count of the tree.
-     * @param theNode is the node from which to start the search.
+     * Empties the given tree and returns its root, so that its nodes can be
+     * moved to another tree.
+     *
+     * @param theTree the tree to empty, or null
+     * @param <T> the generic data type
+     * @return the former root of the tree, or null
      */
-    private int countLeafsRecursive(final BinaryTreeNode<T> theNode) {
-        
-        int count = 0;
-        if (theNode == null) {
-            count = 0;
-        } else if (theNode.myLeft == null && theNode.myRight == null) { // leaf node
-            count = 1;
-        } else {
-            //Go to the left
-            final int leftCount = countLeafsRecursive(theNode.myLeft);
-            //Go to the right
-            final int rightCount = countLeafsRecursive(theNode.myRight);
-            count = leftCount + rightCount;
+    private static <T> BinaryTreeNode<T> take(final LinkedBinaryTree<T> theTree) {
+        BinaryTreeNode<T> result = null;
+        if (theTree != null) {
+            result = theTree.myRoot;
+            theTree.myRoot = null;
+            theTree.myModCount++;
         }
-        return count;
-       
-        
+        return result;
     }
-    
-    @Override
-    public int countOneChildNodes() {
-        return countOneChildNodesRecursive(myRoot);
+
+    /**
+     * Returns true if this binary tree is empty and false otherwise.
+     *
+     * @return true if this binary tree is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return myRoot == null;
     }
-    
+
     /**
-     * Helper method to check if a node has only one child.
-     * @param theNode the node to check
-     * @return whether or not the node has one child.
+     * Returns the integer size of this tree. The root keeps the size of its
+     * subtree, so this takes constant time.
+     *
+     * @return the integer size of the tree
      */
-    private boolean onlyOneChild(final BinaryTreeNode<T> theNode) {
-        int count = 0;
-        if (theNode.myLeft != null) {
-            count++;
+    public int size() {
+        if (this.isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
         }
-        if (theNode.myRight != null) {
-            count++;
+        return myRoot.getSize(); 
+    }
+
+    /**
+     * Returns the element at the given position of an inorder traversal of
+     * this tree. The subtree sizes kept by the nodes are used to steer the
+     * search, so this takes time proportional to the height of the tree.
+     *
+     * @param theIndex the zero based inorder position of the element
+     * @return the element at that position
+     * @throws IndexOutOfBoundsException if the position is not in the tree
+     */
+    public T select(final int theIndex) {
+        checkNotThreaded();
+        if (theIndex < 0 || theIndex >= BinaryTreeNode.sizeOf(myRoot)) {
+            throw new IndexOutOfBoundsException("Index: " + theIndex);
         }
-        return count == 1;
+        BinaryTreeNode<T> current = myRoot;
+        int index = theIndex;
+        int leftSize = BinaryTreeNode.sizeOf(current.getLeft());
+
+        while (index != leftSize) {
+            if (index < leftSize) {
+                current = current.getLeft();
+            } else {
+                //skip the left subtree and the current node
+                index = index - leftSize - 1;
+                current = current.getRight();
+            }
+            leftSize = BinaryTreeNode.sizeOf(current.getLeft());
+        }
+        return current.getElement();
     }
+
     /**
-     * Helper method to count one child nodes.
-     * 
-     * @return the one child node count.
-     * @param theNode is the node from where to begin.
+     * Returns the inorder position of the node that find() would return for
+     * the specified element. The tree is not ordered, so the node is found by
+     * the same preorder search find() makes, with the nodes that precede each
+     * subtree inorder counted from the subtree sizes on the way down. This
+     * takes time proportional to the size of the tree and uses an explicit
+     * stack, so deep trees do not overflow the call stack.
+     *
+     * @param theTargetElement the element being sought in this tree
+     * @return the zero based inorder position of the element
+     * @throws ElementNotFoundException if the element is not in the tree
      */
-    private int countOneChildNodesRecursive(final BinaryTreeNode<T> theNode) {
-        int count = 0;
-        if (theNode == null) {
-            count =  0;
-        } else if (onlyOneChild(theNode)) { //If the node has one child count it.
-            count =  1 + countOneChildNodesRecursive(theNode.myLeft) 
-                       + countOneChildNodesRecursive(theNode.myRight);
-        } else {
-            //check the left and the right children.
-            count = countOneChildNodesRecursive(theNode.myLeft) 
-                            +  countOneChildNodesRecursive(theNode.myRight);
+    public int rank(final T theTargetElement) throws ElementNotFoundException {
+        checkNotThreaded();
+        final ArrayUnorderedList<BinaryTreeNode<T>> stack =
+                        new ArrayUnorderedList<>(STACK_CAPACITY);
+        //the number of nodes that precede each subtree on the stack inorder
+        final ArrayUnorderedList<Integer> offsets = new ArrayUnorderedList<>(STACK_CAPACITY);
+
+        if (myRoot != null) {
+            stack.addToRear(myRoot);
+            offsets.addToRear(0);
         }
-        return count;
+        while (!stack.isEmpty()) {
+            final BinaryTreeNode<T> current = stack.removeLast();
+            final int offset = offsets.removeLast();
+            final int leftSize = BinaryTreeNode.sizeOf(current.getLeft());
+
+            if (current.getElement().equals(theTargetElement)) {
+                return offset + leftSize;
+            }
+            //right first, so the left subtree is searched first
+            if (current.getRight() != null) {
+                stack.addToRear(current.getRight());
+                offsets.addToRear(offset + leftSize + 1);
+            }
+            if (current.getLeft() != null) {
+                stack.addToRear(current.getLeft());
+                offsets.addToRear(offset);
+            }
+        }
+        throw new ElementNotFoundException(COLLECTION);
+    }
+
+    /**
+     * Returns the height of this tree, or -1 if the tree is empty.
+     *
+     * @return the height of the tree
+     */
+    public int getHeight() {
+        return getStats().getHeight();
+    }
+
+    @Override
+    public int countLeafNodes() {
+        return getStats().getLeafCount();
+    }
+
+    @Override
+    public int countOneChildNodes() {
+        return getStats().getOneChildCount();
+    }
+
+    /**
+     * Returns the shape statistics of this tree. They are computed in one
+     * iterative pass, so callers that need several of them should ask for
+     * them here rather than through the individual methods.
+     *
+     * @return the statistics of this tree
+     */
+    public TreeStats getStats() {
+        checkNotThreaded();
+        return TreeStats.compute(myRoot);
     }
     
     /**
@@ -265,8 +555,8 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
      */
     public boolean contains(final T theTargetElement) {
         
-        //findNode() returns null if the element was not found
-        return findNode(theTargetElement, myRoot) != null;
+        //locate() returns null if the element was not found
+        return locate(theTargetElement) != null;
     }
 
     /**
@@ -279,7 +569,7 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
      * @throws ElementNotFoundException if the element is not in the tree
      */
     public T find(final T theTargetElement) throws ElementNotFoundException {
-        final BinaryTreeNode<T> current = findNode(theTargetElement, myRoot);
+        final BinaryTreeNode<T> current = locate(theTargetElement);
 
         if (current == null) {
             throw new ElementNotFoundException(COLLECTION);
@@ -288,27 +578,184 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
     }
 
     /**
-     * Returns a reference to the specified target element if it is found in
-     * this binary tree.
+     * Turns the element index on or off. While it is on, find() and contains()
+     * look elements up in a hash map from element to node instead of
+     * searching the tree, which takes constant expected time. The map is
+     * built in one pass on the first lookup and rebuilt on the first lookup
+     * after any structural change made through this tree. It costs one hash
+     * map entry per distinct element, roughly 40 to 50 bytes per node on a
+     * 64-bit JVM. Turning the index off releases the map.
+     *
+     * @param theIndexed true to use the element index
+     */
+    public void setIndexed(final boolean theIndexed) {
+        myIndexed = theIndexed;
+        myIndex = null;
+    }
+
+    /**
+     * Returns true if find() and contains() use the element index.
+     *
+     * @return true if the element index is on
+     */
+    public boolean isIndexed() {
+        return myIndexed;
+    }
+
+    /**
+     * Returns the node that find() and contains() should use for the given
+     * element, or null if there is none. Uses the element index when it is on
+     * and falls back to a search of the tree otherwise. The search is timed
+     * and its nodes counted only while TreeMetrics or the structures.Search
+     * JFR event is on.
+     *
+     * @param theTargetElement the element being sought in this tree
+     * @return the node holding the element, or null
+     */
+    protected BinaryTreeNode<T> locate(final T theTargetElement) {
+        checkNotThreaded();
+        final SearchEvent event = new SearchEvent();
+        if (!event.isEnabled() && !TreeMetrics.enabled()) {
+            return lookup(theTargetElement, null);
+        }
+        final int[] visits = new int[1];
+        final long start = System.nanoTime();
+        event.begin();
+        final BinaryTreeNode<T> result = lookup(theTargetElement, visits);
+        TreeMetrics.recordSearch(visits[0], result != null, System.nanoTime() - start);
+        if (event.shouldCommit()) {
+            event.myCollection = COLLECTION;
+            event.mySize = -1;
+            event.myVisited = visits[0];
+            event.myFound = result != null;
+            event.myIndexed = myIndexed;
+            event.commit();
+        }
+        return result;
+    }
+
+    /**
+     * Looks the element up in the index, if it is on, or searches the tree.
      *
      * @param theTargetElement the element being sought in this tree
-     * @param theNext the node to search in
-     * @return a reference to the specified element.
+     * @param theVisits counts the nodes looked at, or null not to count
+     * @return the node holding the element, or null
+     */
+    private BinaryTreeNode<T> lookup(final T theTargetElement, final int[] theVisits) {
+        if (!myIndexed) {
+            return findNode(theTargetElement, theVisits);
+        }
+        if (!myShared) {
+            ensureIndex();
+        }
+        final HashMap<T, BinaryTreeNode<T>> index = myIndex;
+        //a reader of a shared tree only uses an index that is up to date
+        if (index == null || myIndexModCount != myModCount) {
+            return findNode(theTargetElement, theVisits);
+        }
+        if (theVisits != null) {
+            theVisits[0] = 1;
+        }
+        return index.get(theTargetElement);
+    }
+
+    /**
+     * Marks this tree as read by other threads without a lock, as a
+     * ConcurrentBinaryTree does. From then on searches never build or change
+     * the element index, and fall back to searching the tree while it is out
+     * of date; only ensureIndex(), called under the write lock, builds it.
+     * Morris traversals use traverse(), so no node is ever threaded.
      */
-    private BinaryTreeNode<T> findNode(final T theTargetElement,
-                                       final BinaryTreeNode<T> theNext) {
-        if (theNext == null) {
-            return null;
+    void share() {
+        myShared = true;
+    }
+
+    /**
+     * Builds the element index if it is on and out of date. Nothing is timed
+     * or counted, so a lock holder can call this before letting readers in.
+     */
+    void ensureIndex() {
+        if (myIndexed && (myIndex == null || myIndexModCount != myModCount)) {
+            buildIndex();
         }
-        if (theNext.getElement().equals(theTargetElement)) {
-            return theNext;
+    }
+
+    /**
+     * Builds the element index with a preorder walk, so that for repeated
+     * elements the index holds the same node a search of the tree would find.
+     * The map is stamped with the modification count read before the walk,
+     * so a change made during the walk leaves it out of date.
+     */
+    private void buildIndex() {
+        final int modCount = myModCount;
+        myIndex = firstNodes(myRoot);
+        myIndexModCount = modCount;
+    }
+
+    /**
+     * Maps each element of the subtree rooted at the given node to the first
+     * node that holds it in preorder.
+     *
+     * @param theNode the root of the subtree, or null
+     * @param <T> the generic data type
+     * @return the map from elements to nodes
+     */
+    private static <T> HashMap<T, BinaryTreeNode<T>> firstNodes(
+                    final BinaryTreeNode<T> theNode) {
+        final int capacity = (int) (BinaryTreeNode.sizeOf(theNode) / 0.75f) + 1;
+        final HashMap<T, BinaryTreeNode<T>> result = new HashMap<>(capacity);
+        final ArrayUnorderedList<BinaryTreeNode<T>> stack =
+                        new ArrayUnorderedList<>(STACK_CAPACITY);
+
+        if (theNode != null) {
+            stack.addToRear(theNode);
         }
-        BinaryTreeNode<T> temp = findNode(theTargetElement, theNext.getLeft());
+        while (!stack.isEmpty()) {
+            final BinaryTreeNode<T> current = stack.removeLast();
+            result.putIfAbsent(current.getElement(), current);
+            if (current.getRight() != null) {
+                stack.addToRear(current.getRight());
+            }
+            if (current.getLeft() != null) {
+                stack.addToRear(current.getLeft());
+            }
+        }
+        return result;
+    }
 
-        if (temp == null) {
-            temp = findNode(theTargetElement, theNext.getRight());
+    /**
+     * Returns the first node in preorder that holds the specified element.
+     * The search uses an explicit stack, so deep trees do not overflow the
+     * call stack.
+     *
+     * @param theTargetElement the element being sought in this tree
+     * @param theVisits counts the nodes looked at, or null not to count
+     * @return the node holding the element, or null
+     */
+    private BinaryTreeNode<T> findNode(final T theTargetElement, final int[] theVisits) {
+        final ArrayUnorderedList<BinaryTreeNode<T>> stack =
+                        new ArrayUnorderedList<>(STACK_CAPACITY);
+
+        if (myRoot != null) {
+            stack.addToRear(myRoot);
+        }
+        while (!stack.isEmpty()) {
+            final BinaryTreeNode<T> current = stack.removeLast();
+            if (theVisits != null) {
+                theVisits[0]++;
+            }
+            if (current.getElement().equals(theTargetElement)) {
+                return current;
+            }
+            //right first, so the left subtree is searched first
+            if (current.getRight() != null) {
+                stack.addToRear(current.getRight());
+            }
+            if (current.getLeft() != null) {
+                stack.addToRear(current.getLeft());
+            }
         }
-        return temp;
+        return null;
     }
 
     /**
@@ -319,21 +766,46 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
      */
     public String toString() {
         final StringBuilder sb = new StringBuilder();
-        final ArrayUnorderedList<T> tempList = new ArrayUnorderedList<>();
-        inOrder(myRoot, tempList);
-        
-        final Iterator<T> itr = tempList.iterator();
-        sb.append('[');
-        while (itr.hasNext()) {
-            sb.append(itr.next());
-            
-            if (itr.hasNext()) { //don't print a space after the last element.
-                sb.append(' ');
-            }
+        try {
+            writeTo(sb, ExportFormat.TEXT);
+        } catch (final IOException e) {
+            //a StringBuilder does not throw
+            throw new UncheckedIOException(e);
         }
-        sb.append(']');
         return sb.toString();
-        
+    }
+
+    /**
+     * Writes this tree to the output in the given format as the tree is
+     * walked, without building the whole text first. The walk does not
+     * recurse and keeps only a stack of nodes as deep as the tree, so the
+     * time is linear and the memory does not depend on the size of the tree.
+     * The output is not flushed or closed. The TEXT format is the text of
+     * toString().
+     *
+     * @param theOut where the output goes
+     * @param theFormat the format
+     * @throws IOException if the output cannot be written
+     */
+    public void writeTo(final Appendable theOut, final ExportFormat theFormat)
+                    throws IOException {
+        checkNotThreaded();
+        Exporter.writeTree(myRoot, theFormat, theOut, getClass().getSimpleName());
+    }
+
+    /**
+     * Writes this tree to the channel in the given format, encoded as UTF-8,
+     * through buffers of fixed size. The channel is not closed.
+     *
+     * @param theChannel where the output goes
+     * @param theFormat the format
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeTo(final WritableByteChannel theChannel, final ExportFormat theFormat)
+                    throws IOException {
+        final ChannelAppendable out = new ChannelAppendable(theChannel);
+        writeTo(out, theFormat);
+        out.finish();
     }
 
     /**
@@ -347,15 +819,369 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
     }
 
     /**
-     * Performs an inorder traversal on this binary tree by calling an
-     * overloaded, recursive inorder method that starts with the root.
+     * Returns a spliterator over the elements in this tree in inorder. It
+     * splits along subtree boundaries and reports exact sizes, taken from the
+     * subtree sizes kept by the nodes.
+     *
+     * @return an in order spliterator over this binary tree
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        checkNotThreaded();
+        return new TreeSpliterator(myRoot);
+    }
+
+    /**
+     * Returns a sequential stream over the elements in this tree in inorder.
+     *
+     * @return a sequential stream over this binary tree
+     */
+    public Stream<T> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * Returns a parallel stream over the elements in this tree in inorder.
+     *
+     * @return a parallel stream over this binary tree
+     */
+    public Stream<T> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    /**
+     * Calls the visitor with each element of this tree in the given order,
+     * stopping as soon as it returns false. The walk allocates nothing for
+     * the first levels of the tree: inorder, preorder and postorder recurse,
+     * and only subtrees deeper than a fixed depth, which occur in degenerate
+     * trees, are walked with a node stack instead. Levelorder uses one queue.
+     * The walk is timed and counted only while TreeMetrics or the
+     * structures.Traversal JFR event is on.
+     *
+     * @param theOrder the traversal order
+     * @param theVisitor the visitor, which must not change the tree
+     * @return true if every element was visited, false if the visitor
+     *         stopped the walk
+     * @throws ConcurrentModificationException if the visitor changes the
+     *             tree
+     */
+    public boolean traverse(final TraversalOrder theOrder,
+                            final Visitor<? super T> theVisitor) {
+        checkNotThreaded();
+        final TraversalEvent event = new TraversalEvent();
+        if (!event.isEnabled() && !TreeMetrics.enabled()) {
+            return walkRoot(theOrder, theVisitor);
+        }
+        final int[] visits = new int[1];
+        final long start = System.nanoTime();
+        event.begin();
+        final boolean result = walkRoot(theOrder, element -> {
+            visits[0]++;
+            return theVisitor.visit(element);
+        });
+        recordTraversal(event, theOrder, visits[0], start);
+        return result;
+    }
+
+    /**
+     * Walks the whole tree in the given order.
+     *
+     * @param theOrder the traversal order
+     * @param theVisitor the visitor
+     * @return false if the visitor stopped the walk
+     */
+    private boolean walkRoot(final TraversalOrder theOrder,
+                             final Visitor<? super T> theVisitor) {
+        final boolean result;
+        if (theOrder == TraversalOrder.LEVEL_ORDER) {
+            result = walkLevels(theVisitor, myModCount);
+        } else {
+            result = walk(myRoot, theOrder, theVisitor, myModCount, 0);
+        }
+        return result;
+    }
+
+    /**
+     * Counts a finished traversal in TreeMetrics and commits its JFR event.
+     *
+     * @param theEvent the event, begun when the traversal started
+     * @param theOrder the traversal order
+     * @param theVisited the number of elements visited
+     * @param theStart the value of System.nanoTime() when it started
+     */
+    private void recordTraversal(final TraversalEvent theEvent, final TraversalOrder theOrder,
+                                 final int theVisited, final long theStart) {
+        TreeMetrics.recordTraversal(theVisited, System.nanoTime() - theStart);
+        if (theEvent.shouldCommit()) {
+            theEvent.myCollection = COLLECTION;
+            theEvent.myOrder = theOrder.name();
+            theEvent.myVisited = theVisited;
+            theEvent.commit();
+        }
+    }
+
+    /**
+     * Performs the action on each element of this tree in inorder, without
+     * an iterator.
+     *
+     * @param theAction the action, which must not change the tree
+     * @throws ConcurrentModificationException if the action changes the tree
+     */
+    @Override
+    public void forEach(final Consumer<? super T> theAction) {
+        traverse(TraversalOrder.IN_ORDER, element -> {
+            theAction.accept(element);
+            return true;
+        });
+    }
+
+    /**
+     * Walks the subtree rooted at the given node in inorder, preorder or
+     * postorder, recursing until the given depth reaches the limit.
+     *
+     * @param theNode the root of the subtree
+     * @param theOrder the traversal order
+     * @param theVisitor the visitor
+     * @param theModCount the modification count when the walk began
+     * @param theDepth the depth of the node
+     * @return false if the visitor stopped the walk
+     */
+    private boolean walk(final BinaryTreeNode<T> theNode, final TraversalOrder theOrder,
+                         final Visitor<? super T> theVisitor, final int theModCount,
+                         final int theDepth) {
+        if (theNode == null) {
+            return true;
+        }
+        if (theDepth == MAX_RECURSION) {
+            return walkWithStack(theNode, theOrder, theVisitor, theModCount);
+        }
+        final BinaryTreeNode<T> left = theNode.getLeft();
+        final BinaryTreeNode<T> right = theNode.getRight();
+        final int depth = theDepth + 1;
+        final boolean result;
+        switch (theOrder) {
+            case PRE_ORDER:
+                result = visit(theNode.getElement(), theVisitor, theModCount)
+                         && walk(left, theOrder, theVisitor, theModCount, depth)
+                         && walk(right, theOrder, theVisitor, theModCount, depth);
+                break;
+            case IN_ORDER:
+                result = walk(left, theOrder, theVisitor, theModCount, depth)
+                         && visit(theNode.getElement(), theVisitor, theModCount)
+                         && walk(right, theOrder, theVisitor, theModCount, depth);
+                break;
+            default:
+                result = walk(left, theOrder, theVisitor, theModCount, depth)
+                         && walk(right, theOrder, theVisitor, theModCount, depth)
+                         && visit(theNode.getElement(), theVisitor, theModCount);
+                break;
+        }
+        return result;
+    }
+
+    /**
+     * Walks a deep subtree with one of the lazy iterators, whose node stack
+     * takes the place of the call stack.
+     *
+     * @param theNode the root of the subtree
+     * @param theOrder the traversal order, not levelorder
+     * @param theVisitor the visitor
+     * @param theModCount the modification count when the walk began
+     * @return false if the visitor stopped the walk
+     */
+    private boolean walkWithStack(final BinaryTreeNode<T> theNode,
+                                  final TraversalOrder theOrder,
+                                  final Visitor<? super T> theVisitor,
+                                  final int theModCount) {
+        final Iterator<T> itr;
+        if (theOrder == TraversalOrder.PRE_ORDER) {
+            itr = new PreOrderIterator(theNode);
+        } else if (theOrder == TraversalOrder.IN_ORDER) {
+            itr = new InOrderIterator(theNode);
+        } else {
+            itr = new PostOrderIterator(theNode);
+        }
+        while (itr.hasNext()) {
+            if (!visit(itr.next(), theVisitor, theModCount)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Walks this tree in levelorder with a queue of nodes.
+     *
+     * @param theVisitor the visitor
+     * @param theModCount the modification count when the walk began
+     * @return false if the visitor stopped the walk
+     */
+    private boolean walkLevels(final Visitor<? super T> theVisitor, final int theModCount) {
+        final ArrayUnorderedList<BinaryTreeNode<T>> queue =
+                        new ArrayUnorderedList<>(STACK_CAPACITY);
+        if (myRoot != null) {
+            queue.addToRear(myRoot);
+        }
+        while (!queue.isEmpty()) {
+            final BinaryTreeNode<T> current = queue.removeFirst();
+            if (!visit(current.getElement(), theVisitor, theModCount)) {
+                return false;
+            }
+            if (current.getLeft() != null) {
+                queue.addToRear(current.getLeft());
+            }
+            if (current.getRight() != null) {
+                queue.addToRear(current.getRight());
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calls the visitor with one element and checks that it left the tree
+     * alone.
+     *
+     * @param theElement the element
+     * @param theVisitor the visitor
+     * @param theModCount the modification count when the walk began
+     * @return false if the visitor stopped the walk
+     * @throws ConcurrentModificationException if the visitor changed the tree
+     */
+    private boolean visit(final T theElement, final Visitor<? super T> theVisitor,
+                          final int theModCount) {
+        final boolean result = theVisitor.visit(theElement);
+        if (myModCount != theModCount) {
+            throw new ConcurrentModificationException();
+        }
+        return result;
+    }
+
+    /**
+     * Visits the elements of this tree in inorder with a Morris traversal.
+     * See morris() for how it works and what it costs.
+     *
+     * @param theAction the action to perform on each element
+     * @throws IllegalStateException if a Morris traversal of this tree is
+     *             already running
+     */
+    public void morrisInOrder(final Consumer<? super T> theAction) {
+        morris(theAction, false);
+    }
+
+    /**
+     * Visits the elements of this tree in preorder with a Morris traversal.
+     * See morris() for how it works and what it costs.
+     *
+     * @param theAction the action to perform on each element
+     * @throws IllegalStateException if a Morris traversal of this tree is
+     *             already running
+     */
+    public void morrisPreOrder(final Consumer<? super T> theAction) {
+        morris(theAction, true);
+    }
+
+    /**
+     * Walks the tree without a stack and without recursion, so it needs
+     * constant extra space on any shape. Before it walks the left subtree of
+     * a node it points the empty right link of the last node of that subtree
+     * back at the node, and on coming back along that link it empties it
+     * again, so the tree is exactly as before when the walk ends. Each link
+     * is followed at most three times, so the walk takes linear time.
+     *
+     * While the walk runs, the other traversals and searches of this tree
+     * throw IllegalStateException instead of following the borrowed links.
+     * If the action throws, the walk goes on without calling it, to put
+     * every link back, and then passes the exception on.
+     *
+     * The borrowed links belong to the nodes, so the walk only threads the
+     * nodes of a tree that owns them. The subtrees returned by getLeft() and
+     * getRight() see the threads, and must not be walked until the walk ends.
+     * Trees that are not editable, search trees and those subtrees, do not
+     * own their nodes, so they are never threaded: they are walked by
+     * traverse() instead, and the action must not change them.
+     *
+     * @param theAction the action to perform on each element
+     * @param thePreOrder true to visit in preorder, false for inorder
+     */
+    private void morris(final Consumer<? super T> theAction, final boolean thePreOrder) {
+        if (!isEditable() || myShared) {
+            traverse(thePreOrder ? TraversalOrder.PRE_ORDER : TraversalOrder.IN_ORDER,
+                     element -> {
+                         theAction.accept(element);
+                         return true;
+                     });
+            return;
+        }
+        checkNotThreaded();
+        myThreaded = true;
+        Throwable failure = null;
+        try {
+            BinaryTreeNode<T> current = myRoot;
+            while (current != null) {
+                boolean visit = false;
+                BinaryTreeNode<T> next;
+                if (current.myLeft == null) {
+                    visit = true;
+                    next = current.myRight;
+                } else {
+                    BinaryTreeNode<T> last = current.myLeft;
+                    while (last.myRight != null && last.myRight != current) {
+                        last = last.myRight;
+                    }
+                    if (last.myRight == null) {
+                        //first arrival: thread back and walk the left subtree
+                        last.myRight = current;
+                        visit = thePreOrder;
+                        next = current.myLeft;
+                    } else {
+                        //back from the left subtree: remove the thread
+                        last.myRight = null;
+                        visit = !thePreOrder;
+                        next = current.myRight;
+                    }
+                }
+                if (visit && failure == null) {
+                    try {
+                        theAction.accept(current.getElement());
+                    } catch (final RuntimeException | Error e) {
+                        failure = e;
+                    }
+                }
+                current = next;
+            }
+        } finally {
+            myThreaded = false;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw (RuntimeException) failure;
+        }
+    }
+
+    /**
+     * Throws an exception if a Morris traversal of this tree is running, so
+     * that no walk of the tree follows a borrowed right link.
+     *
+     * @throws IllegalStateException if a Morris traversal is running
+     */
+    protected void checkNotThreaded() {
+        if (myThreaded) {
+            throw new IllegalStateException(COLLECTION + " is in a Morris traversal");
+        }
+    }
+
+    /**
+     * Performs a lazy inorder traversal on this binary tree. Nodes are visited
+     * on demand using an explicit stack that never holds more than the height
+     * of the tree.
      *
      * @return an in order iterator over this binary tree
      */
     public Iterator<T> iteratorInOrder() {
-        final ArrayUnorderedList<T> tempList = new ArrayUnorderedList<T>();
-        inOrder(myRoot, tempList);
-        return new TreeIterator(tempList.iterator());
+        checkNotThreaded();
+        return new TreeIterator(new InOrderIterator(myRoot));
     }
 
     /**
@@ -374,16 +1200,14 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
     }
 
     /**
-     * Performs an preorder traversal on this binary tree by calling an
-     * overloaded, recursive preorder method that starts with the root.
+     * Performs a lazy preorder traversal on this binary tree. Nodes are
+     * visited on demand using an explicit stack.
      *
      * @return a pre order iterator over this tree
      */
     public Iterator<T> iteratorPreOrder() {
-        final ArrayUnorderedList<T> tempList = new ArrayUnorderedList<T>();
-        preOrder(myRoot, tempList);
-
-        return new TreeIterator(tempList.iterator());
+        checkNotThreaded();
+        return new TreeIterator(new PreOrderIterator(myRoot));
     }
 
     /**
@@ -402,16 +1226,14 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
     }
 
     /**
-     * Performs an postorder traversal on this binary tree by calling an
-     * overloaded, recursive postorder method that starts with the root.
+     * Performs a lazy postorder traversal on this binary tree. Nodes are
+     * visited on demand using an explicit stack.
      *
      * @return a post order iterator over this tree
      */
     public Iterator<T> iteratorPostOrder() {
-        final ArrayUnorderedList<T> tempList = new ArrayUnorderedList<T>();
-        postOrder(myRoot, tempList);
-
-        return new TreeIterator(tempList.iterator());
+        checkNotThreaded();
+        return new TreeIterator(new PostOrderIterator(myRoot));
     }
 
     /**
@@ -431,10 +1253,16 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
 
     /**
      * Performs a levelorder traversal on this binary tree, using a templist.
+     * Filling the templist is recorded as a traversal like traverse().
      *
      * @return a levelorder iterator over this binary tree
      */
     public Iterator<T> iteratorLevelOrder() {
+        checkNotThreaded();
+        final TraversalEvent event = new TraversalEvent();
+        final boolean instrumented = event.isEnabled() || TreeMetrics.enabled();
+        final long start = instrumented ? System.nanoTime() : 0L;
+        event.begin();
         final ArrayUnorderedList<BinaryTreeNode<T>> nodes =
                         new ArrayUnorderedList<BinaryTreeNode<T>>();
         final ArrayUnorderedList<T> tempList = new ArrayUnorderedList<T>();
@@ -458,14 +1286,311 @@ public class LinkedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
             }
         }
 
+        if (instrumented) {
+            //every node is visited; the null of an empty tree is not a node
+            recordTraversal(event, TraversalOrder.LEVEL_ORDER,
+                            BinaryTreeNode.sizeOf(myRoot), start);
+        }
         return new TreeIterator(tempList.iterator());
     }
 
 
+    /**
+     * Lazy inorder iterator. The stack holds the nodes on the path whose
+     * element has not been returned yet.
+     */
+    private class InOrderIterator implements Iterator<T> {
+        /** The nodes waiting to be visited. */
+        private final ArrayUnorderedList<BinaryTreeNode<T>> myStack;
+
+        /**
+         * Sets up this iterator to walk the subtree rooted at the given node.
+         *
+         * @param theRoot the root of the subtree to traverse
+         */
+        InOrderIterator(final BinaryTreeNode<T> theRoot) {
+            myStack = new ArrayUnorderedList<>(STACK_CAPACITY);
+            pushLeftPath(theRoot);
+        }
+
+        /**
+         * Pushes the given node and all of its left descendants.
+         *
+         * @param theNode the node from which to start
+         */
+        private void pushLeftPath(final BinaryTreeNode<T> theNode) {
+            BinaryTreeNode<T> current = theNode;
+            while (current != null) {
+                myStack.addToRear(current);
+                current = current.getLeft();
+            }
+        }
+
+        /**
+         * Returns true if there are more elements in this traversal.
+         *
+         * @return true if there are more elements in this traversal
+         */
+        public boolean hasNext() {
+            return !myStack.isEmpty();
+        }
+
+        /**
+         * Returns the next element in this traversal.
+         *
+         * @return the next element in this traversal
+         * @throws NoSuchElementException if the traversal is finished
+         */
+        public T next() {
+            if (myStack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            final BinaryTreeNode<T> current = myStack.removeLast();
+            pushLeftPath(current.getRight());
+            return current.getElement();
+        }
+    }
+
+    /**
+     * Lazy preorder iterator. The stack holds the roots of the subtrees that
+     * have not been visited yet.
+     */
+    private class PreOrderIterator implements Iterator<T> {
+        /** The subtrees waiting to be visited. */
+        private final ArrayUnorderedList<BinaryTreeNode<T>> myStack;
+
+        /**
+         * Sets up this iterator to walk the subtree rooted at the given node.
+         *
+         * @param theRoot the root of the subtree to traverse
+         */
+        PreOrderIterator(final BinaryTreeNode<T> theRoot) {
+            myStack = new ArrayUnorderedList<>(STACK_CAPACITY);
+            if (theRoot != null) {
+                myStack.addToRear(theRoot);
+            }
+        }
+
+        /**
+         * Returns true if there are more elements in this traversal.
+         *
+         * @return true if there are more elements in this traversal
+         */
+        public boolean hasNext() {
+            return !myStack.isEmpty();
+        }
+
+        /**
+         * Returns the next element in this traversal.
+         *
+         * @return the next element in this traversal
+         * @throws NoSuchElementException if the traversal is finished
+         */
+        public T next() {
+            if (myStack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            final BinaryTreeNode<T> current = myStack.removeLast();
+            //push the right child first so that the left one is visited first
+            if (current.getRight() != null) {
+                myStack.addToRear(current.getRight());
+            }
+            if (current.getLeft() != null) {
+                myStack.addToRear(current.getLeft());
+            }
+            return current.getElement();
+        }
+    }
+
+    /**
+     * Lazy postorder iterator. The stack holds the path down to the next node
+     * to visit. A right subtree that still has to be walked is kept on the
+     * stack below a null marker until its left sibling has been finished.
+     */
+    private class PostOrderIterator implements Iterator<T> {
+        /** The path to the next node and the pending right subtrees. */
+        private final ArrayUnorderedList<BinaryTreeNode<T>> myStack;
+
+        /**
+         * Sets up this iterator to walk the subtree rooted at the given node.
+         *
+         * @param theRoot the root of the subtree to traverse
+         */
+        PostOrderIterator(final BinaryTreeNode<T> theRoot) {
+            myStack = new ArrayUnorderedList<>(STACK_CAPACITY);
+            descend(theRoot);
+        }
+
+        /**
+         * Pushes the path from the given node down to the first node of its
+         * subtree in postorder.
+         *
+         * @param theNode the node from which to start
+         */
+        private void descend(final BinaryTreeNode<T> theNode) {
+            BinaryTreeNode<T> current = theNode;
+            while (current != null) {
+                myStack.addToRear(current);
+                if (current.getLeft() == null) {
+                    current = current.getRight();
+                } else {
+                    if (current.getRight() != null) {
+                        //remember the right subtree until the left one is done
+                        myStack.addToRear(current.getRight());
+                        myStack.addToRear(null);
+                    }
+                    current = current.getLeft();
+                }
+            }
+        }
+
+        /**
+         * Returns true if there are more elements in this traversal.
+         *
+         * @return true if there are more elements in this traversal
+         */
+        public boolean hasNext() {
+            return !myStack.isEmpty();
+        }
+
+        /**
+         * Returns the next element in this traversal.
+         *
+         * @return the next element in this traversal
+         * @throws NoSuchElementException if the traversal is finished
+         */
+        public T next() {
+            if (myStack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            final BinaryTreeNode<T> current = myStack.removeLast();
+            if (!myStack.isEmpty() && myStack.last() == null) {
+                //the left subtree is done, start on the pending right one
+                myStack.removeLast();
+                descend(myStack.removeLast());
+            }
+            return current.getElement();
+        }
+    }
+
+    /**
+     * Inorder spliterator. The nodes waiting to be visited are kept in a deque
+     * in the order they will be visited; each one stands for its element
+     * followed by its right subtree. Splitting hands the front of the deque,
+     * or the left part of a single remaining subtree, to a new spliterator.
+     */
+    private class TreeSpliterator implements Spliterator<T> {
+        /** The nodes waiting to be visited, the next one at the front. */
+        private final ArrayUnorderedList<BinaryTreeNode<T>> myNodes;
+
+        /** True if the right subtree of the front node is not covered. */
+        private boolean myFrontOnly;
+
+        /** The number of elements left to visit. */
+        private int myRemaining;
+
+        /** The modification count of the tree when this was created. */
+        private final int myExpectedModCount;
+
+        /**
+         * Sets up this spliterator to cover the subtree rooted at the node.
+         *
+         * @param theRoot the root of the subtree to cover
+         */
+        TreeSpliterator(final BinaryTreeNode<T> theRoot) {
+            this(myModCount);
+            pushLeftPath(theRoot);
+            myRemaining = BinaryTreeNode.sizeOf(theRoot);
+        }
+
+        /**
+         * Sets up an empty spliterator to be filled by trySplit().
+         *
+         * @param theExpectedModCount the modification count to check against
+         */
+        private TreeSpliterator(final int theExpectedModCount) {
+            myNodes = new ArrayUnorderedList<>(STACK_CAPACITY);
+            myExpectedModCount = theExpectedModCount;
+        }
+
+        /**
+         * Adds the given node and all of its left descendants to the front of
+         * the deque, so that the leftmost one is visited first.
+         *
+         * @param theNode the node from which to start
+         */
+        private void pushLeftPath(final BinaryTreeNode<T> theNode) {
+            BinaryTreeNode<T> current = theNode;
+            while (current != null) {
+                myNodes.addToFront(current);
+                current = current.getLeft();
+            }
+        }
+
+        @Override
+        public boolean tryAdvance(final Consumer<? super T> theAction) {
+            if (myModCount != myExpectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            if (myNodes.isEmpty()) {
+                return false;
+            }
+            final BinaryTreeNode<T> current = myNodes.removeFirst();
+            if (myFrontOnly) {
+                myFrontOnly = false;
+            } else {
+                pushLeftPath(current.getRight());
+            }
+            myRemaining--;
+            theAction.accept(current.getElement());
+            return true;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            final TreeSpliterator prefix = new TreeSpliterator(myExpectedModCount);
+
+            if (myNodes.size() > 1) {
+                //give away every node but the last, which covers the most
+                while (myNodes.size() > 1) {
+                    prefix.myNodes.addToRear(myNodes.removeFirst());
+                }
+                prefix.myFrontOnly = myFrontOnly;
+                myFrontOnly = false;
+            } else if (myNodes.size() == 1 && !myFrontOnly
+                       && myNodes.first().getRight() != null) {
+                //split the only node into its element plus the left part of
+                //its right subtree, and the rest of that subtree
+                final BinaryTreeNode<T> current = myNodes.removeFirst();
+                final BinaryTreeNode<T> right = current.getRight();
+                prefix.pushLeftPath(right.getLeft());
+                prefix.myNodes.addToFront(current);
+                prefix.myFrontOnly = true;
+                myNodes.addToRear(right);
+            } else {
+                return null;
+            }
+            final int kept = 1 + BinaryTreeNode.sizeOf(myNodes.first().getRight());
+            prefix.myRemaining = myRemaining - kept;
+            myRemaining = kept;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return myRemaining;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED;
+        }
+    }
+
     /**
      * Inner class to represent an iterator over the elements of this tree.
      */
-    private class TreeIterator implements Iterator<T> {
+    protected class TreeIterator implements Iterator<T> {
         /** The expected number of nodes. */
         private final int myExpectedModCount;
 
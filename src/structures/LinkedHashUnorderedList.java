@@ -0,0 +1,470 @@
+package structures;
+
+import exceptions.ElementNotFoundException;
+import exceptions.EmptyCollectionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * LinkedHashUnorderedList is an unordered list that finds its elements by
+ * hashing. The elements are kept in a doubly linked list in the order the
+ * user gives, and a hash map takes each distinct element to the first node
+ * holding it. Nodes holding equal elements are also linked to each other, in
+ * list order, so that when the first is removed the next is at hand.
+ * Therefore contains(), remove() and finding the target of addAfter() take
+ * constant expected time instead of a scan, and so do all the operations at
+ * either end.
+ *
+ * The one exception is addAfter() of an element the list already holds
+ * somewhere else: the new node must find its place among its equals, which
+ * takes time proportional to the distance to the nearest equal element or
+ * end of the list. Elements must not change their hashCode() or equals()
+ * while in the list. Each element costs a node of five references, and each
+ * distinct element a hash map entry, roughly 80 bytes in all on a 64-bit JVM
+ * against 4 to 8 for an ArrayUnorderedList.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ * @param <T> the generic data type
+ */
+public class LinkedHashUnorderedList<T> implements UnorderedListADT<T> {
+    /** LinkedHashUnorderedList string. */
+    public static final String COLLECTION = "LinkedHashUnorderedList";
+
+    /** The node before the first and after the last; holds no element. */
+    private final Node<T> mySentinel;
+
+    /** Takes each distinct element to the first node holding it. */
+    private final HashMap<T, Node<T>> myIndex;
+
+    /** The number of elements in the list. */
+    private int myCount;
+
+    /** Counts the number of times the list has been modified. */
+    private int myModCount;
+
+    /**
+     * Creates an empty list.
+     */
+    public LinkedHashUnorderedList() {
+        mySentinel = new Node<T>(null);
+        mySentinel.myNext = mySentinel;
+        mySentinel.myPrevious = mySentinel;
+        myIndex = new HashMap<>();
+    }
+
+    /**
+     * Adds the specified element to the front of this list.
+     *
+     * @param theElement the element to be added to the front of the list
+     */
+    @Override
+    public void addToFront(final T theElement) {
+        final Node<T> node = linkAfter(mySentinel, theElement);
+        final Node<T> head = myIndex.get(theElement);
+        if (head == null) {
+            startChain(node);
+        } else {
+            linkFirstEqual(node, head);
+        }
+    }
+
+    /**
+     * Adds the specified element to the rear of this list.
+     *
+     * @param theElement the element to be added to the rear of the list
+     */
+    @Override
+    public void addToRear(final T theElement) {
+        final Node<T> node = linkAfter(mySentinel.myPrevious, theElement);
+        final Node<T> head = myIndex.get(theElement);
+        if (head == null) {
+            startChain(node);
+        } else {
+            linkEqualAfter(node, head.myPreviousEqual, head);
+        }
+    }
+
+    /**
+     * Adds the specified element after the first occurrence of the target
+     * element. Throws an ElementNotFoundException if the target is not found.
+     *
+     * @param theElement the element to be added after the target element
+     * @param theTarget the target that the element is to be added after
+     * @throws ElementNotFoundException if the target is not in the list
+     */
+    @Override
+    public void addAfter(final T theElement, final T theTarget) {
+        final Node<T> target = myIndex.get(theTarget);
+        if (target == null) {
+            throw new ElementNotFoundException(COLLECTION);
+        }
+        final Node<T> node = linkAfter(target, theElement);
+        final Node<T> head = myIndex.get(theElement);
+        if (head == null) {
+            startChain(node);
+            return;
+        }
+        //look both ways for the nearest equal node or end of the list
+        Node<T> back = node.myPrevious;
+        Node<T> ahead = node.myNext;
+        while (true) {
+            if (back == mySentinel) {
+                linkFirstEqual(node, head);
+                return;
+            }
+            if (Objects.equals(back.myElement, theElement)) {
+                linkEqualAfter(node, back, head);
+                return;
+            }
+            if (ahead == mySentinel) {
+                linkEqualAfter(node, head.myPreviousEqual, head);
+                return;
+            }
+            if (Objects.equals(ahead.myElement, theElement)) {
+                if (ahead == head) {
+                    linkFirstEqual(node, head);
+                } else {
+                    linkEqualAfter(node, ahead.myPreviousEqual, head);
+                }
+                return;
+            }
+            back = back.myPrevious;
+            ahead = ahead.myNext;
+        }
+    }
+
+    /**
+     * Removes and returns the first element in this list.
+     *
+     * @return the first element in the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T removeFirst() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return unlink(mySentinel.myNext);
+    }
+
+    /**
+     * Removes and returns the last element in this list.
+     *
+     * @return the last element in the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T removeLast() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return unlink(mySentinel.myPrevious);
+    }
+
+    /**
+     * Removes and returns the first occurrence of the specified element.
+     *
+     * @param theElement the element to be removed and returned from the list
+     * @return the removed element
+     * @throws ElementNotFoundException if the element is not in the list
+     */
+    @Override
+    public T remove(final T theElement) {
+        final Node<T> node = myIndex.get(theElement);
+        if (node == null) {
+            throw new ElementNotFoundException(COLLECTION);
+        }
+        return unlink(node);
+    }
+
+    /**
+     * Returns a reference to the element at the front of this list.
+     *
+     * @return a reference to the first element in the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return mySentinel.myNext.myElement;
+    }
+
+    /**
+     * Returns a reference to the element at the rear of this list.
+     *
+     * @return a reference to the last element of this list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T last() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return mySentinel.myPrevious.myElement;
+    }
+
+    /**
+     * Returns true if this list contains the specified element.
+     *
+     * @param theTarget the target element
+     * @return true if the target is in the list, false otherwise
+     */
+    @Override
+    public boolean contains(final T theTarget) {
+        return myIndex.containsKey(theTarget);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return myCount == 0;
+    }
+
+    @Override
+    public int size() {
+        return myCount;
+    }
+
+    /**
+     * Returns a string representation of this list, one element per line.
+     *
+     * @return the string representation of the list
+     */
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder();
+        try {
+            writeTo(result, ExportFormat.TEXT);
+        } catch (final IOException e) {
+            //a StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Writes this list to the output in the given format, front to rear, as
+     * the elements are read. The output is not flushed or closed.
+     *
+     * @param theOut where the output goes
+     * @param theFormat the format
+     * @throws IOException if the output cannot be written
+     */
+    public void writeTo(final Appendable theOut, final ExportFormat theFormat)
+                    throws IOException {
+        Exporter.writeList(iterator(), theFormat, theOut, getClass().getSimpleName());
+    }
+
+    /**
+     * Writes this list to the channel in the given format, encoded as UTF-8,
+     * through buffers of fixed size. The channel is not closed.
+     *
+     * @param theChannel where the output goes
+     * @param theFormat the format
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeTo(final WritableByteChannel theChannel, final ExportFormat theFormat)
+                    throws IOException {
+        final ChannelAppendable out = new ChannelAppendable(theChannel);
+        writeTo(out, theFormat);
+        out.finish();
+    }
+
+    /**
+     * Returns an iterator over the elements from front to rear. It does not
+     * support remove().
+     *
+     * @return an iterator over the elements in the list
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new NodeIterator();
+    }
+
+    /**
+     * Creates a node for the element and links it into the list after the
+     * given node, but not yet into a chain of equal elements.
+     *
+     * @param theNode the node to add after, possibly the sentinel
+     * @param theElement the element
+     * @return the new node
+     */
+    private Node<T> linkAfter(final Node<T> theNode, final T theElement) {
+        final Node<T> node = new Node<T>(theElement);
+        node.myPrevious = theNode;
+        node.myNext = theNode.myNext;
+        theNode.myNext.myPrevious = node;
+        theNode.myNext = node;
+        myCount++;
+        myModCount++;
+        return node;
+    }
+
+    /**
+     * Makes the node the only one in its chain of equal elements.
+     *
+     * @param theNode a node whose element is not in the index
+     */
+    private void startChain(final Node<T> theNode) {
+        theNode.myPreviousEqual = theNode;
+        myIndex.put(theNode.myElement, theNode);
+    }
+
+    /**
+     * Makes the node the first of its chain of equal elements.
+     *
+     * @param theNode the new node
+     * @param theHead the current first node of the chain
+     */
+    private void linkFirstEqual(final Node<T> theNode, final Node<T> theHead) {
+        theNode.myNextEqual = theHead;
+        theNode.myPreviousEqual = theHead.myPreviousEqual;
+        theHead.myPreviousEqual = theNode;
+        myIndex.put(theNode.myElement, theNode);
+    }
+
+    /**
+     * Links the node into its chain of equal elements after the given one.
+     *
+     * @param theNode the new node
+     * @param theEqual the node of the chain to follow
+     * @param theHead the first node of the chain
+     */
+    private void linkEqualAfter(final Node<T> theNode, final Node<T> theEqual,
+                                final Node<T> theHead) {
+        theNode.myPreviousEqual = theEqual;
+        theNode.myNextEqual = theEqual.myNextEqual;
+        if (theEqual.myNextEqual == null) {
+            theHead.myPreviousEqual = theNode;
+        } else {
+            theEqual.myNextEqual.myPreviousEqual = theNode;
+        }
+        theEqual.myNextEqual = theNode;
+    }
+
+    /**
+     * Unlinks a node from the list and from its chain of equal elements.
+     *
+     * @param theNode the node to remove
+     * @return its element
+     */
+    private T unlink(final Node<T> theNode) {
+        theNode.myPrevious.myNext = theNode.myNext;
+        theNode.myNext.myPrevious = theNode.myPrevious;
+
+        final Node<T> head = myIndex.get(theNode.myElement);
+        final Node<T> next = theNode.myNextEqual;
+        if (theNode == head) {
+            if (next == null) {
+                myIndex.remove(theNode.myElement);
+            } else {
+                next.myPreviousEqual = theNode.myPreviousEqual;
+                myIndex.put(next.myElement, next);
+            }
+        } else {
+            theNode.myPreviousEqual.myNextEqual = next;
+            if (next == null) {
+                head.myPreviousEqual = theNode.myPreviousEqual;
+            } else {
+                next.myPreviousEqual = theNode.myPreviousEqual;
+            }
+        }
+        myCount--;
+        myModCount++;
+        return theNode.myElement;
+    }
+
+    /**
+     * A node of the list.
+     *
+     * @param <T> the generic data type
+     */
+    private static final class Node<T> {
+        /** The element of this node. */
+        private final T myElement;
+
+        /** The previous node in the list. */
+        private Node<T> myPrevious;
+
+        /** The next node in the list. */
+        private Node<T> myNext;
+
+        /**
+         * The previous node with an equal element, or, in the first node of
+         * the chain, the last node of the chain.
+         */
+        private Node<T> myPreviousEqual;
+
+        /** The next node with an equal element, or null in the last one. */
+        private Node<T> myNextEqual;
+
+        /**
+         * Creates an unlinked node.
+         *
+         * @param theElement the element of the node
+         */
+        Node(final T theElement) {
+            myElement = theElement;
+        }
+    }
+
+    /**
+     * NodeIterator iterates over the elements from front to rear.
+     */
+    private class NodeIterator implements Iterator<T> {
+        /** The modification count when the iterator was created. */
+        private final int myExpectedModCount;
+
+        /** The node whose element is returned next. */
+        private Node<T> myCurrent;
+
+        /**
+         * Starts at the front of the list.
+         */
+        NodeIterator() {
+            myExpectedModCount = myModCount;
+            myCurrent = mySentinel.myNext;
+        }
+
+        /**
+         * Returns true if there is another element.
+         *
+         * @return true if there is another element
+         * @throws ConcurrentModificationException if the list has changed
+         */
+        @Override
+        public boolean hasNext() throws ConcurrentModificationException {
+            if (myExpectedModCount != myModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return myCurrent != mySentinel;
+        }
+
+        /**
+         * Returns the next element.
+         *
+         * @return the next element
+         * @throws NoSuchElementException if there are no more elements
+         * @throws ConcurrentModificationException if the list has changed
+         */
+        @Override
+        public T next() throws ConcurrentModificationException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T result = myCurrent.myElement;
+            myCurrent = myCurrent.myNext;
+            return result;
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package structures;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * LongBinaryTreeADT defines the interface to a binary tree of unboxed long
+ * elements. It mirrors BinaryTreeADT.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public interface LongBinaryTreeADT {
+    /**
+     * Returns the root element.
+     *
+     * @return the root element
+     */
+    long getRootElement();
+
+    /**
+     * Returns true if this binary tree is empty and false otherwise.
+     *
+     * @return true if this binary tree is empty, false otherwise
+     */
+    boolean isEmpty();
+
+    /**
+     * Returns the number of elements in this binary tree.
+     *
+     * @return the number of elements in the tree
+     */
+    int size();
+
+    /**
+     * Returns the height of this binary tree, or -1 if it is empty.
+     *
+     * @return the height of the tree
+     */
+    int getHeight();
+
+    /**
+     * Returns true if the binary tree contains the specified element.
+     *
+     * @param theTargetElement the element being sought in the tree
+     * @return true if the tree contains the target element
+     */
+    boolean contains(long theTargetElement);
+
+    /**
+     * This method counts the the nodes in the tree that have
+     * two null children (leaf nodes).
+     *
+     * @return the number of nodes in the tree which have two null children.
+     */
+    int countLeafNodes();
+
+    /**
+     * This method counts the number of nodes that have one null child.
+     *
+     * @return the number of nodes that have one null child.
+     */
+    int countOneChildNodes();
+
+    /**
+     * Returns the specified element if it is found in this binary tree.
+     * Throws an exception if the specified element is not found.
+     *
+     * @param theTargetElement the element being sought in the tree
+     * @return the specified element
+     */
+    long find(long theTargetElement);
+
+    /**
+     * Returns the string representation of this binary tree.
+     *
+     * @return a string representation of the binary tree
+     */
+    String toString();
+
+    /**
+     * Returns an iterator over the elements of this tree.
+     *
+     * @return an iterator over the elements of this binary tree
+     */
+    PrimitiveIterator.OfLong iterator();
+
+    /**
+     * Returns an iterator that represents an inorder traversal on this binary
+     * tree.
+     *
+     * @return an iterator over the elements of this binary tree
+     */
+    PrimitiveIterator.OfLong iteratorInOrder();
+
+    /**
+     * Returns an iterator that represents a preorder traversal on this binary
+     * tree.
+     *
+     * @return an iterator over the elements of this binary tree
+     */
+    PrimitiveIterator.OfLong iteratorPreOrder();
+
+    /**
+     * Returns an iterator that represents a postorder traversal on this binary
+     * tree.
+     *
+     * @return an iterator over the elements of this binary tree
+     */
+    PrimitiveIterator.OfLong iteratorPostOrder();
+
+    /**
+     * Returns an iterator that represents a levelorder traversal on the binary
+     * tree.
+     *
+     * @return an iterator over the elements of this binary tree
+     */
+    PrimitiveIterator.OfLong iteratorLevelOrder();
+}
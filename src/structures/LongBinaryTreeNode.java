@@ -0,0 +1,39 @@
+package structures;
+
+/**
+ * LongBinaryTreeNode represents a node holding an unboxed long in a binary tree.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public class LongBinaryTreeNode extends PrimitiveTreeNode<LongBinaryTreeNode> {
+    /** The element. */
+    protected final long myElement;
+
+    /**
+     * Creates a new tree node with the specified data and children.
+     *
+     * @param theObj the element that will become a part of the new tree node
+     * @param theLeft the left child, may be null
+     * @param theRight the right child, may be null
+     */
+    public LongBinaryTreeNode(final long theObj, final LongBinaryTreeNode theLeft,
+                              final LongBinaryTreeNode theRight) {
+        super(theLeft, theRight);
+        myElement = theObj;
+    }
+
+    /**
+     * Return the element at this node.
+     *
+     * @return the element stored at this node
+     */
+    public long getElement() {
+        return myElement;
+    }
+
+    @Override
+    protected void appendElement(final StringBuilder theBuilder) {
+        theBuilder.append(myElement);
+    }
+}
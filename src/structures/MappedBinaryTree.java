@@ -0,0 +1,618 @@
+package structures;
+
+import exceptions.ElementNotFoundException;
+import exceptions.EmptyCollectionException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * MappedBinaryTree is a read-only binary tree served straight from a file
+ * mapped into memory. Opening a tree only checks the header, so its cost does
+ * not depend on the size of the tree; nodes are never materialized, and every
+ * operation reads the shape and elements from the mapped buffer.
+ *
+ * The file holds, in big-endian order:
+ * <ul>
+ * <li>a header of four ints: the magic number, the format version, the width
+ * of an encoded element and the number of nodes;</li>
+ * <li>the shape section: two bits per node in preorder, the low bit set when
+ * the node has a left child and the high bit set when it has a right child,
+ * four nodes to a byte starting from the low bits;</li>
+ * <li>the element section: the encoded elements in preorder, each of the
+ * fixed width of the codec.</li>
+ * </ul>
+ * Since a mapped buffer is indexed by int, files cannot exceed 2 GB.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ * @param <T> the generic data type
+ */
+public class MappedBinaryTree<T> implements BinaryTreeADT<T>, Iterable<T> {
+    /** MappedBinaryTree string. */
+    public static final String COLLECTION = "MappedBinaryTree";
+
+    /** The first int of every file, "BTRF". */
+    public static final int MAGIC = 0x42545246;
+
+    /** The format version written by this class. */
+    public static final int VERSION = 1;
+
+    /** The number of bytes in the header. */
+    private static final int HEADER_BYTES = 4 * Integer.BYTES;
+
+    /** The shape bit of a node with a left child. */
+    private static final int HAS_LEFT = 1;
+
+    /** The shape bit of a node with a right child. */
+    private static final int HAS_RIGHT = 2;
+
+    /** The number of bytes buffered by the writer between writes. */
+    private static final int CHUNK_BYTES = 1 << 16;
+
+    /** The initial capacity of the writer's node stack. */
+    private static final int STACK_CAPACITY = 16;
+
+    /** The mapped file. */
+    private final ByteBuffer myBuffer;
+
+    /** The codec of the elements. */
+    private final ElementCodec<T> myCodec;
+
+    /** The number of nodes. */
+    private final int myCount;
+
+    /** The offset of the element section. */
+    private final int myElements;
+
+    /** The node positions in levelorder, computed on first use. */
+    private int[] myLevelOrder;
+
+    /**
+     * Creates a tree over a mapped file whose header has been checked.
+     *
+     * @param theBuffer the mapped file
+     * @param theCodec the codec of the elements
+     * @param theCount the number of nodes
+     */
+    private MappedBinaryTree(final ByteBuffer theBuffer, final ElementCodec<T> theCodec,
+                             final int theCount) {
+        myBuffer = theBuffer;
+        myCodec = theCodec;
+        myCount = theCount;
+        myElements = HEADER_BYTES + shapeBytes(theCount);
+    }
+
+    /**
+     * Writes the tree to the given file in the format read by open().
+     *
+     * @param theTree the tree to write
+     * @param theCodec the codec of the elements
+     * @param thePath the file to write, replaced if it exists
+     * @param <T> the generic data type
+     * @throws IOException if the file cannot be written
+     * @throws IllegalArgumentException if the tree holds a null element or
+     *             does not fit in 2 GB
+     */
+    public static <T> void write(final LinkedBinaryTree<T> theTree,
+                                 final ElementCodec<T> theCodec,
+                                 final Path thePath) throws IOException {
+        final int count = theTree.isEmpty() ? 0 : theTree.size();
+        final int width = theCodec.width();
+        if (HEADER_BYTES + shapeBytes(count) + (long) count * width > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(COLLECTION + " too large: " + count);
+        }
+        final byte[] shape = new byte[shapeBytes(count)];
+        int position = 0;
+        for (final Iterator<BinaryTreeNode<T>> nodes = preOrderNodes(theTree);
+                        nodes.hasNext(); position++) {
+            final BinaryTreeNode<T> current = nodes.next();
+            if (current.getElement() == null) {
+                throw new IllegalArgumentException(COLLECTION + " cannot store null");
+            }
+            final int code = (current.getLeft() == null ? 0 : HAS_LEFT)
+                             | (current.getRight() == null ? 0 : HAS_RIGHT);
+            shape[position >>> 2] |= (byte) (code << ((position & 3) * 2));
+        }
+
+        try (FileChannel channel = FileChannel.open(thePath, StandardOpenOption.CREATE,
+                        StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            final ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            header.putInt(MAGIC).putInt(VERSION).putInt(width).putInt(count).flip();
+            writeFully(channel, header);
+            writeFully(channel, ByteBuffer.wrap(shape));
+
+            final ByteBuffer chunk = ByteBuffer.allocate(Math.max(CHUNK_BYTES, width));
+            for (final Iterator<BinaryTreeNode<T>> nodes = preOrderNodes(theTree);
+                            nodes.hasNext();) {
+                if (chunk.remaining() < width) {
+                    chunk.flip();
+                    writeFully(channel, chunk);
+                    chunk.clear();
+                }
+                theCodec.encode(nodes.next().getElement(), chunk, chunk.position());
+                chunk.position(chunk.position() + width);
+            }
+            chunk.flip();
+            writeFully(channel, chunk);
+        }
+    }
+
+    /**
+     * Maps the given file and returns the tree it holds. Only the header is
+     * read; the rest of the file is paged in as the tree is used.
+     *
+     * @param thePath the file written by write()
+     * @param theCodec the codec the file was written with
+     * @param <T> the generic data type
+     * @return the tree held by the file
+     * @throws IOException if the file cannot be read or is not a tree file
+     *             written with a codec of the same width
+     */
+    public static <T> MappedBinaryTree<T> open(final Path thePath,
+                                               final ElementCodec<T> theCodec)
+                    throws IOException {
+        try (FileChannel channel = FileChannel.open(thePath, StandardOpenOption.READ)) {
+            final long length = channel.size();
+            if (length < HEADER_BYTES || length > Integer.MAX_VALUE) {
+                throw new IOException("Not a tree file: " + thePath);
+            }
+            //the mapping stays valid after the channel is closed
+            final ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a tree file: " + thePath);
+            }
+            if (buffer.getInt(Integer.BYTES) != VERSION) {
+                throw new IOException("Unsupported version: " + buffer.getInt(Integer.BYTES));
+            }
+            if (buffer.getInt(2 * Integer.BYTES) != theCodec.width()) {
+                throw new IOException("Element width " + buffer.getInt(2 * Integer.BYTES)
+                                      + " does not match codec width " + theCodec.width());
+            }
+            final int count = buffer.getInt(3 * Integer.BYTES);
+            if (count < 0 || HEADER_BYTES + shapeBytes(count)
+                             + (long) count * theCodec.width() != length) {
+                throw new IOException("Truncated tree file: " + thePath);
+            }
+            return new MappedBinaryTree<>(buffer, theCodec, count);
+        }
+    }
+
+    /**
+     * Returns the number of bytes in the shape section of a tree.
+     *
+     * @param theCount the number of nodes
+     * @return the number of shape bytes
+     */
+    private static int shapeBytes(final int theCount) {
+        return (int) (((long) theCount + 3) / 4);
+    }
+
+    /**
+     * Writes all remaining bytes of the buffer to the channel.
+     *
+     * @param theChannel the channel to write to
+     * @param theBuffer the bytes to write
+     * @throws IOException if the channel cannot be written
+     */
+    private static void writeFully(final FileChannel theChannel, final ByteBuffer theBuffer)
+                    throws IOException {
+        while (theBuffer.hasRemaining()) {
+            theChannel.write(theBuffer);
+        }
+    }
+
+    /**
+     * Returns a preorder iterator over the nodes of a linked tree.
+     *
+     * @param theTree the tree to walk
+     * @param <T> the generic data type
+     * @return an iterator over the nodes in preorder
+     */
+    private static <T> Iterator<BinaryTreeNode<T>> preOrderNodes(
+                    final LinkedBinaryTree<T> theTree) {
+        final ArrayUnorderedList<BinaryTreeNode<T>> stack =
+                        new ArrayUnorderedList<>(STACK_CAPACITY);
+        if (!theTree.isEmpty()) {
+            stack.addToRear(theTree.getRootNode());
+        }
+        return new Iterator<BinaryTreeNode<T>>() {
+            @Override
+            public boolean hasNext() {
+                return !stack.isEmpty();
+            }
+
+            @Override
+            public BinaryTreeNode<T> next() {
+                final BinaryTreeNode<T> current = stack.removeLast();
+                if (current.getRight() != null) {
+                    stack.addToRear(current.getRight());
+                }
+                if (current.getLeft() != null) {
+                    stack.addToRear(current.getLeft());
+                }
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Returns the shape code of the node at the given preorder position.
+     *
+     * @param thePosition the preorder position of a node
+     * @return the shape bits of the node
+     */
+    private int shape(final int thePosition) {
+        return (myBuffer.get(HEADER_BYTES + (thePosition >>> 2))
+                        >>> ((thePosition & 3) * 2)) & (HAS_LEFT | HAS_RIGHT);
+    }
+
+    /**
+     * Returns the number of children of the node at the given position.
+     *
+     * @param thePosition the preorder position of a node
+     * @return the number of children, 0 to 2
+     */
+    private int children(final int thePosition) {
+        final int code = shape(thePosition);
+        return (code & HAS_LEFT) + (code >>> 1);
+    }
+
+    /**
+     * Returns the element of the node at the given position.
+     *
+     * @param thePosition the preorder position of a node
+     * @return the decoded element
+     */
+    private T element(final int thePosition) {
+        return myCodec.decode(myBuffer, myElements + thePosition * myCodec.width());
+    }
+
+    /**
+     * Walks the shape section once in preorder, keeping for each node on the
+     * current path the number of its children not yet finished, and records
+     * the depth of every node.
+     *
+     * @param theDepths the array to fill with the depths, or null
+     * @return the height of the tree, or -1 if it is empty
+     */
+    private int walkDepths(final int[] theDepths) {
+        final IntDeque pending = new IntDeque();
+        int height = -1;
+        for (int position = 0; position < myCount; position++) {
+            final int depth = pending.size();
+            height = Math.max(height, depth);
+            if (theDepths != null) {
+                theDepths[position] = depth;
+            }
+            final int children = children(position);
+            if (children > 0) {
+                pending.addLast(children);
+            } else {
+                //a leaf finishes the subtrees it closes on the path
+                boolean finished = true;
+                while (finished && !pending.isEmpty()) {
+                    final int remaining = pending.removeLast() - 1;
+                    if (remaining > 0) {
+                        pending.addLast(remaining);
+                        finished = false;
+                    }
+                }
+            }
+        }
+        return height;
+    }
+
+    @Override
+    public T getRootElement() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return element(0);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return myCount == 0;
+    }
+
+    @Override
+    public int size() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return myCount;
+    }
+
+    /**
+     * Returns the height of this tree, or -1 if the tree is empty. Only the
+     * shape section is read.
+     *
+     * @return the height of the tree
+     */
+    public int getHeight() {
+        return walkDepths(null);
+    }
+
+    @Override
+    public int countLeafNodes() {
+        int count = 0;
+        for (int position = 0; position < myCount; position++) {
+            if (shape(position) == 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int countOneChildNodes() {
+        int count = 0;
+        for (int position = 0; position < myCount; position++) {
+            if (children(position) == 1) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public boolean contains(final T theTargetElement) {
+        return position(theTargetElement) >= 0;
+    }
+
+    @Override
+    public T find(final T theTargetElement) throws ElementNotFoundException {
+        final int position = position(theTargetElement);
+        if (position < 0) {
+            throw new ElementNotFoundException(COLLECTION);
+        }
+        return element(position);
+    }
+
+    /**
+     * Returns the preorder position of the first node holding the target.
+     * The target is encoded once and compared byte by byte with the element
+     * section, so no element is decoded.
+     *
+     * @param theTargetElement the element being sought
+     * @return the position of the element, or -1 if it is not in the tree
+     */
+    private int position(final T theTargetElement) {
+        if (theTargetElement == null) {
+            return -1;
+        }
+        final int width = myCodec.width();
+        final ByteBuffer target = ByteBuffer.allocate(width);
+        myCodec.encode(theTargetElement, target, 0);
+
+        for (int position = 0; position < myCount; position++) {
+            final int offset = myElements + position * width;
+            int index = 0;
+            while (index < width && myBuffer.get(offset + index) == target.get(index)) {
+                index++;
+            }
+            if (index == width) {
+                return position;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Returns a string representation of this binary tree showing the nodes in
+     * an inorder fashion.
+     *
+     * @return a string representation of this binary tree
+     */
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        final Iterator<T> itr = iteratorInOrder();
+        sb.append('[');
+        while (itr.hasNext()) {
+            sb.append(itr.next());
+            if (itr.hasNext()) { //don't print a space after the last element.
+                sb.append(' ');
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return iteratorInOrder();
+    }
+
+    @Override
+    public Iterator<T> iteratorInOrder() {
+        return new InOrderIterator();
+    }
+
+    /**
+     * Returns an iterator over the elements in preorder, which is the order of
+     * the element section, so it reads the file sequentially.
+     *
+     * @return a preorder iterator over this binary tree
+     */
+    @Override
+    public Iterator<T> iteratorPreOrder() {
+        return new PositionIterator() {
+            /** The position of the next node. */
+            private int myNext;
+
+            @Override
+            public boolean hasNext() {
+                return myNext < myCount;
+            }
+
+            @Override
+            protected int advance() {
+                return myNext++;
+            }
+        };
+    }
+
+    @Override
+    public Iterator<T> iteratorPostOrder() {
+        return new PostOrderIterator();
+    }
+
+    /**
+     * Returns an iterator over the elements in levelorder. The first call
+     * sorts the node positions by depth, which keeps nodes of the same depth
+     * in preorder and so from left to right; this takes one int per node and
+     * is shared by later calls.
+     *
+     * @return a levelorder iterator over this binary tree
+     */
+    @Override
+    public Iterator<T> iteratorLevelOrder() {
+        final int[] order = levelOrder();
+        return new PositionIterator() {
+            /** The index of the next position in the levelorder array. */
+            private int myNext;
+
+            @Override
+            public boolean hasNext() {
+                return myNext < order.length;
+            }
+
+            @Override
+            protected int advance() {
+                return order[myNext++];
+            }
+        };
+    }
+
+    /**
+     * Returns the node positions in levelorder, computing them on first use
+     * with a counting sort of the positions by depth.
+     *
+     * @return the node positions in levelorder
+     */
+    private synchronized int[] levelOrder() {
+        if (myLevelOrder == null) {
+            final int[] depths = new int[myCount];
+            final int height = walkDepths(depths);
+            final int[] starts = new int[height + 2];
+            for (final int depth : depths) {
+                starts[depth + 1]++;
+            }
+            for (int depth = 1; depth < starts.length; depth++) {
+                starts[depth] = starts[depth] + starts[depth - 1];
+            }
+            final int[] order = new int[myCount];
+            for (int position = 0; position < myCount; position++) {
+                order[starts[depths[position]]++] = position;
+            }
+            myLevelOrder = order;
+        }
+        return myLevelOrder;
+    }
+
+    /**
+     * Base class of the iterators, which produce node positions and decode
+     * the element at each. The tree cannot change, so they never fail.
+     */
+    private abstract class PositionIterator implements Iterator<T> {
+        /**
+         * Returns the next element in this traversal.
+         *
+         * @return the next element in this traversal
+         * @throws NoSuchElementException if the traversal is finished
+         */
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return element(advance());
+        }
+
+        /**
+         * Returns the position of the next node in this traversal.
+         *
+         * @return the position of the next node
+         */
+        protected abstract int advance();
+    }
+
+    /**
+     * Lazy inorder iterator. It reads the shape section in preorder and keeps
+     * the nodes whose left subtree is being walked on a stack.
+     */
+    private class InOrderIterator extends PositionIterator {
+        /** The nodes waiting for their left subtree to finish. */
+        private final IntDeque myStack = new IntDeque();
+
+        /** The next preorder position to read. */
+        private int myScan;
+
+        /** True if the next node comes from the preorder scan. */
+        private boolean myScanNext = myCount > 0;
+
+        @Override
+        public boolean hasNext() {
+            return myScanNext || !myStack.isEmpty();
+        }
+
+        @Override
+        protected int advance() {
+            int current;
+            if (myScanNext) {
+                current = myScan++;
+                while ((shape(current) & HAS_LEFT) != 0) {
+                    myStack.addLast(current);
+                    current = myScan++;
+                }
+            } else {
+                current = myStack.removeLast();
+            }
+            //a right child is the next node in preorder
+            myScanNext = (shape(current) & HAS_RIGHT) != 0;
+            return current;
+        }
+    }
+
+    /**
+     * Lazy postorder iterator. It reads the shape section in preorder and
+     * keeps the nodes on the current path with the number of their children
+     * not yet finished; a node is visited when that number reaches 0.
+     */
+    private class PostOrderIterator extends PositionIterator {
+        /** The nodes on the current path. */
+        private final IntDeque myPath = new IntDeque();
+
+        /** The number of unfinished children of each node on the path. */
+        private final IntDeque myPending = new IntDeque();
+
+        /** The next preorder position to read. */
+        private int myScan;
+
+        @Override
+        public boolean hasNext() {
+            return myScan < myCount || !myPath.isEmpty();
+        }
+
+        @Override
+        protected int advance() {
+            while (myPath.isEmpty() || myPending.peekLast() > 0) {
+                myPath.addLast(myScan);
+                myPending.addLast(children(myScan));
+                myScan++;
+            }
+            final int current = myPath.removeLast();
+            myPending.removeLast();
+            if (!myPending.isEmpty()) {
+                myPending.addLast(myPending.removeLast() - 1);
+            }
+            return current;
+        }
+    }
+}
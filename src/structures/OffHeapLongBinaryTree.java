@@ -0,0 +1,539 @@
+package structures;
+
+import exceptions.ElementNotFoundException;
+import exceptions.EmptyCollectionException;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * OffHeapLongBinaryTree is a binary tree of long elements whose nodes live
+ * outside the Java heap. Each node is a fixed-width record in a direct
+ * ByteBuffer slab and is addressed by an int handle; the heap only holds the
+ * slab references, so the number of heap objects and the work of the garbage
+ * collector do not grow with the number of nodes.
+ *
+ * Trees are built bottom-up like LinkedBinaryTree: addNode() creates a node
+ * from an element and the handles of its two subtrees, and setRoot() picks
+ * the root. After close() every method except close() and allocatedBytes()
+ * throws IllegalStateException. close() only drops the references to the
+ * slabs: Java 17 has no supported way to free a direct buffer, so the native
+ * memory is returned when the garbage collector collects the slabs, not when
+ * close() returns.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public class OffHeapLongBinaryTree implements LongBinaryTreeADT, AutoCloseable {
+    /** OffHeapLongBinaryTree string. */
+    public static final String COLLECTION = "OffHeapLongBinaryTree";
+
+    /** The handle that stands for no node. */
+    public static final int NIL = -1;
+
+    /** The offset of the element within a node record. */
+    private static final int ELEMENT = 0;
+
+    /** The offset of the left child handle within a node record. */
+    private static final int LEFT = 8;
+
+    /** The offset of the right child handle within a node record. */
+    private static final int RIGHT = 12;
+
+    /** The offset of the subtree size within a node record. */
+    private static final int SIZE = 16;
+
+    /** The number of bytes in a node record. */
+    private static final int NODE_BYTES = 20;
+
+    /** The number of bits of a handle that select the node within a slab. */
+    private static final int SLAB_SHIFT = 16;
+
+    /** The number of nodes in a slab. */
+    private static final int SLAB_NODES = 1 << SLAB_SHIFT;
+
+    /** The mask that selects the node within a slab. */
+    private static final int SLAB_MASK = SLAB_NODES - 1;
+
+    /** The initial number of slab references. */
+    private static final int INITIAL_SLABS = 4;
+
+    /** The slabs holding the node records, null once closed. */
+    private ByteBuffer[] mySlabs;
+
+    /** The number of nodes allocated so far. */
+    private int myNodeCount;
+
+    /** The handle of the root node, or NIL for an empty tree. */
+    private int myRoot;
+
+    /** Counts the number of times the tree has been modified. */
+    private int myModCount;
+
+    /**
+     * Creates an empty tree with no storage allocated yet.
+     */
+    public OffHeapLongBinaryTree() {
+        mySlabs = new ByteBuffer[INITIAL_SLABS];
+        myRoot = NIL;
+    }
+
+    /**
+     * Creates an off-heap copy of the given tree.
+     *
+     * @param theTree the tree to copy
+     * @return the off-heap copy
+     */
+    public static OffHeapLongBinaryTree copyOf(final LongBinaryTree theTree) {
+        final OffHeapLongBinaryTree result = new OffHeapLongBinaryTree();
+        final IntDeque handles = new IntDeque();
+        final Iterator<LongBinaryTreeNode> nodes =
+                        theTree.nodeIterator(TraversalOrder.POST_ORDER);
+
+        //in postorder the handles of a node's subtrees are on top of the stack
+        while (nodes.hasNext()) {
+            final LongBinaryTreeNode current = nodes.next();
+            final int right = current.getRight() == null ? NIL : handles.removeLast();
+            final int left = current.getLeft() == null ? NIL : handles.removeLast();
+            handles.addLast(result.addNode(current.getElement(), left, right));
+        }
+        if (!handles.isEmpty()) {
+            result.setRoot(handles.removeLast());
+        }
+        return result;
+    }
+
+    /**
+     * Creates a node from an element and the handles of its subtrees. The new
+     * node is not part of the tree until it, or a node above it, is set as
+     * the root.
+     *
+     * @param theElement the element of the node
+     * @param theLeft the handle of the left subtree, or NIL
+     * @param theRight the handle of the right subtree, or NIL
+     * @return the handle of the new node
+     * @throws IllegalArgumentException if a child handle is not a node
+     * @throws IllegalStateException if the tree has been closed
+     */
+    public int addNode(final long theElement, final int theLeft, final int theRight) {
+        checkOpen();
+        checkHandle(theLeft);
+        checkHandle(theRight);
+        final int handle = myNodeCount;
+        final int slab = handle >>> SLAB_SHIFT;
+
+        if (slab == mySlabs.length) {
+            mySlabs = Arrays.copyOf(mySlabs, mySlabs.length * 2);
+        }
+        if (mySlabs[slab] == null) {
+            mySlabs[slab] = ByteBuffer.allocateDirect(SLAB_NODES * NODE_BYTES)
+                            .order(ByteOrder.nativeOrder());
+        }
+        final ByteBuffer buffer = mySlabs[slab];
+        final int offset = (handle & SLAB_MASK) * NODE_BYTES;
+
+        buffer.putLong(offset + ELEMENT, theElement);
+        buffer.putInt(offset + LEFT, theLeft);
+        buffer.putInt(offset + RIGHT, theRight);
+        buffer.putInt(offset + SIZE, 1 + sizeOf(theLeft) + sizeOf(theRight));
+        myNodeCount++;
+        return handle;
+    }
+
+    /**
+     * Makes the given node the root of this tree.
+     *
+     * @param theHandle the handle of the new root, or NIL to empty the tree
+     * @throws IllegalArgumentException if the handle is not a node
+     * @throws IllegalStateException if the tree has been closed
+     */
+    public void setRoot(final int theHandle) {
+        checkOpen();
+        checkHandle(theHandle);
+        myRoot = theHandle;
+        myModCount++;
+    }
+
+    /**
+     * Returns the number of bytes of off-heap storage allocated.
+     *
+     * @return the number of bytes allocated
+     */
+    public long allocatedBytes() {
+        long result = 0;
+        if (mySlabs != null) {
+            for (final ByteBuffer slab : mySlabs) {
+                if (slab != null) {
+                    result = result + slab.capacity();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Drops the slabs of this tree so that it can no longer be used. The
+     * native memory of the slabs is freed when they are garbage collected,
+     * not by this method. Closing a closed tree has no effect.
+     */
+    @Override
+    public void close() {
+        mySlabs = null;
+        myNodeCount = 0;
+        myRoot = NIL;
+        myModCount++;
+    }
+
+    /**
+     * Throws an exception if this tree has been closed.
+     *
+     * @throws IllegalStateException if the tree has been closed
+     */
+    private void checkOpen() {
+        if (mySlabs == null) {
+            throw new IllegalStateException(COLLECTION + " is closed");
+        }
+    }
+
+    /**
+     * Throws an exception if the handle is neither NIL nor an allocated node.
+     *
+     * @param theHandle the handle to check
+     * @throws IllegalArgumentException if the handle is not valid
+     */
+    private void checkHandle(final int theHandle) {
+        if (theHandle < NIL || theHandle >= myNodeCount) {
+            throw new IllegalArgumentException("Not a node: " + theHandle);
+        }
+    }
+
+    /**
+     * Returns the slab holding the given node.
+     *
+     * @param theHandle the handle of a node
+     * @return the slab of the node
+     */
+    private ByteBuffer slab(final int theHandle) {
+        return mySlabs[theHandle >>> SLAB_SHIFT];
+    }
+
+    /**
+     * Returns the offset of the given node within its slab.
+     *
+     * @param theHandle the handle of a node
+     * @return the offset of the node record
+     */
+    private static int offset(final int theHandle) {
+        return (theHandle & SLAB_MASK) * NODE_BYTES;
+    }
+
+    /**
+     * Returns the element of the given node.
+     *
+     * @param theHandle the handle of a node
+     * @return the element of the node
+     */
+    private long element(final int theHandle) {
+        return slab(theHandle).getLong(offset(theHandle) + ELEMENT);
+    }
+
+    /**
+     * Returns the handle of the left child of the given node.
+     *
+     * @param theHandle the handle of a node
+     * @return the handle of the left child, or NIL
+     */
+    private int left(final int theHandle) {
+        return slab(theHandle).getInt(offset(theHandle) + LEFT);
+    }
+
+    /**
+     * Returns the handle of the right child of the given node.
+     *
+     * @param theHandle the handle of a node
+     * @return the handle of the right child, or NIL
+     */
+    private int right(final int theHandle) {
+        return slab(theHandle).getInt(offset(theHandle) + RIGHT);
+    }
+
+    /**
+     * Returns the size of the subtree rooted at the given node.
+     *
+     * @param theHandle the handle of a node, or NIL
+     * @return the size of the subtree, 0 for NIL
+     */
+    private int sizeOf(final int theHandle) {
+        return theHandle == NIL ? 0 : slab(theHandle).getInt(offset(theHandle) + SIZE);
+    }
+
+    @Override
+    public long getRootElement() throws EmptyCollectionException {
+        checkOpen();
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return element(myRoot);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        checkOpen();
+        return myRoot == NIL;
+    }
+
+    @Override
+    public int size() throws EmptyCollectionException {
+        checkOpen();
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return sizeOf(myRoot);
+    }
+
+    @Override
+    public int getHeight() {
+        checkOpen();
+        final IntDeque queue = new IntDeque();
+        int result = -1;
+
+        if (myRoot != NIL) {
+            queue.addLast(myRoot);
+        }
+        while (!queue.isEmpty()) {
+            for (int width = queue.size(); width > 0; width--) {
+                final int current = queue.removeFirst();
+                if (left(current) != NIL) {
+                    queue.addLast(left(current));
+                }
+                if (right(current) != NIL) {
+                    queue.addLast(right(current));
+                }
+            }
+            result++;
+        }
+        return result;
+    }
+
+    @Override
+    public boolean contains(final long theTargetElement) {
+        final HandleIterator nodes = new HandleIterator(TraversalOrder.PRE_ORDER);
+        boolean found = false;
+        while (!found && nodes.hasNext()) {
+            found = element(nodes.nextHandle()) == theTargetElement;
+        }
+        return found;
+    }
+
+    @Override
+    public int countLeafNodes() {
+        final HandleIterator nodes = new HandleIterator(TraversalOrder.PRE_ORDER);
+        int count = 0;
+        while (nodes.hasNext()) {
+            final int current = nodes.nextHandle();
+            if (left(current) == NIL && right(current) == NIL) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int countOneChildNodes() {
+        final HandleIterator nodes = new HandleIterator(TraversalOrder.PRE_ORDER);
+        int count = 0;
+        while (nodes.hasNext()) {
+            final int current = nodes.nextHandle();
+            if ((left(current) == NIL) != (right(current) == NIL)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public long find(final long theTargetElement) throws ElementNotFoundException {
+        if (!contains(theTargetElement)) {
+            throw new ElementNotFoundException(COLLECTION);
+        }
+        return theTargetElement;
+    }
+
+    /**
+     * Returns a string representation of this binary tree showing the nodes in
+     * an inorder fashion.
+     *
+     * @return a string representation of this binary tree
+     */
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        final PrimitiveIterator.OfLong itr = iteratorInOrder();
+        sb.append('[');
+        while (itr.hasNext()) {
+            sb.append(itr.nextLong());
+            if (itr.hasNext()) { //don't print a space after the last element.
+                sb.append(' ');
+            }
+        }
+        sb.append(']');
+        return sb.toString();
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+        return iteratorInOrder();
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iteratorInOrder() {
+        return new HandleIterator(TraversalOrder.IN_ORDER);
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iteratorPreOrder() {
+        return new HandleIterator(TraversalOrder.PRE_ORDER);
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iteratorPostOrder() {
+        return new HandleIterator(TraversalOrder.POST_ORDER);
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iteratorLevelOrder() {
+        return new HandleIterator(TraversalOrder.LEVEL_ORDER);
+    }
+
+    /**
+     * Lazy, fail-fast iterator over the nodes of the tree in any order. It
+     * keeps node handles in an int deque, so nothing is boxed.
+     */
+    private class HandleIterator implements PrimitiveIterator.OfLong {
+        /** The traversal order. */
+        private final TraversalOrder myOrder;
+
+        /** The handles waiting to be visited. */
+        private final IntDeque myHandles;
+
+        /** The modification count of the tree when this was created. */
+        private final int myExpectedModCount;
+
+        /**
+         * Sets up this iterator at the first node in the given order.
+         *
+         * @param theOrder the traversal order
+         */
+        HandleIterator(final TraversalOrder theOrder) {
+            checkOpen();
+            myOrder = theOrder;
+            myHandles = new IntDeque();
+            myExpectedModCount = myModCount;
+            if (theOrder == TraversalOrder.IN_ORDER) {
+                pushLeftPath(myRoot);
+            } else if (theOrder == TraversalOrder.POST_ORDER) {
+                descend(myRoot);
+            } else if (myRoot != NIL) {
+                myHandles.addLast(myRoot);
+            }
+        }
+
+        /**
+         * Pushes the given node and all of its left descendants.
+         *
+         * @param theHandle the node from which to start, or NIL
+         */
+        private void pushLeftPath(final int theHandle) {
+            int current = theHandle;
+            while (current != NIL) {
+                myHandles.addLast(current);
+                current = left(current);
+            }
+        }
+
+        /**
+         * Pushes the path from the given node down to the first node of its
+         * subtree in postorder. A pending right subtree is kept below a NIL
+         * marker.
+         *
+         * @param theHandle the node from which to start, or NIL
+         */
+        private void descend(final int theHandle) {
+            int current = theHandle;
+            while (current != NIL) {
+                myHandles.addLast(current);
+                if (left(current) == NIL) {
+                    current = right(current);
+                } else {
+                    if (right(current) != NIL) {
+                        myHandles.addLast(right(current));
+                        myHandles.addLast(NIL);
+                    }
+                    current = left(current);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (myModCount != myExpectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return !myHandles.isEmpty();
+        }
+
+        @Override
+        public long nextLong() {
+            return element(nextHandle());
+        }
+
+        /**
+         * Returns the handle of the next node in this traversal.
+         *
+         * @return the handle of the next node
+         * @throws NoSuchElementException if the traversal is finished
+         */
+        int nextHandle() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final int current;
+            switch (myOrder) {
+                case IN_ORDER:
+                    current = myHandles.removeLast();
+                    pushLeftPath(right(current));
+                    break;
+                case PRE_ORDER:
+                    current = myHandles.removeLast();
+                    if (right(current) != NIL) {
+                        myHandles.addLast(right(current));
+                    }
+                    if (left(current) != NIL) {
+                        myHandles.addLast(left(current));
+                    }
+                    break;
+                case POST_ORDER:
+                    current = myHandles.removeLast();
+                    if (!myHandles.isEmpty() && myHandles.peekLast() == NIL) {
+                        myHandles.removeLast();
+                        descend(myHandles.removeLast());
+                    }
+                    break;
+                default:
+                    current = myHandles.removeFirst();
+                    if (left(current) != NIL) {
+                        myHandles.addLast(left(current));
+                    }
+                    if (right(current) != NIL) {
+                        myHandles.addLast(right(current));
+                    }
+                    break;
+            }
+            return current;
+        }
+    }
+}
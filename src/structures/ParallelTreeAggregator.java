@@ -0,0 +1,340 @@
+package structures;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * ParallelTreeAggregator computes the aggregate methods of a LinkedBinaryTree
+ * with fork/join tasks. At each node with two children a task forks a task for
+ * the smaller subtree and goes on down the larger one itself, until it reaches
+ * a subtree with no more nodes than the sequential cutoff; such subtrees are
+ * handled in one iterative pass. A forked subtree has at most half the nodes
+ * of the one it was split from, so tasks nest no deeper than the logarithm of
+ * the size of the tree, and degenerate trees such as lines and caterpillars do
+ * not overflow the stack. The tree must not be modified while an aggregate is
+ * running.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public class ParallelTreeAggregator {
+    /** The default number of nodes below which subtrees are not split. */
+    public static final int DEFAULT_CUTOFF = 8192;
+
+    /** The number of nodes a sequential search visits between checks. */
+    private static final int CHECK_INTERVAL = 1024;
+
+    /** The initial capacity of the sequential search stack. */
+    private static final int STACK_CAPACITY = 16;
+
+    /** The pool the tasks run in. */
+    private final ForkJoinPool myPool;
+
+    /** The number of nodes below which subtrees are not split. */
+    private final int myCutoff;
+
+    /**
+     * Creates an aggregator that runs in the common pool with the default
+     * cutoff.
+     */
+    public ParallelTreeAggregator() {
+        this(ForkJoinPool.commonPool(), DEFAULT_CUTOFF);
+    }
+
+    /**
+     * Creates an aggregator that runs in the given pool with the given cutoff.
+     *
+     * @param thePool the pool the tasks run in
+     * @param theCutoff the number of nodes below which subtrees are not split
+     * @throws IllegalArgumentException if the cutoff is less than 1
+     */
+    public ParallelTreeAggregator(final ForkJoinPool thePool, final int theCutoff) {
+        if (theCutoff < 1) {
+            throw new IllegalArgumentException("Cutoff must be positive: " + theCutoff);
+        }
+        myPool = thePool;
+        myCutoff = theCutoff;
+    }
+
+    /**
+     * Counts the nodes of the tree that have no children.
+     *
+     * @param theTree the tree to measure
+     * @param <T> the generic data type
+     * @return the number of leaf nodes
+     */
+    public <T> int countLeafNodes(final LinkedBinaryTree<T> theTree) {
+        return measure(theTree, Measure.LEAVES, 0);
+    }
+
+    /**
+     * Counts the nodes of the tree that have exactly one child.
+     *
+     * @param theTree the tree to measure
+     * @param <T> the generic data type
+     * @return the number of one-child nodes
+     */
+    public <T> int countOneChildNodes(final LinkedBinaryTree<T> theTree) {
+        return measure(theTree, Measure.ONE_CHILD, 0);
+    }
+
+    /**
+     * Returns the height of the tree, or -1 if it is empty.
+     *
+     * @param theTree the tree to measure
+     * @param <T> the generic data type
+     * @return the height of the tree
+     */
+    public <T> int getHeight(final LinkedBinaryTree<T> theTree) {
+        return measure(theTree, Measure.HEIGHT, -1);
+    }
+
+    /**
+     * Returns true if the tree contains an element equal to the target. The
+     * search stops in every branch as soon as one branch finds a match.
+     *
+     * @param theTree the tree to search
+     * @param theTargetElement the element being sought
+     * @param <T> the generic data type
+     * @return true if the element is in the tree
+     */
+    public <T> boolean contains(final LinkedBinaryTree<T> theTree,
+                                final T theTargetElement) {
+        final AtomicBoolean found = new AtomicBoolean();
+        final BinaryTreeNode<T> root = theTree.getRootNode();
+
+        if (root != null) {
+            myPool.invoke(new SearchTask<T>(root, theTargetElement, found));
+        }
+        return found.get();
+    }
+
+    /**
+     * Runs a shape task over the tree.
+     *
+     * @param theTree the tree to measure
+     * @param theMeasure what to measure
+     * @param theEmpty the result for an empty tree
+     * @param <T> the generic data type
+     * @return the measured value
+     */
+    private <T> int measure(final LinkedBinaryTree<T> theTree, final Measure theMeasure,
+                            final int theEmpty) {
+        final BinaryTreeNode<T> root = theTree.getRootNode();
+        int result = theEmpty;
+
+        if (root != null) {
+            result = myPool.invoke(new ShapeTask<T>(root, theMeasure, 0));
+        }
+        return result;
+    }
+
+    /**
+     * The values a shape task can compute.
+     */
+    private enum Measure {
+        /** The number of nodes with no children. */
+        LEAVES,
+
+        /** The number of nodes with exactly one child. */
+        ONE_CHILD,
+
+        /** The depth of the deepest node of the subtree. */
+        HEIGHT
+    }
+
+    /**
+     * Task that measures the subtree rooted at a node.
+     *
+     * @param <T> the generic data type
+     */
+    private final class ShapeTask<T> extends RecursiveTask<Integer> {
+        /** Generated serialization ID for this class. */
+        private static final long serialVersionUID = 2871035539637612914L;
+
+        /** The root of the subtree. */
+        private final BinaryTreeNode<T> myNode;
+
+        /** What to measure. */
+        private final Measure myMeasure;
+
+        /** The depth of the root of the subtree in the whole tree. */
+        private final int myDepth;
+
+        /**
+         * Sets up a task for the subtree rooted at the given node.
+         *
+         * @param theNode the root of the subtree, not null
+         * @param theMeasure what to measure
+         * @param theDepth the depth of the node in the whole tree
+         */
+        ShapeTask(final BinaryTreeNode<T> theNode, final Measure theMeasure,
+                  final int theDepth) {
+            myNode = theNode;
+            myMeasure = theMeasure;
+            myDepth = theDepth;
+        }
+
+        @Override
+        protected Integer compute() {
+            final ArrayUnorderedList<ShapeTask<T>> forked =
+                            new ArrayUnorderedList<>(STACK_CAPACITY);
+            BinaryTreeNode<T> node = myNode;
+            int depth = myDepth;
+            int chain = 0;
+
+            //fork the smaller subtree and walk down the larger one in a loop
+            while (node.getSize() > myCutoff) {
+                final BinaryTreeNode<T> left = node.getLeft();
+                final BinaryTreeNode<T> right = node.getRight();
+                depth++;
+                if (left == null || right == null) {
+                    node = left == null ? right : left;
+                    chain++;
+                } else {
+                    final boolean leftSmaller = left.getSize() <= right.getSize();
+                    final ShapeTask<T> task = new ShapeTask<>(leftSmaller ? left : right,
+                                                              myMeasure, depth);
+                    task.fork();
+                    forked.addToRear(task);
+                    node = leftSmaller ? right : left;
+                }
+            }
+            int result = sequential(TreeStats.compute(node), depth);
+            //every one-child node on the way down was passed over
+            if (myMeasure == Measure.ONE_CHILD) {
+                result = result + chain;
+            }
+            while (!forked.isEmpty()) {
+                final int value = forked.removeLast().join();
+                if (myMeasure == Measure.HEIGHT) {
+                    result = Math.max(result, value);
+                } else {
+                    result = result + value;
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Picks the measured value out of the statistics of a small subtree.
+         *
+         * @param theStats the statistics of the subtree
+         * @param theDepth the depth of the root of the subtree in the whole tree
+         * @return the measured value
+         */
+        private int sequential(final TreeStats theStats, final int theDepth) {
+            final int result;
+            if (myMeasure == Measure.LEAVES) {
+                result = theStats.getLeafCount();
+            } else if (myMeasure == Measure.ONE_CHILD) {
+                result = theStats.getOneChildCount();
+            } else {
+                result = theDepth + theStats.getHeight();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Task that searches the subtree rooted at a node. All tasks of one search
+     * share a flag, which is set by the first match and makes the others stop.
+     *
+     * @param <T> the generic data type
+     */
+    private final class SearchTask<T> extends RecursiveTask<Boolean> {
+        /** Generated serialization ID for this class. */
+        private static final long serialVersionUID = -4417092163250784013L;
+
+        /** The root of the subtree. */
+        private final BinaryTreeNode<T> myNode;
+
+        /** The element being sought. */
+        private final T myTarget;
+
+        /** Set once any task of the search has found the element. */
+        private final AtomicBoolean myFound;
+
+        /**
+         * Sets up a task for the subtree rooted at the given node.
+         *
+         * @param theNode the root of the subtree, not null
+         * @param theTarget the element being sought
+         * @param theFound the flag shared by the search
+         */
+        SearchTask(final BinaryTreeNode<T> theNode, final T theTarget,
+                   final AtomicBoolean theFound) {
+            myNode = theNode;
+            myTarget = theTarget;
+            myFound = theFound;
+        }
+
+        @Override
+        protected Boolean compute() {
+            final ArrayUnorderedList<SearchTask<T>> forked =
+                            new ArrayUnorderedList<>(STACK_CAPACITY);
+            BinaryTreeNode<T> node = myNode;
+            boolean result = false;
+
+            //fork the smaller subtree and walk down the larger one in a loop
+            while (!result && !myFound.get() && node.getSize() > myCutoff) {
+                final BinaryTreeNode<T> left = node.getLeft();
+                final BinaryTreeNode<T> right = node.getRight();
+                if (node.getElement().equals(myTarget)) {
+                    myFound.set(true);
+                    result = true;
+                } else if (left == null || right == null) {
+                    node = left == null ? right : left;
+                } else {
+                    final boolean leftSmaller = left.getSize() <= right.getSize();
+                    final SearchTask<T> task = new SearchTask<>(leftSmaller ? left : right,
+                                                                myTarget, myFound);
+                    task.fork();
+                    forked.addToRear(task);
+                    node = leftSmaller ? right : left;
+                }
+            }
+            if (!result && !myFound.get()) {
+                result = sequential(node);
+            }
+            while (!forked.isEmpty()) {
+                result = forked.removeLast().join() || result;
+            }
+            return result;
+        }
+
+        /**
+         * Searches the subtree in this thread with an explicit stack, checking
+         * every so often whether another task has already found the element.
+         *
+         * @param theNode the root of the subtree
+         * @return true if this task found the element
+         */
+        private Boolean sequential(final BinaryTreeNode<T> theNode) {
+            final ArrayUnorderedList<BinaryTreeNode<T>> stack =
+                            new ArrayUnorderedList<>(STACK_CAPACITY);
+            int visited = 0;
+
+            stack.addToRear(theNode);
+            while (!stack.isEmpty()) {
+                final BinaryTreeNode<T> current = stack.removeLast();
+                if (current.getElement().equals(myTarget)) {
+                    myFound.set(true);
+                    return Boolean.TRUE;
+                }
+                visited++;
+                if (visited % CHECK_INTERVAL == 0 && myFound.get()) {
+                    return Boolean.FALSE;
+                }
+                if (current.getRight() != null) {
+                    stack.addToRear(current.getRight());
+                }
+                if (current.getLeft() != null) {
+                    stack.addToRear(current.getLeft());
+                }
+            }
+            return Boolean.FALSE;
+        }
+    }
+}
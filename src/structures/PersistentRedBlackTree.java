@@ -0,0 +1,187 @@
+package structures;
+
+import java.util.Comparator;
+
+/**
+ * PersistentRedBlackTree is an immutable RedBlackTree. Instead of changing
+ * the tree, plus() and minus() return a new version: the update copies the
+ * nodes on the search path and the few nodes rotated or recolored next to
+ * it, and shares every other node with the version it came from. Each update
+ * therefore costs O(log n) time and space, and no version is ever changed,
+ * so any number of threads may read any versions without locking or copying.
+ * A version should be handed to other threads through a final or volatile
+ * field or a concurrent collection, like any other object.
+ *
+ * The mutators inherited from RedBlackTree throw
+ * UnsupportedOperationException.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ * @param <T> the generic data type
+ */
+public class PersistentRedBlackTree<T> extends RedBlackTree<T> {
+    /** PersistentRedBlackTree string. */
+    public static final String COLLECTION = "PersistentRedBlackTree";
+
+    /** Marks the nodes created by this version. */
+    private final Object myToken = new Object();
+
+    /**
+     * Creates an empty tree ordered by the natural ordering of its elements.
+     * The elements must implement Comparable.
+     */
+    public PersistentRedBlackTree() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty tree ordered by the given comparator.
+     *
+     * @param theComparator the comparator, or null for the natural ordering
+     */
+    public PersistentRedBlackTree(final Comparator<? super T> theComparator) {
+        super(theComparator);
+    }
+
+    /**
+     * Creates a new version that starts out sharing the nodes of another.
+     *
+     * @param theComparator the comparator of the other version
+     * @param theRoot the root of the other version
+     */
+    private PersistentRedBlackTree(final Comparator<? super T> theComparator,
+                                   final BinaryTreeNode<T> theRoot) {
+        super(theComparator);
+        myRoot = theRoot;
+    }
+
+    /**
+     * Returns a version of this tree that also holds the given element. This
+     * tree is returned if it already holds an equal element.
+     *
+     * @param theElement the element to add
+     * @return the version holding the element
+     */
+    public PersistentRedBlackTree<T> plus(final T theElement) {
+        PersistentRedBlackTree<T> result = this;
+        if (!contains(theElement)) {
+            result = new PersistentRedBlackTree<>(getComparator(), myRoot);
+            result.insertElement(theElement);
+        }
+        return result;
+    }
+
+    /**
+     * Returns a version of this tree without the given element. This tree is
+     * returned if it holds no equal element.
+     *
+     * @param theTargetElement the element to remove
+     * @return the version without the element
+     */
+    public PersistentRedBlackTree<T> minus(final T theTargetElement) {
+        PersistentRedBlackTree<T> result = this;
+        if (contains(theTargetElement)) {
+            result = new PersistentRedBlackTree<>(getComparator(), myRoot);
+            result.deleteElement(theTargetElement);
+        }
+        return result;
+    }
+
+    /**
+     * Adds the element to this version while it is being created.
+     *
+     * @param theElement the element to add
+     */
+    private void insertElement(final T theElement) {
+        super.addElement(theElement);
+    }
+
+    /**
+     * Removes the element from this version while it is being created.
+     *
+     * @param theTargetElement the element to remove
+     */
+    private void deleteElement(final T theTargetElement) {
+        super.removeElement(theTargetElement);
+    }
+
+    /**
+     * Not supported, use plus().
+     *
+     * @param theElement the element to add
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void addElement(final T theElement) {
+        throw new UnsupportedOperationException(COLLECTION + " is immutable, use plus()");
+    }
+
+    /**
+     * Not supported, use minus().
+     *
+     * @param theTargetElement the element to remove
+     * @return never returns
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public T removeElement(final T theTargetElement) {
+        throw new UnsupportedOperationException(COLLECTION + " is immutable, use minus()");
+    }
+
+    /**
+     * Creates a node owned by this version.
+     *
+     * @param theElement the element of the node
+     * @return the new red node
+     */
+    @Override
+    protected RedBlackNode<T> newNode(final T theElement) {
+        return new VersionNode<T>(theElement, myToken);
+    }
+
+    /**
+     * Returns the node itself if this version created it, and otherwise a
+     * copy owned by this version, so nodes shared with other versions are
+     * never changed and each node is copied at most once per update.
+     *
+     * @param theNode the node about to be changed
+     * @return the node to change
+     */
+    @Override
+    protected RedBlackNode<T> mutable(final BinaryTreeNode<T> theNode) {
+        if (theNode instanceof VersionNode
+            && ((VersionNode<T>) theNode).myOwner == myToken) {
+            return (VersionNode<T>) theNode;
+        }
+        final RedBlackNode<T> source = (RedBlackNode<T>) theNode;
+        final VersionNode<T> copy = new VersionNode<T>(source.getElement(), myToken);
+        copy.myRed = source.myRed;
+        copy.setLeft(source.getLeft());
+        copy.setRight(source.getRight());
+        return copy;
+    }
+
+    /**
+     * A red-black node that carries the token of the version that created it.
+     * It holds the token rather than the version, so that old versions can
+     * be collected while their nodes are still shared.
+     *
+     * @param <T> the generic data type
+     */
+    private static final class VersionNode<T> extends RedBlackNode<T> {
+        /** The token of the version that created this node. */
+        private final Object myOwner;
+
+        /**
+         * Creates a red node owned by the given version.
+         *
+         * @param theElement the element of the node
+         * @param theOwner the token of the version creating the node
+         */
+        VersionNode(final T theElement, final Object theOwner) {
+            super(theElement);
+            myOwner = theOwner;
+        }
+    }
+}
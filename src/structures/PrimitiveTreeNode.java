@@ -0,0 +1,79 @@
+package structures;
+
+/**
+ * PrimitiveTreeNode holds the links and the subtree size of a node in a
+ * binary tree whose elements are primitives. Subclasses add the element field
+ * of the primitive type, so elements are never boxed.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ * @param <N> the concrete node type
+ */
+public abstract class PrimitiveTreeNode<N extends PrimitiveTreeNode<N>> {
+    /** A reference to the left node. */
+    protected N myLeft;
+
+    /** A reference to the right node. */
+    protected N myRight;
+
+    /** The number of nodes in the subtree rooted at this node. */
+    protected int mySize;
+
+    /**
+     * Creates a node with the given children.
+     *
+     * @param theLeft the left child, may be null
+     * @param theRight the right child, may be null
+     */
+    protected PrimitiveTreeNode(final N theLeft, final N theRight) {
+        myLeft = theLeft;
+        myRight = theRight;
+        mySize = 1 + sizeOf(theLeft) + sizeOf(theRight);
+    }
+
+    /**
+     * Returns the size of the subtree rooted at the given node, or 0 if the
+     * node is null.
+     *
+     * @param theNode the root of the subtree
+     * @return the size of the subtree
+     */
+    public static int sizeOf(final PrimitiveTreeNode<?> theNode) {
+        return theNode == null ? 0 : theNode.mySize;
+    }
+
+    /**
+     * Return the left child of this node.
+     *
+     * @return the left child of the node
+     */
+    public N getLeft() {
+        return myLeft;
+    }
+
+    /**
+     * Return the right child of this node.
+     *
+     * @return the right child of this node
+     */
+    public N getRight() {
+        return myRight;
+    }
+
+    /**
+     * Returns the number of nodes in the subtree rooted at this node.
+     *
+     * @return the size of the subtree rooted at this node
+     */
+    public int getSize() {
+        return mySize;
+    }
+
+    /**
+     * Appends the element at this node to the given builder.
+     *
+     * @param theBuilder the builder to append to
+     */
+    protected abstract void appendElement(StringBuilder theBuilder);
+}
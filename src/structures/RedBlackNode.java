@@ -0,0 +1,34 @@
+package structures;
+
+/**
+ * RedBlackNode represents a node in a red-black tree. It is a BinaryTreeNode
+ * with a color.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ * 
+ * @param <T> the generic data type
+ */
+public class RedBlackNode<T> extends BinaryTreeNode<T> {
+    /** True if this node is red, false if it is black. */
+    protected boolean myRed;
+
+    /**
+     * Creates a new red tree node with the specified data.
+     *
+     * @param theObj the element that will become a part of the new tree node
+     */
+    public RedBlackNode(final T theObj) {
+        super(theObj);
+        myRed = true;
+    }
+
+    /**
+     * Returns true if this node is red.
+     *
+     * @return true if this node is red, false if it is black
+     */
+    public boolean isRed() {
+        return myRed;
+    }
+}
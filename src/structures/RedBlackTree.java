@@ -0,0 +1,572 @@
+package structures;
+
+import exceptions.ElementNotFoundException;
+import exceptions.EmptyCollectionException;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * RedBlackTree is a LinkedBinaryTree that keeps its elements ordered and
+ * balanced. It is a left-leaning red-black tree: the height stays within
+ * 2 log n, so searches, insertions and removals take logarithmic time. The
+ * elements are ordered by a Comparator, or by their natural ordering if none
+ * is given. Elements that compare as equal are stored once.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ * @param <T> the generic data type
+ */
+public class RedBlackTree<T> extends LinkedBinaryTree<T>
+                implements BinarySearchTreeADT<T> {
+    /** The initial capacity of the node stack used by range iterators. */
+    private static final int STACK_CAPACITY = 16;
+
+    /** The comparator, or null to use the natural ordering. */
+    private final Comparator<? super T> myComparator;
+
+    /**
+     * Creates an empty tree ordered by the natural ordering of its elements.
+     * The elements must implement Comparable.
+     */
+    public RedBlackTree() {
+        this(null);
+    }
+
+    /**
+     * Creates an empty tree ordered by the given comparator.
+     *
+     * @param theComparator the comparator, or null for the natural ordering
+     */
+    public RedBlackTree(final Comparator<? super T> theComparator) {
+        super();
+        myComparator = theComparator;
+    }
+
+    /**
+     * Returns the comparator used to order this tree.
+     *
+     * @return the comparator, or null if the natural ordering is used
+     */
+    public Comparator<? super T> getComparator() {
+        return myComparator;
+    }
+
+    /**
+     * Returns false, since editing the tree by position would break its order
+     * and balance. The subtrees returned by getLeft() and getRight() share
+     * its nodes and cannot be edited either.
+     *
+     * @return false
+     */
+    @Override
+    protected boolean isEditable() {
+        return false;
+    }
+
+    /**
+     * Compares two elements using the comparator or the natural ordering.
+     *
+     * @param theFirst the first element
+     * @param theSecond the second element
+     * @return a negative number, zero, or a positive number as the first
+     *         element is less than, equal to, or greater than the second
+     */
+    @SuppressWarnings("unchecked")
+    protected int compare(final T theFirst, final T theSecond) {
+        final int result;
+        if (myComparator == null) {
+            result = ((Comparable<? super T>) theFirst).compareTo(theSecond);
+        } else {
+            result = myComparator.compare(theFirst, theSecond);
+        }
+        return result;
+    }
+
+    /**
+     * Creates a node for a new element. Subclasses may return their own kind
+     * of node.
+     *
+     * @param theElement the element of the node
+     * @return the new red node
+     */
+    protected RedBlackNode<T> newNode(final T theElement) {
+        return new RedBlackNode<T>(theElement);
+    }
+
+    /**
+     * Returns a node that may be changed in place of the given one. Every
+     * change to an existing node during an update goes through this method,
+     * and the caller links the returned node in place of the given one. This
+     * tree changes its nodes in place and returns the node itself; a subclass
+     * that shares nodes between trees returns a copy instead.
+     *
+     * @param theNode the node about to be changed, not null
+     * @return the node to change
+     */
+    protected RedBlackNode<T> mutable(final BinaryTreeNode<T> theNode) {
+        return red(theNode);
+    }
+
+    @Override
+    public void addElement(final T theElement) {
+        checkNotThreaded();
+        final int oldSize = BinaryTreeNode.sizeOf(myRoot);
+        final RedBlackNode<T> root = insert(red(myRoot), theElement);
+        root.myRed = false;
+        myRoot = root;
+        if (root.getSize() != oldSize) {
+            myModCount++;
+        }
+    }
+
+    /**
+     * Inserts the element into the subtree rooted at the given node.
+     *
+     * @param theNode the root of the subtree
+     * @param theElement the element to insert
+     * @return the new root of the subtree
+     */
+    private RedBlackNode<T> insert(final RedBlackNode<T> theNode, final T theElement) {
+        if (theNode == null) {
+            return newNode(theElement);
+        }
+        final int cmp = compare(theElement, theNode.getElement());
+        final RedBlackNode<T> node = mutable(theNode);
+
+        if (cmp < 0) {
+            node.setLeft(insert(red(node.getLeft()), theElement));
+        } else if (cmp > 0) {
+            node.setRight(insert(red(node.getRight()), theElement));
+        }
+        return balance(node);
+    }
+
+    @Override
+    public T removeElement(final T theTargetElement) throws ElementNotFoundException {
+        checkNotThreaded();
+        final T result = find(theTargetElement);
+        RedBlackNode<T> root = mutable(myRoot);
+
+        if (!isRed(root.getLeft()) && !isRed(root.getRight())) {
+            root.myRed = true;
+        }
+        root = delete(root, theTargetElement);
+        if (root != null) {
+            root.myRed = false;
+        }
+        myRoot = root;
+        myModCount++;
+        return result;
+    }
+
+    /**
+     * Deletes the element from the subtree rooted at the given node. The
+     * element must be in the subtree.
+     *
+     * @param theNode the root of the subtree
+     * @param theElement the element to delete
+     * @return the new root of the subtree
+     */
+    private RedBlackNode<T> delete(final RedBlackNode<T> theNode, final T theElement) {
+        RedBlackNode<T> node = mutable(theNode);
+
+        if (compare(theElement, node.getElement()) < 0) {
+            if (!isRed(node.getLeft()) && !isRed(node.getLeft().getLeft())) {
+                node = moveRedLeft(node);
+            }
+            node.setLeft(delete(red(node.getLeft()), theElement));
+        } else {
+            if (isRed(node.getLeft())) {
+                node = rotateRight(node);
+            }
+            if (node.getRight() == null
+                && compare(theElement, node.getElement()) == 0) {
+                return null;
+            }
+            if (!isRed(node.getRight()) && !isRed(node.getRight().getLeft())) {
+                node = moveRedRight(node);
+            }
+            if (compare(theElement, node.getElement()) == 0) {
+                //replace this element with its successor and remove that;
+                //node is mutable, so a shared node is never changed
+                node.myElement = minNode(node.getRight()).getElement();
+                node.setRight(deleteMin(red(node.getRight())));
+            } else {
+                node.setRight(delete(red(node.getRight()), theElement));
+            }
+        }
+        return balance(node);
+    }
+
+    /**
+     * Deletes the smallest element from the subtree rooted at the given node.
+     *
+     * @param theNode the root of the subtree
+     * @return the new root of the subtree
+     */
+    private RedBlackNode<T> deleteMin(final RedBlackNode<T> theNode) {
+        if (theNode.getLeft() == null) {
+            return null;
+        }
+        RedBlackNode<T> node = mutable(theNode);
+
+        if (!isRed(node.getLeft()) && !isRed(node.getLeft().getLeft())) {
+            node = moveRedLeft(node);
+        }
+        node.setLeft(deleteMin(red(node.getLeft())));
+        return balance(node);
+    }
+
+    /**
+     * Rotates a right leaning red link to the left.
+     *
+     * @param theNode the root of the subtree, already mutable
+     * @return the new root of the subtree
+     */
+    private RedBlackNode<T> rotateLeft(final RedBlackNode<T> theNode) {
+        final RedBlackNode<T> result = mutable(theNode.getRight());
+        theNode.setRight(result.getLeft());
+        result.setLeft(theNode);
+        result.myRed = theNode.myRed;
+        theNode.myRed = true;
+        return result;
+    }
+
+    /**
+     * Rotates a left leaning red link to the right.
+     *
+     * @param theNode the root of the subtree, already mutable
+     * @return the new root of the subtree
+     */
+    private RedBlackNode<T> rotateRight(final RedBlackNode<T> theNode) {
+        final RedBlackNode<T> result = mutable(theNode.getLeft());
+        theNode.setLeft(result.getRight());
+        result.setRight(theNode);
+        result.myRed = theNode.myRed;
+        theNode.myRed = true;
+        return result;
+    }
+
+    /**
+     * Flips the colors of a node and its two children.
+     *
+     * @param theNode the node whose colors to flip, already mutable
+     */
+    private void flipColors(final RedBlackNode<T> theNode) {
+        final RedBlackNode<T> left = mutable(theNode.getLeft());
+        final RedBlackNode<T> right = mutable(theNode.getRight());
+        theNode.setLeft(left);
+        theNode.setRight(right);
+        theNode.myRed = !theNode.myRed;
+        left.myRed = !left.myRed;
+        right.myRed = !right.myRed;
+    }
+
+    /**
+     * Makes the left child of the node or one of its children red, assuming
+     * the node is red and both its left child and left grandchild are black.
+     *
+     * @param theNode the root of the subtree
+     * @return the new root of the subtree
+     */
+    private RedBlackNode<T> moveRedLeft(final RedBlackNode<T> theNode) {
+        RedBlackNode<T> node = theNode;
+        flipColors(node);
+        if (isRed(node.getRight().getLeft())) {
+            node.setRight(rotateRight(mutable(node.getRight())));
+            node = rotateLeft(node);
+            flipColors(node);
+        }
+        return node;
+    }
+
+    /**
+     * Makes the right child of the node or one of its children red, assuming
+     * the node is red and both its right child and right grandchild are black.
+     *
+     * @param theNode the root of the subtree
+     * @return the new root of the subtree
+     */
+    private RedBlackNode<T> moveRedRight(final RedBlackNode<T> theNode) {
+        RedBlackNode<T> node = theNode;
+        flipColors(node);
+        if (isRed(node.getLeft().getLeft())) {
+            node = rotateRight(node);
+            flipColors(node);
+        }
+        return node;
+    }
+
+    /**
+     * Restores the left-leaning red-black invariants at the given node.
+     *
+     * @param theNode the root of the subtree
+     * @return the new root of the subtree
+     */
+    private RedBlackNode<T> balance(final RedBlackNode<T> theNode) {
+        RedBlackNode<T> node = theNode;
+        if (isRed(node.getRight()) && !isRed(node.getLeft())) {
+            node = rotateLeft(node);
+        }
+        if (isRed(node.getLeft()) && isRed(node.getLeft().getLeft())) {
+            node = rotateRight(node);
+        }
+        if (isRed(node.getLeft()) && isRed(node.getRight())) {
+            flipColors(node);
+        }
+        return node;
+    }
+
+    /**
+     * Returns true if the given node is red. Null links are black.
+     *
+     * @param theNode the node to check
+     * @return true if the node is red
+     */
+    private boolean isRed(final BinaryTreeNode<T> theNode) {
+        return theNode != null && red(theNode).myRed;
+    }
+
+    /**
+     * Returns the given node as a red-black node. All nodes of this tree are.
+     *
+     * @param theNode the node
+     * @return the same node as a red-black node
+     */
+    private RedBlackNode<T> red(final BinaryTreeNode<T> theNode) {
+        return (RedBlackNode<T>) theNode;
+    }
+
+    /**
+     * Returns the node with the smallest element in the given subtree.
+     *
+     * @param theNode the root of a non-empty subtree
+     * @return the leftmost node of the subtree
+     */
+    private BinaryTreeNode<T> minNode(final BinaryTreeNode<T> theNode) {
+        BinaryTreeNode<T> current = theNode;
+        while (current.getLeft() != null) {
+            current = current.getLeft();
+        }
+        return current;
+    }
+
+    /**
+     * Returns the node holding an element equal to the target, or null.
+     *
+     * @param theTargetElement the element being sought
+     * @return the matching node, or null if there is none
+     */
+    private BinaryTreeNode<T> search(final T theTargetElement) {
+        checkNotThreaded();
+        BinaryTreeNode<T> current = myRoot;
+
+        while (current != null) {
+            final int cmp = compare(theTargetElement, current.getElement());
+            if (cmp == 0) {
+                break;
+            }
+            current = cmp < 0 ? current.getLeft() : current.getRight();
+        }
+        return current;
+    }
+
+    @Override
+    public boolean contains(final T theTargetElement) {
+        return search(theTargetElement) != null;
+    }
+
+    @Override
+    public T find(final T theTargetElement) throws ElementNotFoundException {
+        final BinaryTreeNode<T> current = search(theTargetElement);
+
+        if (current == null) {
+            throw new ElementNotFoundException(COLLECTION);
+        }
+        return current.getElement();
+    }
+
+    /**
+     * Returns the position of the specified element in ascending order. The
+     * search path and the subtree sizes give it in logarithmic time.
+     *
+     * @param theTargetElement the element being sought in this tree
+     * @return the zero based position of the element
+     * @throws ElementNotFoundException if the element is not in the tree
+     */
+    @Override
+    public int rank(final T theTargetElement) throws ElementNotFoundException {
+        checkNotThreaded();
+        BinaryTreeNode<T> current = myRoot;
+        int result = 0;
+
+        while (current != null) {
+            final int cmp = compare(theTargetElement, current.getElement());
+            if (cmp == 0) {
+                return result + BinaryTreeNode.sizeOf(current.getLeft());
+            }
+            if (cmp < 0) {
+                current = current.getLeft();
+            } else {
+                result = result + BinaryTreeNode.sizeOf(current.getLeft()) + 1;
+                current = current.getRight();
+            }
+        }
+        throw new ElementNotFoundException(COLLECTION);
+    }
+
+    @Override
+    public T findMin() throws EmptyCollectionException {
+        checkNotThreaded();
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return minNode(myRoot).getElement();
+    }
+
+    @Override
+    public T findMax() throws EmptyCollectionException {
+        checkNotThreaded();
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        BinaryTreeNode<T> current = myRoot;
+        while (current.getRight() != null) {
+            current = current.getRight();
+        }
+        return current.getElement();
+    }
+
+    @Override
+    public T floor(final T theElement) throws ElementNotFoundException {
+        checkNotThreaded();
+        BinaryTreeNode<T> current = myRoot;
+        BinaryTreeNode<T> result = null;
+
+        while (current != null) {
+            final int cmp = compare(theElement, current.getElement());
+            if (cmp == 0) {
+                return current.getElement();
+            }
+            if (cmp < 0) {
+                current = current.getLeft();
+            } else {
+                result = current;
+                current = current.getRight();
+            }
+        }
+        if (result == null) {
+            throw new ElementNotFoundException(COLLECTION);
+        }
+        return result.getElement();
+    }
+
+    @Override
+    public T ceiling(final T theElement) throws ElementNotFoundException {
+        checkNotThreaded();
+        BinaryTreeNode<T> current = myRoot;
+        BinaryTreeNode<T> result = null;
+
+        while (current != null) {
+            final int cmp = compare(theElement, current.getElement());
+            if (cmp == 0) {
+                return current.getElement();
+            }
+            if (cmp > 0) {
+                current = current.getRight();
+            } else {
+                result = current;
+                current = current.getLeft();
+            }
+        }
+        if (result == null) {
+            throw new ElementNotFoundException(COLLECTION);
+        }
+        return result.getElement();
+    }
+
+    @Override
+    public Iterator<T> iteratorRange(final T theLow, final T theHigh) {
+        checkNotThreaded();
+        return new TreeIterator(new RangeIterator(theLow, theHigh));
+    }
+
+    /**
+     * Lazy inorder iterator over the elements between two bounds. Subtrees
+     * that lie entirely outside the bounds are never visited.
+     */
+    private class RangeIterator implements Iterator<T> {
+        /** The nodes in range waiting to be visited. */
+        private final ArrayUnorderedList<BinaryTreeNode<T>> myStack;
+
+        /** The lowest element to include. */
+        private final T myLow;
+
+        /** The highest element to include. */
+        private final T myHigh;
+
+        /**
+         * Sets up this iterator for the given bounds.
+         *
+         * @param theLow the lowest element to include
+         * @param theHigh the highest element to include
+         */
+        RangeIterator(final T theLow, final T theHigh) {
+            myStack = new ArrayUnorderedList<>(STACK_CAPACITY);
+            myLow = theLow;
+            myHigh = theHigh;
+            pushLeftPath(myRoot);
+        }
+
+        /**
+         * Pushes the nodes on the left path of the given subtree that are not
+         * below the lower bound. Nodes below it are skipped to the right.
+         *
+         * @param theNode the root of the subtree
+         */
+        private void pushLeftPath(final BinaryTreeNode<T> theNode) {
+            BinaryTreeNode<T> current = theNode;
+            while (current != null) {
+                if (compare(current.getElement(), myLow) < 0) {
+                    current = current.getRight();
+                } else {
+                    myStack.addToRear(current);
+                    current = current.getLeft();
+                }
+            }
+            if (!myStack.isEmpty() && compare(myStack.last().getElement(), myHigh) > 0) {
+                //everything left to visit is above the upper bound
+                while (!myStack.isEmpty()) {
+                    myStack.removeLast();
+                }
+            }
+        }
+
+        /**
+         * Returns true if there are more elements in the range.
+         *
+         * @return true if there are more elements in the range
+         */
+        public boolean hasNext() {
+            return !myStack.isEmpty();
+        }
+
+        /**
+         * Returns the next element in the range.
+         *
+         * @return the next element in the range
+         * @throws NoSuchElementException if there are no more elements
+         */
+        public T next() {
+            if (myStack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            final BinaryTreeNode<T> current = myStack.removeLast();
+            pushLeftPath(current.getRight());
+            return current.getElement();
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package structures;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * The JFR event of a search of a tree or list by element. Only searches that
+ * take at least the threshold, 1 ms unless the recording sets another, are
+ * recorded, so a recording can run in production and still pick out the slow
+ * searches together with the stack that made them.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+@Name("structures.Search")
+@Label("Search")
+@Category({"Data Structures", "Search"})
+@Description("A search of a collection for an element")
+@Threshold("1 ms")
+final class SearchEvent extends jdk.jfr.Event {
+    /** The name of the collection searched. */
+    @Name("collection")
+    @Label("Collection")
+    String myCollection;
+
+    /** The number of elements in the collection, or -1 if not known cheaply. */
+    @Name("size")
+    @Label("Size")
+    int mySize;
+
+    /** The number of nodes or slots the search looked at. */
+    @Name("visited")
+    @Label("Visited")
+    int myVisited;
+
+    /** Whether the element was found. */
+    @Name("found")
+    @Label("Found")
+    boolean myFound;
+
+    /** Whether the search used a hash index instead of a scan. */
+    @Name("indexed")
+    @Label("Indexed")
+    boolean myIndexed;
+}
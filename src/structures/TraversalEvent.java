@@ -0,0 +1,39 @@
+package structures;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Threshold;
+
+/**
+ * The JFR event of a traversal of a tree that runs to completion inside one
+ * call, such as traverse() or iteratorLevelOrder(). The lazy iterators are
+ * not recorded, since their time is spent in the caller between calls. Only
+ * traversals that take at least the threshold, 1 ms unless the recording sets
+ * another, are recorded.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+@Name("structures.Traversal")
+@Label("Traversal")
+@Category({"Data Structures", "Traversal"})
+@Description("A traversal of a tree")
+@Threshold("1 ms")
+final class TraversalEvent extends jdk.jfr.Event {
+    /** The name of the collection traversed. */
+    @Name("collection")
+    @Label("Collection")
+    String myCollection;
+
+    /** The traversal order. */
+    @Name("order")
+    @Label("Order")
+    String myOrder;
+
+    /** The number of elements visited. */
+    @Name("visited")
+    @Label("Visited")
+    int myVisited;
+}
@@ -0,0 +1,22 @@
+package structures;
+
+/**
+ * TraversalOrder names the orders in which the nodes of a binary tree can be
+ * visited.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public enum TraversalOrder {
+    /** Left subtree, node, right subtree. */
+    IN_ORDER,
+
+    /** Node, left subtree, right subtree. */
+    PRE_ORDER,
+
+    /** Left subtree, right subtree, node. */
+    POST_ORDER,
+
+    /** Level by level from the root, left to right within a level. */
+    LEVEL_ORDER
+}
@@ -0,0 +1,264 @@
+package structures;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAdder;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * TreeMetrics counts the searches, traversals and array growths of the
+ * collections in this package, and keeps histograms of how long searches and
+ * traversals take. The same operations are also reported as the JFR events
+ * structures.Search, structures.Traversal and structures.ArrayGrowth, which a
+ * recording turns on independently of these counters.
+ *
+ * The counters are off unless the system property structures.metrics is
+ * true or setEnabled(true) is called. While both they and the JFR events are
+ * off, an instrumented operation costs one volatile read and one check of the
+ * event, and no clock reads or node counts are done. While on, the counters
+ * are LongAdders, so threads that record at once do not contend on them.
+ * Call registerMBean() to read them over JMX as structures:type=TreeMetrics.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public final class TreeMetrics implements TreeMetricsMXBean {
+    /** The name of the MBean. */
+    public static final String OBJECT_NAME = "structures:type=TreeMetrics";
+
+    /** The system property that turns the counters on at startup. */
+    public static final String ENABLED_PROPERTY = "structures.metrics";
+
+    /** The only instance. */
+    private static final TreeMetrics INSTANCE = new TreeMetrics();
+
+    /** Whether the counters are updated. */
+    private volatile boolean myEnabled;
+
+    /** The number of searches. */
+    private final LongAdder mySearches;
+
+    /** The number of nodes visited by searches. */
+    private final LongAdder mySearchVisits;
+
+    /** The number of searches that found nothing. */
+    private final LongAdder mySearchMisses;
+
+    /** The durations of searches. */
+    private final LatencyHistogram mySearchLatency;
+
+    /** The number of traversals. */
+    private final LongAdder myTraversals;
+
+    /** The number of elements visited by traversals. */
+    private final LongAdder myTraversalElements;
+
+    /** The durations of traversals. */
+    private final LatencyHistogram myTraversalLatency;
+
+    /** The number of array growths. */
+    private final LongAdder myGrowths;
+
+    /** The number of elements copied by array growths. */
+    private final LongAdder myGrowthCopies;
+
+    /**
+     * Creates the counters.
+     */
+    private TreeMetrics() {
+        myEnabled = Boolean.getBoolean(ENABLED_PROPERTY);
+        mySearches = new LongAdder();
+        mySearchVisits = new LongAdder();
+        mySearchMisses = new LongAdder();
+        mySearchLatency = new LatencyHistogram();
+        myTraversals = new LongAdder();
+        myTraversalElements = new LongAdder();
+        myTraversalLatency = new LatencyHistogram();
+        myGrowths = new LongAdder();
+        myGrowthCopies = new LongAdder();
+    }
+
+    /**
+     * Returns the metrics of this package.
+     *
+     * @return the only instance
+     */
+    public static TreeMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns true if the counters are on. Instrumented code checks this
+     * before doing any work for them.
+     *
+     * @return true if the counters are on
+     */
+    static boolean enabled() {
+        return INSTANCE.myEnabled;
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server. Registering more
+     * than once does nothing.
+     *
+     * @throws IllegalStateException if the server refuses the MBean
+     */
+    public static void registerMBean() {
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+        } catch (final InstanceAlreadyExistsException e) {
+            //already registered
+        } catch (final JMException e) {
+            throw new IllegalStateException("Cannot register " + OBJECT_NAME, e);
+        }
+    }
+
+    /**
+     * Counts a search if the counters are on.
+     *
+     * @param theVisited the number of nodes or slots looked at
+     * @param theFound whether the element was found
+     * @param theNanos how long the search took
+     */
+    static void recordSearch(final int theVisited, final boolean theFound, final long theNanos) {
+        if (INSTANCE.myEnabled) {
+            INSTANCE.mySearches.increment();
+            INSTANCE.mySearchVisits.add(theVisited);
+            if (!theFound) {
+                INSTANCE.mySearchMisses.increment();
+            }
+            INSTANCE.mySearchLatency.record(theNanos);
+        }
+    }
+
+    /**
+     * Counts a traversal if the counters are on.
+     *
+     * @param theVisited the number of elements visited
+     * @param theNanos how long the traversal took
+     */
+    static void recordTraversal(final int theVisited, final long theNanos) {
+        if (INSTANCE.myEnabled) {
+            INSTANCE.myTraversals.increment();
+            INSTANCE.myTraversalElements.add(theVisited);
+            INSTANCE.myTraversalLatency.record(theNanos);
+        }
+    }
+
+    /**
+     * Counts an array growth if the counters are on.
+     *
+     * @param theCopied the number of elements copied
+     */
+    static void recordGrowth(final int theCopied) {
+        if (INSTANCE.myEnabled) {
+            INSTANCE.myGrowths.increment();
+            INSTANCE.myGrowthCopies.add(theCopied);
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return myEnabled;
+    }
+
+    @Override
+    public void setEnabled(final boolean theEnabled) {
+        myEnabled = theEnabled;
+    }
+
+    @Override
+    public long getSearchCount() {
+        return mySearches.sum();
+    }
+
+    @Override
+    public long getSearchNodesVisited() {
+        return mySearchVisits.sum();
+    }
+
+    @Override
+    public long getSearchMisses() {
+        return mySearchMisses.sum();
+    }
+
+    /**
+     * Returns the histogram of search durations.
+     *
+     * @return the live histogram
+     */
+    public LatencyHistogram getSearchLatency() {
+        return mySearchLatency;
+    }
+
+    @Override
+    public long[] getSearchLatencyBuckets() {
+        return mySearchLatency.getBuckets();
+    }
+
+    @Override
+    public long getSearchLatencyP50() {
+        return mySearchLatency.getPercentile(50);
+    }
+
+    @Override
+    public long getSearchLatencyP99() {
+        return mySearchLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getTraversalCount() {
+        return myTraversals.sum();
+    }
+
+    @Override
+    public long getTraversalElements() {
+        return myTraversalElements.sum();
+    }
+
+    /**
+     * Returns the histogram of traversal durations.
+     *
+     * @return the live histogram
+     */
+    public LatencyHistogram getTraversalLatency() {
+        return myTraversalLatency;
+    }
+
+    @Override
+    public long[] getTraversalLatencyBuckets() {
+        return myTraversalLatency.getBuckets();
+    }
+
+    @Override
+    public long getTraversalLatencyP99() {
+        return myTraversalLatency.getPercentile(99);
+    }
+
+    @Override
+    public long getArrayGrowthCount() {
+        return myGrowths.sum();
+    }
+
+    @Override
+    public long getArrayGrowthCopies() {
+        return myGrowthCopies.sum();
+    }
+
+    @Override
+    public void reset() {
+        mySearches.reset();
+        mySearchVisits.reset();
+        mySearchMisses.reset();
+        mySearchLatency.reset();
+        myTraversals.reset();
+        myTraversalElements.reset();
+        myTraversalLatency.reset();
+        myGrowths.reset();
+        myGrowthCopies.reset();
+    }
+}
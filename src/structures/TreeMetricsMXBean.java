@@ -0,0 +1,113 @@
+package structures;
+
+/**
+ * The JMX view of TreeMetrics. Durations are in nanoseconds.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public interface TreeMetricsMXBean {
+
+    /**
+     * Returns true if the counters are being updated.
+     *
+     * @return true if metrics are on
+     */
+    boolean isEnabled();
+
+    /**
+     * Turns the counters on or off.
+     *
+     * @param theEnabled true to update the counters
+     */
+    void setEnabled(boolean theEnabled);
+
+    /**
+     * Returns the number of searches by element.
+     *
+     * @return the search count
+     */
+    long getSearchCount();
+
+    /**
+     * Returns the number of nodes or slots looked at by all searches.
+     *
+     * @return the number of nodes visited
+     */
+    long getSearchNodesVisited();
+
+    /**
+     * Returns the number of searches that did not find the element.
+     *
+     * @return the miss count
+     */
+    long getSearchMisses();
+
+    /**
+     * Returns the number of search durations in each power-of-two bucket.
+     *
+     * @return the bucket counts
+     */
+    long[] getSearchLatencyBuckets();
+
+    /**
+     * Returns an upper bound of the median search duration.
+     *
+     * @return the bound in nanoseconds
+     */
+    long getSearchLatencyP50();
+
+    /**
+     * Returns an upper bound of the 99th percentile search duration.
+     *
+     * @return the bound in nanoseconds
+     */
+    long getSearchLatencyP99();
+
+    /**
+     * Returns the number of complete traversals.
+     *
+     * @return the traversal count
+     */
+    long getTraversalCount();
+
+    /**
+     * Returns the number of elements visited by all traversals.
+     *
+     * @return the number of elements visited
+     */
+    long getTraversalElements();
+
+    /**
+     * Returns the number of traversal durations in each power-of-two bucket.
+     *
+     * @return the bucket counts
+     */
+    long[] getTraversalLatencyBuckets();
+
+    /**
+     * Returns an upper bound of the 99th percentile traversal duration.
+     *
+     * @return the bound in nanoseconds
+     */
+    long getTraversalLatencyP99();
+
+    /**
+     * Returns the number of times an array list grew its array.
+     *
+     * @return the growth count
+     */
+    long getArrayGrowthCount();
+
+    /**
+     * Returns the number of elements copied by all array growths.
+     *
+     * @return the number of elements copied
+     */
+    long getArrayGrowthCopies();
+
+    /**
+     * Sets every counter and histogram back to zero.
+     */
+    void reset();
+}
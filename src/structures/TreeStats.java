@@ -0,0 +1,202 @@
+package structures;
+
+import java.util.Arrays;
+
+/**
+ * TreeStats holds the shape statistics of a binary tree: its height, size,
+ * the number of leaf, one-child and two-child nodes and the number of nodes
+ * on each level. All of them are gathered in a single iterative traversal
+ * with an explicit stack, so deep trees cannot overflow the call stack.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ */
+public final class TreeStats {
+    /** The initial capacity of the traversal stack and the level widths. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The height of the tree, -1 if the tree is empty. */
+    private final int myHeight;
+
+    /** The number of nodes in the tree. */
+    private final int mySize;
+
+    /** The number of nodes with no children. */
+    private final int myLeafCount;
+
+    /** The number of nodes with exactly one child. */
+    private final int myOneChildCount;
+
+    /** The number of nodes with two children. */
+    private final int myTwoChildCount;
+
+    /** The number of nodes on each level, indexed by depth. */
+    private final int[] myLevelWidths;
+
+    /**
+     * Creates the statistics from the gathered counts.
+     *
+     * @param theSize the number of nodes
+     * @param theLeafCount the number of nodes with no children
+     * @param theOneChildCount the number of nodes with one child
+     * @param theLevelWidths the number of nodes on each level
+     */
+    private TreeStats(final int theSize, final int theLeafCount,
+                      final int theOneChildCount, final int[] theLevelWidths) {
+        mySize = theSize;
+        myLeafCount = theLeafCount;
+        myOneChildCount = theOneChildCount;
+        myTwoChildCount = theSize - theLeafCount - theOneChildCount;
+        myLevelWidths = theLevelWidths;
+        myHeight = theLevelWidths.length - 1;
+    }
+
+    /**
+     * Computes the statistics of the tree rooted at the given node.
+     *
+     * @param theRoot the root of the tree, may be null for an empty tree
+     * @param <T> the generic data type
+     * @return the statistics of the tree
+     */
+    public static <T> TreeStats compute(final BinaryTreeNode<T> theRoot) {
+        final ArrayUnorderedList<BinaryTreeNode<T>> nodes =
+                        new ArrayUnorderedList<>(INITIAL_CAPACITY);
+        int[] depths = new int[INITIAL_CAPACITY];
+        int[] widths = new int[INITIAL_CAPACITY];
+        int levels = 0;
+        int size = 0;
+        int leaves = 0;
+        int oneChild = 0;
+
+        if (theRoot != null) {
+            nodes.addToRear(theRoot);
+        }
+        while (!nodes.isEmpty()) {
+            final BinaryTreeNode<T> current = nodes.removeLast();
+            //the depth stack always has the same height as the node stack
+            final int depth = depths[nodes.size()];
+
+            if (depth == widths.length) {
+                widths = Arrays.copyOf(widths, widths.length * 2);
+            }
+            widths[depth]++;
+            levels = Math.max(levels, depth + 1);
+            size++;
+
+            int children = 0;
+            if (current.getRight() != null) {
+                depths = push(depths, nodes.size(), depth + 1);
+                nodes.addToRear(current.getRight());
+                children++;
+            }
+            if (current.getLeft() != null) {
+                depths = push(depths, nodes.size(), depth + 1);
+                nodes.addToRear(current.getLeft());
+                children++;
+            }
+            if (children == 0) {
+                leaves++;
+            } else if (children == 1) {
+                oneChild++;
+            }
+        }
+        return new TreeStats(size, leaves, oneChild, Arrays.copyOf(widths, levels));
+    }
+
+    /**
+     * Stores a depth at the given stack position, growing the stack if needed.
+     *
+     * @param theDepths the depth stack
+     * @param theIndex the position to store at
+     * @param theDepth the depth to store
+     * @return the depth stack, which may be a new larger array
+     */
+    private static int[] push(final int[] theDepths, final int theIndex,
+                              final int theDepth) {
+        int[] result = theDepths;
+        if (theIndex == result.length) {
+            result = Arrays.copyOf(result, result.length * 2);
+        }
+        result[theIndex] = theDepth;
+        return result;
+    }
+
+    /**
+     * Returns the height of the tree, or -1 if the tree is empty.
+     *
+     * @return the height of the tree
+     */
+    public int getHeight() {
+        return myHeight;
+    }
+
+    /**
+     * Returns the number of nodes in the tree.
+     *
+     * @return the number of nodes in the tree
+     */
+    public int getSize() {
+        return mySize;
+    }
+
+    /**
+     * Returns the number of nodes with no children.
+     *
+     * @return the number of leaf nodes
+     */
+    public int getLeafCount() {
+        return myLeafCount;
+    }
+
+    /**
+     * Returns the number of nodes with exactly one child.
+     *
+     * @return the number of one-child nodes
+     */
+    public int getOneChildCount() {
+        return myOneChildCount;
+    }
+
+    /**
+     * Returns the number of nodes with two children.
+     *
+     * @return the number of two-child nodes
+     */
+    public int getTwoChildCount() {
+        return myTwoChildCount;
+    }
+
+    /**
+     * Returns the number of nodes at the given depth. The root is at depth 0.
+     *
+     * @param theLevel the depth of the level
+     * @return the number of nodes on that level, 0 if the tree is not that deep
+     */
+    public int getLevelWidth(final int theLevel) {
+        int result = 0;
+        if (theLevel >= 0 && theLevel < myLevelWidths.length) {
+            result = myLevelWidths[theLevel];
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of nodes on each level, indexed by depth.
+     *
+     * @return a copy of the level widths
+     */
+    public int[] getLevelWidths() {
+        return myLevelWidths.clone();
+    }
+
+    /**
+     * Returns a string representation of these statistics.
+     *
+     * @return a string representation of these statistics
+     */
+    public String toString() {
+        return "TreeStats[height=" + myHeight + ", size=" + mySize + ", leaves="
+               + myLeafCount + ", oneChild=" + myOneChildCount + ", twoChild="
+               + myTwoChildCount + ", widths=" + Arrays.toString(myLevelWidths) + ']';
+    }
+}
@@ -0,0 +1,518 @@
+package structures;
+
+import exceptions.ElementNotFoundException;
+import exceptions.EmptyCollectionException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * UnrolledUnorderedList is an unordered list stored as a doubly linked list
+ * of chunks, each an array of up to a fixed number of elements. Inserting or
+ * removing an element shifts only the elements of its own chunk, and a full
+ * chunk is split in two rather than the whole list being copied, so once
+ * addAfter() or remove() has found its target the edit takes O(chunk size)
+ * time, however long the list. Finding the target is still a scan, but one
+ * that reads arrays front to rear, as iteration does.
+ *
+ * A full chunk splits into two halves, and after a removal a chunk is merged
+ * with a neighbor whenever the two fit in one chunk, so the arrays stay
+ * roughly half full or better. Each chunk costs its array and a small header
+ * besides. Operations at the front shift the elements of the first chunk,
+ * so removeFirst() and addToFront() take O(chunk size) rather than the
+ * constant time of ArrayUnorderedList. Null elements are allowed, and
+ * contains(), remove() and addAfter() match them like any other element.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ * @param <T> the generic data type
+ */
+public class UnrolledUnorderedList<T> implements UnorderedListADT<T> {
+    /** UnrolledUnorderedList string. */
+    public static final String COLLECTION = "UnrolledUnorderedList";
+
+    /** The default number of elements in a chunk. */
+    private static final int DEFAULT_CHUNK_CAPACITY = 64;
+
+    /** The smallest number of elements in a chunk. */
+    private static final int MIN_CHUNK_CAPACITY = 2;
+
+    /** The number of elements each chunk can hold. */
+    private final int myChunkCapacity;
+
+    /** The first chunk, or null if the list is empty. */
+    private Chunk<T> myHead;
+
+    /** The last chunk, or null if the list is empty. */
+    private Chunk<T> myTail;
+
+    /** The number of elements in the list. */
+    private int myCount;
+
+    /** Counts the number of times the list has been modified. */
+    private int myModCount;
+
+    /**
+     * Creates an empty list with chunks of the default capacity.
+     */
+    public UnrolledUnorderedList() {
+        this(DEFAULT_CHUNK_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list with chunks of the given capacity.
+     *
+     * @param theChunkCapacity the number of elements each chunk can hold
+     * @throws IllegalArgumentException if the capacity is less than 2
+     */
+    public UnrolledUnorderedList(final int theChunkCapacity) {
+        if (theChunkCapacity < MIN_CHUNK_CAPACITY) {
+            throw new IllegalArgumentException("Chunk capacity too small: "
+                                               + theChunkCapacity);
+        }
+        myChunkCapacity = theChunkCapacity;
+    }
+
+    /**
+     * Adds the specified element to the front of this list. A full first
+     * chunk is preceded by a new one rather than split.
+     *
+     * @param theElement the element to be added to the front of the list
+     */
+    @Override
+    public void addToFront(final T theElement) {
+        if (myHead == null || myHead.myCount == myChunkCapacity) {
+            newChunk(null);
+        }
+        insert(myHead, 0, theElement);
+    }
+
+    /**
+     * Adds the specified element to the rear of this list. A full last chunk
+     * is followed by a new one rather than split, so a list built by adding
+     * to the rear has full chunks.
+     *
+     * @param theElement the element to be added to the rear of the list
+     */
+    @Override
+    public void addToRear(final T theElement) {
+        if (myTail == null || myTail.myCount == myChunkCapacity) {
+            newChunk(myTail);
+        }
+        insert(myTail, myTail.myCount, theElement);
+    }
+
+    /**
+     * Adds the specified element after the first occurrence of the target
+     * element. Throws an ElementNotFoundException if the target is not found.
+     *
+     * @param theElement the element to be added after the target element
+     * @param theTarget the target that the element is to be added after
+     * @throws ElementNotFoundException if the target is not in the list
+     */
+    @Override
+    public void addAfter(final T theElement, final T theTarget) {
+        for (Chunk<T> chunk = myHead; chunk != null; chunk = chunk.myNext) {
+            final int index = chunk.indexOf(theTarget);
+            if (index >= 0) {
+                final Chunk<T> next = chunk.myNext;
+                if (index + 1 == chunk.myCount && chunk.myCount == myChunkCapacity
+                    && next != null && next.myCount < myChunkCapacity) {
+                    //the start of the next chunk is the same position
+                    insert(next, 0, theElement);
+                } else {
+                    insert(chunk, index + 1, theElement);
+                }
+                return;
+            }
+        }
+        throw new ElementNotFoundException(COLLECTION);
+    }
+
+    /**
+     * Removes and returns the first element in this list.
+     *
+     * @return the first element in the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T removeFirst() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return removeAt(myHead, 0);
+    }
+
+    /**
+     * Removes and returns the last element in this list.
+     *
+     * @return the last element in the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T removeLast() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return removeAt(myTail, myTail.myCount - 1);
+    }
+
+    /**
+     * Removes and returns the first occurrence of the specified element.
+     *
+     * @param theElement the element to be removed and returned from the list
+     * @return the removed element
+     * @throws ElementNotFoundException if the element is not in the list
+     */
+    @Override
+    public T remove(final T theElement) {
+        for (Chunk<T> chunk = myHead; chunk != null; chunk = chunk.myNext) {
+            final int index = chunk.indexOf(theElement);
+            if (index >= 0) {
+                return removeAt(chunk, index);
+            }
+        }
+        throw new ElementNotFoundException(COLLECTION);
+    }
+
+    /**
+     * Returns a reference to the element at the front of this list.
+     *
+     * @return a reference to the first element in the list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T first() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return myHead.myElements[0];
+    }
+
+    /**
+     * Returns a reference to the element at the rear of this list.
+     *
+     * @return a reference to the last element of this list
+     * @throws EmptyCollectionException if the list is empty
+     */
+    @Override
+    public T last() throws EmptyCollectionException {
+        if (isEmpty()) {
+            throw new EmptyCollectionException(COLLECTION);
+        }
+        return myTail.myElements[myTail.myCount - 1];
+    }
+
+    /**
+     * Returns true if this list contains the specified element.
+     *
+     * @param theTarget the target element
+     * @return true if the target is in the list, false otherwise
+     */
+    @Override
+    public boolean contains(final T theTarget) {
+        for (Chunk<T> chunk = myHead; chunk != null; chunk = chunk.myNext) {
+            if (chunk.indexOf(theTarget) >= 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return myCount == 0;
+    }
+
+    @Override
+    public int size() {
+        return myCount;
+    }
+
+    /**
+     * Returns a string representation of this list, one element per line.
+     *
+     * @return the string representation of the list
+     */
+    @Override
+    public String toString() {
+        final StringBuilder result = new StringBuilder();
+        try {
+            writeTo(result, ExportFormat.TEXT);
+        } catch (final IOException e) {
+            //a StringBuilder does not throw
+            throw new UncheckedIOException(e);
+        }
+        return result.toString();
+    }
+
+    /**
+     * Writes this list to the output in the given format, front to rear, as
+     * the elements are read. The output is not flushed or closed.
+     *
+     * @param theOut where the output goes
+     * @param theFormat the format
+     * @throws IOException if the output cannot be written
+     */
+    public void writeTo(final Appendable theOut, final ExportFormat theFormat)
+                    throws IOException {
+        Exporter.writeList(iterator(), theFormat, theOut, getClass().getSimpleName());
+    }
+
+    /**
+     * Writes this list to the channel in the given format, encoded as UTF-8,
+     * through buffers of fixed size. The channel is not closed.
+     *
+     * @param theChannel where the output goes
+     * @param theFormat the format
+     * @throws IOException if the channel cannot be written
+     */
+    public void writeTo(final WritableByteChannel theChannel, final ExportFormat theFormat)
+                    throws IOException {
+        final ChannelAppendable out = new ChannelAppendable(theChannel);
+        writeTo(out, theFormat);
+        out.finish();
+    }
+
+    /**
+     * Returns an iterator over the elements from front to rear. It does not
+     * support remove().
+     *
+     * @return an iterator over the elements in the list
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new ChunkIterator();
+    }
+
+    /**
+     * Creates an empty chunk and links it after the given one, updating the
+     * head and tail.
+     *
+     * @param thePrevious the chunk to follow, or null to become the head
+     * @return the new chunk
+     */
+    private Chunk<T> newChunk(final Chunk<T> thePrevious) {
+        final Chunk<T> chunk = new Chunk<T>(myChunkCapacity);
+        chunk.myPrevious = thePrevious;
+        if (thePrevious == null) {
+            chunk.myNext = myHead;
+            if (myHead != null) {
+                myHead.myPrevious = chunk;
+            }
+            myHead = chunk;
+        } else {
+            chunk.myNext = thePrevious.myNext;
+            if (thePrevious.myNext != null) {
+                thePrevious.myNext.myPrevious = chunk;
+            }
+            thePrevious.myNext = chunk;
+        }
+        if (chunk.myNext == null) {
+            myTail = chunk;
+        }
+        return chunk;
+    }
+
+    /**
+     * Inserts an element at a position of a chunk, first splitting the chunk
+     * in half if it is full.
+     *
+     * @param theChunk the chunk
+     * @param theIndex the position in the chunk, from 0 to its count
+     * @param theElement the element to insert
+     */
+    private void insert(final Chunk<T> theChunk, final int theIndex, final T theElement) {
+        Chunk<T> chunk = theChunk;
+        int index = theIndex;
+        if (chunk.myCount == myChunkCapacity) {
+            final Chunk<T> upper = newChunk(chunk);
+            final int half = myChunkCapacity / 2;
+            final int moved = chunk.myCount - half;
+            System.arraycopy(chunk.myElements, half, upper.myElements, 0, moved);
+            Arrays.fill(chunk.myElements, half, chunk.myCount, null);
+            upper.myCount = moved;
+            chunk.myCount = half;
+            if (index > half) {
+                chunk = upper;
+                index -= half;
+            }
+        }
+        System.arraycopy(chunk.myElements, index, chunk.myElements, index + 1,
+                         chunk.myCount - index);
+        chunk.myElements[index] = theElement;
+        chunk.myCount++;
+        myCount++;
+        myModCount++;
+    }
+
+    /**
+     * Removes the element at a position of a chunk, then unlinks the chunk
+     * if it is empty or merges it with a neighbor if the two fit in one.
+     *
+     * @param theChunk the chunk
+     * @param theIndex the position in the chunk
+     * @return the removed element
+     */
+    private T removeAt(final Chunk<T> theChunk, final int theIndex) {
+        final T result = theChunk.myElements[theIndex];
+        System.arraycopy(theChunk.myElements, theIndex + 1, theChunk.myElements, theIndex,
+                         theChunk.myCount - theIndex - 1);
+        theChunk.myCount--;
+        theChunk.myElements[theChunk.myCount] = null;
+        myCount--;
+        myModCount++;
+
+        if (theChunk.myCount == 0) {
+            unlink(theChunk);
+        } else if (theChunk.myNext != null
+                   && theChunk.myCount + theChunk.myNext.myCount <= myChunkCapacity) {
+            merge(theChunk, theChunk.myNext);
+        } else if (theChunk.myPrevious != null
+                   && theChunk.myCount + theChunk.myPrevious.myCount <= myChunkCapacity) {
+            merge(theChunk.myPrevious, theChunk);
+        }
+        return result;
+    }
+
+    /**
+     * Moves the elements of a chunk to the end of the one before it and
+     * unlinks it.
+     *
+     * @param theFirst the chunk that keeps the elements
+     * @param theSecond the chunk after it, which is removed
+     */
+    private void merge(final Chunk<T> theFirst, final Chunk<T> theSecond) {
+        System.arraycopy(theSecond.myElements, 0, theFirst.myElements, theFirst.myCount,
+                         theSecond.myCount);
+        theFirst.myCount += theSecond.myCount;
+        unlink(theSecond);
+    }
+
+    /**
+     * Unlinks a chunk from the list of chunks.
+     *
+     * @param theChunk the chunk to unlink
+     */
+    private void unlink(final Chunk<T> theChunk) {
+        if (theChunk.myPrevious == null) {
+            myHead = theChunk.myNext;
+        } else {
+            theChunk.myPrevious.myNext = theChunk.myNext;
+        }
+        if (theChunk.myNext == null) {
+            myTail = theChunk.myPrevious;
+        } else {
+            theChunk.myNext.myPrevious = theChunk.myPrevious;
+        }
+    }
+
+    /**
+     * A chunk of elements, held at the start of its array.
+     *
+     * @param <T> the generic data type
+     */
+    private static final class Chunk<T> {
+        /** The elements; those from myCount on are null. */
+        private final T[] myElements;
+
+        /** The number of elements in the chunk. */
+        private int myCount;
+
+        /** The previous chunk, or null. */
+        private Chunk<T> myPrevious;
+
+        /** The next chunk, or null. */
+        private Chunk<T> myNext;
+
+        /**
+         * Creates an empty chunk.
+         *
+         * @param theCapacity the number of elements it can hold
+         */
+        @SuppressWarnings("unchecked")
+        Chunk(final int theCapacity) {
+            myElements = (T[]) new Object[theCapacity];
+        }
+
+        /**
+         * Returns the position of the first element equal to the target, or
+         * -1 if there is none.
+         *
+         * @param theTarget the target element, may be null
+         * @return the position in this chunk, or -1
+         */
+        int indexOf(final T theTarget) {
+            for (int i = 0; i < myCount; i++) {
+                if (Objects.equals(theTarget, myElements[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    /**
+     * ChunkIterator iterates over the elements from front to rear.
+     */
+    private class ChunkIterator implements Iterator<T> {
+        /** The modification count when the iterator was created. */
+        private final int myExpectedModCount;
+
+        /** The chunk of the next element. */
+        private Chunk<T> myChunk;
+
+        /** The position of the next element in its chunk. */
+        private int myIndex;
+
+        /**
+         * Starts at the front of the list.
+         */
+        ChunkIterator() {
+            myExpectedModCount = myModCount;
+            myChunk = myHead;
+        }
+
+        /**
+         * Returns true if there is another element.
+         *
+         * @return true if there is another element
+         * @throws ConcurrentModificationException if the list has changed
+         */
+        @Override
+        public boolean hasNext() throws ConcurrentModificationException {
+            if (myExpectedModCount != myModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return myChunk != null;
+        }
+
+        /**
+         * Returns the next element.
+         *
+         * @return the next element
+         * @throws NoSuchElementException if there are no more elements
+         * @throws ConcurrentModificationException if the list has changed
+         */
+        @Override
+        public T next() throws ConcurrentModificationException {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            final T result = myChunk.myElements[myIndex];
+            myIndex++;
+            if (myIndex == myChunk.myCount) {
+                myChunk = myChunk.myNext;
+                myIndex = 0;
+            }
+            return result;
+        }
+    }
+}
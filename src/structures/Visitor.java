@@ -0,0 +1,22 @@
+package structures;
+
+/**
+ * Visitor is called back with the elements of a collection, one at a time,
+ * by an internal traversal such as LinkedBinaryTree.traverse(). Its return
+ * value tells the traversal whether to go on.
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ * @param <T> the generic data type
+ */
+@FunctionalInterface
+public interface Visitor<T> {
+    /**
+     * Visits one element.
+     *
+     * @param theElement the element
+     * @return true to go on with the traversal, false to stop it
+     */
+    boolean visit(T theElement);
+}
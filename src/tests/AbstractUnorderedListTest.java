@@ -0,0 +1,256 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import exceptions.ElementNotFoundException;
+import exceptions.EmptyCollectionException;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Random;
+import org.junit.Before;
+import org.junit.Test;
+
+import structures.ArrayUnorderedList;
+import structures.UnorderedListADT;
+
+/**
+ * The tests every UnorderedListADT implementation must pass. A subclass
+ * supplies the list under test through createList() and adds the tests
+ * that only apply to its implementation.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public abstract class AbstractUnorderedListTest {
+
+    /** The number of random operations compared with ArrayUnorderedList. */
+    private static final int OPERATIONS = 20000;
+
+    /** The number of distinct elements in the random test, kept small for duplicates. */
+    private static final int DISTINCT = 12;
+
+    /** The number of elements used by the larger tests. */
+    protected static final int MANY = 1000;
+
+    /** The list under test. */
+    private UnorderedListADT<Integer> myList;
+
+    /**
+     * Creates an empty list of the implementation under test.
+     *
+     * @return an empty list
+     */
+    protected abstract UnorderedListADT<Integer> createList();
+
+    /**
+     * Method to initialize test fixtures.
+     */
+    @Before
+    public void setUp() {
+        myList = createList();
+    }
+
+    /**
+     * Test the addToFront(), addToRear() and addAfter() methods.
+     */
+    @Test
+    public void testAdd() {
+        myList.addToRear(2);
+        myList.addToFront(1);
+        myList.addToRear(4);
+        myList.addAfter(3, 2);
+        myList.addToFront(0);
+        assertEquals("Unexpected order", "0 1 2 3 4", join(myList));
+        assertEquals("Unexpected first", Integer.valueOf(0), myList.first());
+        assertEquals("Unexpected last", Integer.valueOf(4), myList.last());
+        assertEquals("Unexpected size", 5, myList.size());
+    }
+
+    /**
+     * Test that remove() and addAfter() use the first occurrence of an
+     * element.
+     */
+    @Test
+    public void testDuplicates() {
+        myList.addToRear(1);
+        myList.addToRear(2);
+        myList.addToRear(1);
+        myList.addToRear(2);
+        myList.addAfter(1, 2);
+        assertEquals("After add", "1 2 1 1 2", join(myList));
+        myList.addAfter(0, 1);
+        assertEquals("After first", "1 0 2 1 1 2", join(myList));
+        assertEquals("Removed", Integer.valueOf(1), myList.remove(1));
+        assertEquals("After remove", "0 2 1 1 2", join(myList));
+        myList.addAfter(3, 1);
+        assertEquals("After second", "0 2 1 3 1 2", join(myList));
+        myList.remove(2);
+        myList.remove(1);
+        myList.remove(1);
+        assertEquals("Last of its kind", "0 3 2", join(myList));
+        assertFalse("No more ones", myList.contains(1));
+        assertTrue("Still a two", myList.contains(2));
+    }
+
+    /**
+     * Test contains() and remove() on many elements.
+     */
+    @Test
+    public void testContainsAndRemove() {
+        for (int i = 0; i < MANY; i++) {
+            myList.addToRear(i);
+        }
+        for (int i = 0; i < MANY; i += 2) {
+            assertEquals("Removed", Integer.valueOf(i), myList.remove(i));
+        }
+        for (int i = 0; i < MANY; i++) {
+            assertEquals("Contains " + i, i % 2 == 1, myList.contains(i));
+        }
+        assertEquals("Unexpected size", MANY / 2, myList.size());
+        assertEquals("Unexpected first", Integer.valueOf(1), myList.first());
+    }
+
+    /**
+     * Test that null elements are allowed.
+     */
+    @Test
+    public void testNull() {
+        myList.addToRear(null);
+        myList.addToRear(1);
+        assertTrue("Contains null", myList.contains(null));
+        myList.addAfter(2, null);
+        assertEquals("With null", "null 2 1", join(myList));
+        assertNull("Removed null", myList.remove(null));
+        assertFalse("Null gone", myList.contains(null));
+    }
+
+    /**
+     * Test random operations against ArrayUnorderedList, with many equal
+     * elements.
+     */
+    @Test
+    public void testAgainstArrayList() {
+        compare(myList, new Random(2));
+    }
+
+    /**
+     * Test the addAfter() method with a missing target.
+     */
+    @Test(expected = ElementNotFoundException.class)
+    public void testAddAfterMissing() {
+        myList.addToRear(1);
+        myList.addAfter(2, 3);
+    }
+
+    /**
+     * Test the remove() method with a missing element.
+     */
+    @Test(expected = ElementNotFoundException.class)
+    public void testRemoveMissing() {
+        myList.addToRear(1);
+        myList.remove(2);
+    }
+
+    /**
+     * Test the removeLast() method on an empty list.
+     */
+    @Test(expected = EmptyCollectionException.class)
+    public void testRemoveLastEmpty() {
+        myList.addToRear(1);
+        myList.removeFirst();
+        myList.removeLast();
+    }
+
+    /**
+     * Test the first() method on an empty list.
+     */
+    @Test(expected = EmptyCollectionException.class)
+    public void testFirstEmpty() {
+        myList.first();
+    }
+
+    /**
+     * Test that the iterator fails fast when the list changes.
+     */
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIteratorModified() {
+        myList.addToRear(1);
+        myList.addToRear(2);
+        final Iterator<Integer> itr = myList.iterator();
+        itr.next();
+        myList.remove(2);
+        itr.hasNext();
+    }
+
+    /**
+     * Runs random operations on a list and on an ArrayUnorderedList and
+     * compares them, with many equal elements.
+     *
+     * @param theList the list under test
+     * @param theRandom the source of the operations
+     */
+    protected static void compare(final UnorderedListADT<Integer> theList,
+                                  final Random theRandom) {
+        final ArrayUnorderedList<Integer> expected = new ArrayUnorderedList<>();
+        for (int i = 0; i < OPERATIONS; i++) {
+            final Integer element = theRandom.nextInt(DISTINCT);
+            final Integer target = theRandom.nextInt(DISTINCT);
+            switch (theRandom.nextInt(6)) {
+                case 0:
+                    expected.addToFront(element);
+                    theList.addToFront(element);
+                    break;
+                case 1:
+                    expected.addToRear(element);
+                    theList.addToRear(element);
+                    break;
+                case 2:
+                    if (expected.contains(target)) {
+                        expected.addAfter(element, target);
+                    }
+                    if (theList.contains(target)) {
+                        theList.addAfter(element, target);
+                    }
+                    break;
+                case 3:
+                    if (expected.contains(target)) {
+                        assertEquals("Remove", expected.remove(target), theList.remove(target));
+                    } else {
+                        assertFalse("Contains", theList.contains(target));
+                    }
+                    break;
+                case 4:
+                    if (!expected.isEmpty()) {
+                        assertEquals("First", expected.removeFirst(), theList.removeFirst());
+                    }
+                    break;
+                default:
+                    if (!expected.isEmpty()) {
+                        assertEquals("Last", expected.removeLast(), theList.removeLast());
+                    }
+                    break;
+            }
+            assertEquals("Size", expected.size(), theList.size());
+        }
+        assertEquals("Order", join(expected), join(theList));
+        assertEquals("Text", expected.toString(), theList.toString());
+    }
+
+    /**
+     * Joins the elements of a list separated by spaces.
+     *
+     * @param theList the list to join
+     * @return the elements separated by spaces
+     */
+    protected static String join(final UnorderedListADT<Integer> theList) {
+        final StringBuilder sb = new StringBuilder();
+        final Iterator<Integer> itr = theList.iterator();
+        while (itr.hasNext()) {
+            sb.append(itr.next());
+            if (itr.hasNext()) {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
+}
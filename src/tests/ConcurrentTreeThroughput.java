@@ -0,0 +1,127 @@
+package tests;
+
+import exceptions.ElementNotFoundException;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.IntConsumer;
+
+import structures.ConcurrentBinaryTree;
+import structures.ConcurrentSearchTree;
+import structures.RedBlackTree;
+
+/**
+ * Compares the write throughput of ConcurrentSearchTree with a RedBlackTree
+ * behind the single write lock of ConcurrentBinaryTree. Every thread adds
+ * and removes random keys for a fixed time; the operations per second are
+ * printed for growing numbers of threads. Both trees run the same
+ * operation: remove the key if it is there, otherwise add it. Run it with
+ * java tests.ConcurrentTreeThroughput [seconds per run].
+ *
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public final class ConcurrentTreeThroughput {
+
+    /** The range of the keys. */
+    private static final int RANGE = 1 << 20;
+
+    /** The number of keys added before measuring. */
+    private static final int PRELOAD = 1 << 17;
+
+    /** The largest number of threads. */
+    private static final int MAX_THREADS = 16;
+
+    /** Not instantiable. */
+    private ConcurrentTreeThroughput() {
+    }
+
+    /**
+     * Runs the comparison.
+     *
+     * @param theArgs optionally the number of seconds per run
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public static void main(final String[] theArgs) throws InterruptedException {
+        final long millis = 1000L * (theArgs.length > 0 ? Integer.parseInt(theArgs[0]) : 2);
+        System.out.println("threads  fine-grained ops/s  global lock ops/s");
+        for (int threads = 1; threads <= MAX_THREADS; threads *= 2) {
+            final ConcurrentSearchTree<Integer> fine = new ConcurrentSearchTree<>();
+            final ConcurrentBinaryTree<Integer, RedBlackTree<Integer>> global =
+                            new ConcurrentBinaryTree<>(new RedBlackTree<Integer>());
+            final Random random = new Random(threads);
+            for (int i = 0; i < PRELOAD; i++) {
+                final int key = random.nextInt(RANGE);
+                fine.addElement(key);
+                global.update(tree -> tree.addElement(key));
+            }
+            final double fineRate = measure(threads, millis, key -> {
+                if (fine.contains(key)) {
+                    try {
+                        fine.removeElement(key);
+                    } catch (final ElementNotFoundException e) {
+                        //only when another thread removed it in between
+                    }
+                } else {
+                    fine.addElement(key);
+                }
+            });
+            final double globalRate = measure(threads, millis, key -> {
+                global.update(tree -> {
+                    if (tree.contains(key)) {
+                        tree.removeElement(key);
+                    } else {
+                        tree.addElement(key);
+                    }
+                });
+            });
+            System.out.printf("%7d  %18.0f  %17.0f%n", threads, fineRate, globalRate);
+        }
+    }
+
+    /**
+     * Runs an operation on random keys in several threads for a fixed time.
+     *
+     * @param theThreads the number of threads
+     * @param theMillis the time to run, in milliseconds
+     * @param theOperation the operation, given a key
+     * @return the number of operations per second
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static double measure(final int theThreads, final long theMillis,
+                                  final IntConsumer theOperation)
+                    throws InterruptedException {
+        final AtomicBoolean running = new AtomicBoolean(true);
+        final LongAdder operations = new LongAdder();
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] threads = new Thread[theThreads];
+        for (int t = 0; t < theThreads; t++) {
+            threads[t] = new Thread(() -> {
+                final ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                long count = 0;
+                while (running.get()) {
+                    theOperation.accept(random.nextInt(RANGE));
+                    count++;
+                }
+                operations.add(count);
+            });
+            threads[t].start();
+        }
+        final long begin = System.nanoTime();
+        start.countDown();
+        Thread.sleep(theMillis);
+        running.set(false);
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+        return operations.sum() * 1e9 / (System.nanoTime() - begin);
+    }
+}
@@ -0,0 +1,160 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import exceptions.ElementNotFoundException;
+import java.util.Comparator;
+import java.util.Iterator;
+import org.junit.Before;
+import org.junit.Test;
+
+import structures.ArrayBinaryTree;
+import structures.LinkedBinaryTree;
+
+/**
+ * Test the methods of the class ArrayBinaryTree.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public class TestArrayBinaryTree {
+
+    /** The number of elements in the search tree tests. */
+    private static final int MANY = 1000;
+
+    /** The linked version of my fixture, the pyramid tree. */
+    private LinkedBinaryTree<Integer> myLinkedTree;
+
+    /** The array version of my fixture. */
+    private ArrayBinaryTree<Integer> myTree;
+
+    /**
+     * Method to initialize test fixtures.
+     */
+    @Before
+    public void setUp() {
+        final LinkedBinaryTree<Integer> tree12 = new LinkedBinaryTree<>(10);
+        final LinkedBinaryTree<Integer> tree13 = new LinkedBinaryTree<>(20);
+        final LinkedBinaryTree<Integer> tree14 = new LinkedBinaryTree<>(40, tree12, null);
+        final LinkedBinaryTree<Integer> tree15 = new LinkedBinaryTree<>(11, null, tree13);
+        myLinkedTree = new LinkedBinaryTree<>(61, tree14, tree15);
+        myTree = new ArrayBinaryTree<>(myLinkedTree);
+    }
+
+    /**
+     * Test that the conversion keeps the shape of the tree.
+     */
+    @Test
+    public void testShape() {
+        assertEquals("Root", Integer.valueOf(61), myTree.getRootElement());
+        assertEquals("Size", 5, myTree.size());
+        assertEquals("Height", 2, myTree.getHeight());
+        assertEquals("Leaves", 2, myTree.countLeafNodes());
+        assertEquals("One child", 2, myTree.countOneChildNodes());
+    }
+
+    /**
+     * Test that every traversal matches the linked tree.
+     */
+    @Test
+    public void testTraversals() {
+        assertEquals("In order", join(myLinkedTree.iteratorInOrder()),
+                     join(myTree.iteratorInOrder()));
+        assertEquals("Pre order", join(myLinkedTree.iteratorPreOrder()),
+                     join(myTree.iteratorPreOrder()));
+        assertEquals("Post order", join(myLinkedTree.iteratorPostOrder()),
+                     join(myTree.iteratorPostOrder()));
+        assertEquals("Level order", join(myLinkedTree.iteratorLevelOrder()),
+                     join(myTree.iteratorLevelOrder()));
+        assertEquals("toString", myLinkedTree.toString(), myTree.toString());
+    }
+
+    /**
+     * Test the conversion back to a linked tree.
+     */
+    @Test
+    public void testToLinkedBinaryTree() {
+        final LinkedBinaryTree<Integer> copy = myTree.toLinkedBinaryTree();
+        assertEquals("Pre order", join(myLinkedTree.iteratorPreOrder()),
+                     join(copy.iteratorPreOrder()));
+        assertEquals("Size", 5, copy.size());
+        assertTrue("Empty", new ArrayBinaryTree<Integer>().toLinkedBinaryTree().isEmpty());
+    }
+
+    /**
+     * Test the contains() and find() methods.
+     */
+    @Test
+    public void testContainsAndFind() {
+        assertTrue("The tree contains 20", myTree.contains(20));
+        assertFalse("The tree does not contain 0", myTree.contains(0));
+        assertEquals("Find 11", Integer.valueOf(11), myTree.find(11));
+    }
+
+    /**
+     * Test the find() method with a missing element.
+     */
+    @Test(expected = ElementNotFoundException.class)
+    public void testFindMissing() {
+        myTree.find(0);
+    }
+
+    /**
+     * Test a search tree in the Eytzinger layout.
+     */
+    @Test
+    public void testEytzinger() {
+        final Integer[] sorted = new Integer[MANY];
+        for (int i = 0; i < MANY; i++) {
+            sorted[i] = 2 * i;
+        }
+        final ArrayBinaryTree<Integer> tree =
+                        ArrayBinaryTree.eytzinger(sorted, Comparator.naturalOrder());
+        assertTrue("Ordered", tree.isOrdered());
+        final Iterator<Integer> itr = tree.iteratorInOrder();
+        for (int i = 0; i < MANY; i++) {
+            assertEquals("In order", sorted[i], itr.next());
+            assertTrue("Contains", tree.contains(2 * i));
+            assertFalse("Does not contain", tree.contains(2 * i + 1));
+        }
+        assertFalse("Extra elements", itr.hasNext());
+        assertEquals("Height", 9, tree.getHeight());
+    }
+
+    /**
+     * Test that a search tree needs a comparator.
+     */
+    @Test(expected = NullPointerException.class)
+    public void testEytzingerNullComparator() {
+        ArrayBinaryTree.eytzinger(new Integer[] {1, 2, 3}, null);
+    }
+
+    /**
+     * Test that a tree too tall for an array is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooTall() {
+        LinkedBinaryTree<Integer> tree = new LinkedBinaryTree<>(0);
+        for (int i = 1; i < 40; i++) {
+            tree = new LinkedBinaryTree<>(i, null, tree);
+        }
+        new ArrayBinaryTree<>(tree);
+    }
+
+    /**
+     * Joins the elements of an iterator separated by spaces.
+     *
+     * @param theIter the iterator to drain
+     * @return the elements separated by spaces
+     */
+    private static String join(final Iterator<Integer> theIter) {
+        final StringBuilder sb = new StringBuilder();
+        while (theIter.hasNext()) {
+            sb.append(theIter.next());
+            if (theIter.hasNext()) {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
+}
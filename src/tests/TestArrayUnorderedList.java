@@ -0,0 +1,352 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import exceptions.ElementNotFoundException;
+import exceptions.EmptyCollectionException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.ConcurrentModificationException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Before;
+import org.junit.Test;
+
+import structures.ArrayUnorderedList;
+import structures.ExportFormat;
+import structures.TreeMetrics;
+
+/**
+ * Test the methods of the class ArrayUnorderedList.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public class TestArrayUnorderedList {
+
+    /** A small capacity so that the tests wrap around the array. */
+    private static final int CAPACITY = 4;
+
+    /** The number of elements used by the larger tests. */
+    private static final int MANY = 1000;
+
+    /** The list under test. */
+    private ArrayUnorderedList<Integer> myList;
+
+    /**
+     * Method to initialize test fixtures.
+     */
+    @Before
+    public void setUp() {
+        myList = new ArrayUnorderedList<>(CAPACITY);
+    }
+
+    /**
+     * Test the addToFront() and addToRear() methods.
+     */
+    @Test
+    public void testAddToFrontAndRear() {
+        myList.addToRear(2);
+        myList.addToFront(1);
+        myList.addToRear(3);
+        myList.addToFront(0);
+        myList.addToRear(4);
+        assertEquals("Unexpected order", "0 1 2 3 4", join(myList));
+        assertEquals("Unexpected first", Integer.valueOf(0), myList.first());
+        assertEquals("Unexpected last", Integer.valueOf(4), myList.last());
+    }
+
+    /**
+     * Test removeFirst() and removeLast() while the list wraps around.
+     */
+    @Test
+    public void testRemoveFirstAndLast() {
+        for (int i = 0; i < MANY; i++) {
+            myList.addToRear(i);
+            myList.addToFront(-i);
+            assertEquals("Front", Integer.valueOf(-i), myList.removeFirst());
+        }
+        assertEquals("Unexpected size", MANY, myList.size());
+        for (int i = MANY - 1; i >= 0; i--) {
+            assertEquals("Rear", Integer.valueOf(i), myList.removeLast());
+        }
+        assertTrue("Should be empty", myList.isEmpty());
+    }
+
+    /**
+     * Test the addAfter() method on both sides of the list.
+     */
+    @Test
+    public void testAddAfter() {
+        myList.addToRear(1);
+        myList.addToRear(3);
+        myList.addToFront(0);
+        myList.addToRear(5);
+        myList.addAfter(2, 1);
+        myList.addAfter(4, 3);
+        myList.addAfter(6, 5);
+        assertEquals("Unexpected order", "0 1 2 3 4 5 6", join(myList));
+    }
+
+    /**
+     * Test the remove() method on both sides of the list.
+     */
+    @Test
+    public void testRemove() {
+        for (int i = 0; i < CAPACITY * 2; i++) {
+            myList.addToFront(i);
+        }
+        assertEquals("Removed", Integer.valueOf(6), myList.remove(6));
+        assertEquals("Removed", Integer.valueOf(1), myList.remove(1));
+        assertEquals("Unexpected order", "7 5 4 3 2 0", join(myList));
+        assertFalse("Removed element", myList.contains(6));
+        assertTrue("Kept element", myList.contains(0));
+    }
+
+    /**
+     * Test the remove() method with a missing element.
+     */
+    @Test(expected = ElementNotFoundException.class)
+    public void testRemoveMissing() {
+        myList.addToRear(1);
+        myList.remove(2);
+    }
+
+    /**
+     * Test the removeFirst() method on an empty list.
+     */
+    @Test(expected = EmptyCollectionException.class)
+    public void testRemoveFirstEmpty() {
+        myList.removeFirst();
+    }
+
+    /**
+     * Test addAll() from a collection, another list and the list itself,
+     * while the array wraps around.
+     */
+    @Test
+    public void testAddAll() {
+        myList.addToRear(2);
+        myList.addToFront(1);
+        myList.addAll(Arrays.asList(3, 4, 5));
+        assertEquals("From collection", "1 2 3 4 5", join(myList));
+
+        final ArrayUnorderedList<Integer> other = new ArrayUnorderedList<>(CAPACITY);
+        other.addToRear(6);
+        other.addToRear(7);
+        myList.addAll(other);
+        assertEquals("From list", "1 2 3 4 5 6 7", join(myList));
+
+        other.addAll(other);
+        assertEquals("From itself", "6 7 6 7", join(other));
+        myList.addAll(new ArrayUnorderedList<Integer>());
+        assertEquals("Unexpected size", 7, myList.size());
+        assertEquals("Unexpected last", Integer.valueOf(7), myList.last());
+    }
+
+    /**
+     * Test that addAll() of a collection grows the array once.
+     */
+    @Test
+    public void testAddAllGrowsOnce() {
+        final TreeMetrics metrics = TreeMetrics.getInstance();
+        final List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < MANY; i++) {
+            elements.add(i);
+        }
+        metrics.reset();
+        metrics.setEnabled(true);
+        try {
+            myList.addAll(elements);
+            assertEquals("Growths", 1, metrics.getArrayGrowthCount());
+        } finally {
+            metrics.setEnabled(false);
+            metrics.reset();
+        }
+        assertEquals("Unexpected size", MANY, myList.size());
+        assertEquals("Unexpected last", Integer.valueOf(MANY - 1), myList.last());
+    }
+
+    /**
+     * Test removeIf() on a list that wraps around the array, and that the
+     * list still works at both ends afterwards.
+     */
+    @Test
+    public void testRemoveIf() {
+        for (int i = 0; i < MANY; i++) {
+            myList.addToRear(i);
+            myList.addToFront(-i - 1);
+        }
+        assertTrue("Removed", myList.removeIf(element -> element % 3 != 0));
+        assertFalse("Nothing left to remove", myList.removeIf(element -> element % 3 != 0));
+        final Iterator<Integer> itr = myList.iterator();
+        int count = 0;
+        int previous = Integer.MIN_VALUE;
+        while (itr.hasNext()) {
+            final int element = itr.next();
+            assertEquals("Kept " + element, 0, element % 3);
+            assertTrue("Order", element > previous);
+            previous = element;
+            count++;
+        }
+        assertEquals("Unexpected size", count, myList.size());
+        myList.addToRear(MANY);
+        myList.addToFront(-MANY);
+        assertEquals("First", Integer.valueOf(-MANY), myList.removeFirst());
+        assertEquals("Last", Integer.valueOf(MANY), myList.removeLast());
+        assertTrue("Removed all", myList.removeIf(element -> true));
+        assertTrue("Should be empty", myList.isEmpty());
+    }
+
+    /**
+     * Test that a filter that throws leaves the list unchanged.
+     */
+    @Test
+    public void testRemoveIfThrows() {
+        for (int i = 0; i < CAPACITY * 2; i++) {
+            myList.addToRear(i);
+        }
+        try {
+            myList.removeIf(element -> {
+                if (element == CAPACITY) {
+                    throw new IllegalStateException();
+                }
+                return element % 2 == 0;
+            });
+            fail("The filter should have thrown");
+        } catch (final IllegalStateException e) {
+            assertEquals("Unchanged", "0 1 2 3 4 5 6 7", join(myList));
+        }
+    }
+
+    /**
+     * Test the removeAll() and retainAll() methods.
+     */
+    @Test
+    public void testRemoveAllAndRetainAll() {
+        for (int i = 0; i < CAPACITY * 2; i++) {
+            myList.addToRear(i % CAPACITY);
+        }
+        assertTrue("RemoveAll", myList.removeAll(new HashSet<>(Arrays.asList(1, 3))));
+        assertEquals("After removeAll", "0 2 0 2", join(myList));
+        assertTrue("RetainAll", myList.retainAll(Collections.singleton(2)));
+        assertEquals("After retainAll", "2 2", join(myList));
+        assertFalse("Nothing to retain", myList.retainAll(Collections.singleton(2)));
+    }
+
+    /**
+     * Test that a bulk removal invalidates iterators.
+     */
+    @Test(expected = ConcurrentModificationException.class)
+    public void testRemoveIfModifies() {
+        myList.addToRear(1);
+        myList.addToRear(2);
+        final Iterator<Integer> itr = myList.iterator();
+        myList.removeIf(element -> element == 1);
+        itr.hasNext();
+    }
+
+    /**
+     * Test that toString() puts each element on its own line.
+     */
+    @Test
+    public void testToString() {
+        assertEquals("Empty", "", myList.toString());
+        for (int i = 0; i < MANY; i++) {
+            myList.addToFront(i);
+        }
+        final String text = myList.toString();
+        assertTrue("Start", text.startsWith((MANY - 1) + "\n" + (MANY - 2) + "\n"));
+        assertTrue("End", text.endsWith("\n1\n0\n"));
+        assertEquals("Lines", MANY, text.split("\n").length);
+    }
+
+    /**
+     * Test writeTo() in each format.
+     *
+     * @throws IOException never, a StringBuilder does not throw
+     */
+    @Test
+    public void testWriteTo() throws IOException {
+        final StringBuilder empty = new StringBuilder();
+        myList.writeTo(empty, ExportFormat.JSON);
+        assertEquals("Empty", "[\n]", empty.toString());
+
+        myList.addToRear(1);
+        myList.addToRear(2);
+        myList.addToFront(0);
+        final StringBuilder text = new StringBuilder();
+        myList.writeTo(text, ExportFormat.TEXT);
+        assertEquals("Text", myList.toString(), text.toString());
+
+        final StringBuilder json = new StringBuilder();
+        myList.writeTo(json, ExportFormat.JSON);
+        assertEquals("Json", "[\n0,\n1,\n2\n]", json.toString());
+
+        final StringBuilder dot = new StringBuilder();
+        myList.writeTo(dot, ExportFormat.DOT);
+        assertEquals("Dot", "digraph \"ArrayUnorderedList\" {\n"
+                     + "  n0 [label=\"0\"];\n"
+                     + "  n1 [label=\"1\"];\n  n0 -> n1;\n"
+                     + "  n2 [label=\"2\"];\n  n1 -> n2;\n"
+                     + "}\n", dot.toString());
+    }
+
+    /**
+     * Test that JSON writes strings quoted and numbers bare.
+     *
+     * @throws IOException never, a StringBuilder does not throw
+     */
+    @Test
+    public void testWriteToJsonValues() throws IOException {
+        final ArrayUnorderedList<Object> list = new ArrayUnorderedList<>(CAPACITY);
+        list.addToRear("say \"hi\"");
+        list.addToRear(2.5);
+        list.addToRear(Double.NaN);
+        list.addToRear(true);
+        final StringBuilder json = new StringBuilder();
+        list.writeTo(json, ExportFormat.JSON);
+        assertEquals("Json", "[\n\"say \\\"hi\\\"\",\n2.5,\n\"NaN\",\ntrue\n]",
+                     json.toString());
+    }
+
+    /**
+     * Test that writing to a channel gives the UTF-8 bytes of the text.
+     *
+     * @throws IOException if the channel cannot be written
+     */
+    @Test
+    public void testWriteToChannel() throws IOException {
+        for (int i = 0; i < MANY; i++) {
+            myList.addToRear(i);
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        myList.writeTo(Channels.newChannel(bytes), ExportFormat.DOT);
+        final StringBuilder dot = new StringBuilder();
+        myList.writeTo(dot, ExportFormat.DOT);
+        assertEquals("Bytes", dot.toString(), bytes.toString("UTF-8"));
+    }
+
+    /**
+     * Joins the elements of a list separated by spaces.
+     *
+     * @param theList the list to join
+     * @return the elements separated by spaces
+     */
+    private static String join(final ArrayUnorderedList<Integer> theList) {
+        final StringBuilder sb = new StringBuilder();
+        final Iterator<Integer> itr = theList.iterator();
+        while (itr.hasNext()) {
+            sb.append(itr.next());
+            if (itr.hasNext()) {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
+}
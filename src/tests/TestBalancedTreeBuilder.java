@@ -0,0 +1,95 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+
+import structures.BalancedTreeBuilder;
+import structures.LinkedBinaryTree;
+
+/**
+ * Test the trees built by BalancedTreeBuilder.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public class TestBalancedTreeBuilder {
+
+    /** The largest size checked exhaustively. */
+    private static final int MAX_CHECKED = 130;
+
+    /** The size of the large tree. */
+    private static final int LARGE = 1000000;
+
+    /**
+     * Test the shape and order of the trees of every small size.
+     */
+    @Test
+    public void testSmallSizes() {
+        for (int size = 1; size <= MAX_CHECKED; size++) {
+            final List<Integer> elements = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                elements.add(i);
+            }
+            final LinkedBinaryTree<Integer> tree = BalancedTreeBuilder.build(elements);
+            assertEquals("Size", size, tree.size());
+            assertEquals("Height", 31 - Integer.numberOfLeadingZeros(size),
+                         tree.getHeight());
+            final Iterator<Integer> itr = tree.iteratorInOrder();
+            for (int i = 0; i < size; i++) {
+                assertEquals("In order", Integer.valueOf(i), itr.next());
+            }
+            assertEquals("Rank", size / 2, tree.rank(size / 2));
+        }
+    }
+
+    /**
+     * Test a small tree built from an array.
+     */
+    @Test
+    public void testArray() {
+        final LinkedBinaryTree<String> tree =
+                        BalancedTreeBuilder.build(new String[] {"a", "b", "c", "d", "e"});
+        assertEquals("[a b c d e]", tree.toString());
+        assertEquals("c", tree.getRootElement());
+        assertTrue(BalancedTreeBuilder.build(new String[0]).isEmpty());
+    }
+
+    /**
+     * Test a large tree built from an iterator.
+     */
+    @Test
+    public void testLargeIterator() {
+        final Iterator<Integer> source = new Iterator<Integer>() {
+            /** The next element. */
+            private int myNext;
+
+            @Override
+            public boolean hasNext() {
+                return myNext < LARGE;
+            }
+
+            @Override
+            public Integer next() {
+                return myNext++;
+            }
+        };
+        final LinkedBinaryTree<Integer> tree = BalancedTreeBuilder.build(source, LARGE);
+        assertEquals(LARGE, tree.size());
+        assertEquals(19, tree.getHeight());
+        assertEquals(Integer.valueOf(LARGE - 1), tree.select(LARGE - 1));
+    }
+
+    /**
+     * Test that a short iterator is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testShortIterator() {
+        final List<Integer> elements = new ArrayList<>();
+        elements.add(1);
+        BalancedTreeBuilder.build(elements.iterator(), 2);
+    }
+}
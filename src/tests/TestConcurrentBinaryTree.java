@@ -0,0 +1,282 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import exceptions.ElementNotFoundException;
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.Before;
+import org.junit.Test;
+
+import structures.ConcurrentBinaryTree;
+import structures.LinkedBinaryTree;
+import structures.RedBlackTree;
+
+/**
+ * Test the methods of ConcurrentBinaryTree.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public class TestConcurrentBinaryTree {
+
+    /** The number of elements that are never removed. */
+    private static final int STABLE = 1000;
+
+    /** The number of updates made by the writer. */
+    private static final int UPDATES = 20000;
+
+    /** The number of reader threads. */
+    private static final int READERS = 4;
+
+    /** The shared search tree. */
+    private ConcurrentBinaryTree<Integer, RedBlackTree<Integer>> myTree;
+
+    /**
+     * Method to initialize test fixtures.
+     */
+    @Before
+    public void setUp() {
+        final RedBlackTree<Integer> tree = new RedBlackTree<>();
+        for (int i = 0; i < STABLE; i++) {
+            tree.addElement(2 * i);
+        }
+        myTree = new ConcurrentBinaryTree<>(tree);
+    }
+
+    /**
+     * Test reads and writes from a single thread.
+     */
+    @Test
+    public void testReadAndWrite() {
+        assertEquals(STABLE, myTree.size());
+        assertTrue(myTree.contains(2));
+        assertFalse(myTree.contains(1));
+        myTree.update(tree -> tree.addElement(1));
+        assertTrue(myTree.contains(1));
+        assertEquals(Integer.valueOf(1), myTree.write(tree -> tree.removeElement(1)));
+        assertEquals(Integer.valueOf(STABLE - 1),
+                     myTree.read(tree -> tree.rank(2 * STABLE - 2)));
+        try {
+            myTree.find(1);
+            fail();
+        } catch (final ElementNotFoundException e) {
+            assertNotNull(e);
+        }
+    }
+
+    /**
+     * Test that iterators work on a snapshot.
+     */
+    @Test
+    public void testSnapshotIterator() {
+        final Iterator<Integer> itr = myTree.iteratorInOrder();
+        myTree.update(tree -> tree.addElement(-1));
+        assertEquals(Integer.valueOf(0), itr.next());
+        assertEquals(Integer.valueOf(-1), myTree.iteratorInOrder().next());
+    }
+
+    /**
+     * Test that the iterators of an empty tree match those of the wrapped
+     * tree.
+     */
+    @Test
+    public void testSnapshotEmpty() {
+        final ConcurrentBinaryTree<Integer, LinkedBinaryTree<Integer>> shared =
+                        new ConcurrentBinaryTree<>(new LinkedBinaryTree<>());
+        assertFalse("Empty in order", shared.iteratorInOrder().hasNext());
+        assertFalse("Empty pre order", shared.iteratorPreOrder().hasNext());
+        final Iterator<Integer> itr = shared.iteratorLevelOrder();
+        assertNull("Empty level order", itr.next());
+        assertFalse("Only one", itr.hasNext());
+    }
+
+    /**
+     * Test that the element index of a wrapped tree is kept up to date.
+     */
+    @Test
+    public void testIndexed() {
+        final LinkedBinaryTree<Integer> tree = new LinkedBinaryTree<>(1);
+        tree.setIndexed(true);
+        final ConcurrentBinaryTree<Integer, LinkedBinaryTree<Integer>> shared =
+                        new ConcurrentBinaryTree<>(tree);
+        assertTrue(shared.contains(1));
+        assertFalse(shared.contains(2));
+    }
+
+    /**
+     * Test that a read that overlaps a write leaves the element index alone.
+     * The reader starts before the write and is paused in the middle of its
+     * search while the write adds and removes a subtree.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    public void testIndexedReadDuringWrite() throws InterruptedException {
+        final Key first = new Key(0);
+        final Key second = new Key(0);
+        final Key added = new Key(7);
+        final LinkedBinaryTree<Key> tree = new LinkedBinaryTree<>(
+                        first, new LinkedBinaryTree<>(second), null);
+        tree.setIndexed(true);
+        final ConcurrentBinaryTree<Key, LinkedBinaryTree<Key>> shared =
+                        new ConcurrentBinaryTree<>(tree);
+        final CountDownLatch reading = new CountDownLatch(1);
+        final CountDownLatch writing = new CountDownLatch(1);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        final Thread reader = new Thread(() -> {
+            try {
+                shared.read(t -> {
+                    if (reading.getCount() > 0) {
+                        reading.countDown();
+                        await(writing);
+                        second.pause(Thread.currentThread());
+                    }
+                    return t.contains(added);
+                });
+            } catch (final RuntimeException | Error e) {
+                failure.set(e);
+            }
+        });
+        reader.start();
+        await(reading);
+        shared.update(t -> {
+            t.attachRight(new LinkedBinaryTree<>(added));
+            writing.countDown();
+            await(second.myArrived);
+            t.detachRight();
+        });
+        second.myResume.countDown();
+        reader.join();
+        assertNull(failure.get());
+        assertFalse("Removed", shared.contains(added));
+        assertSame("Find", first, shared.find(new Key(0)));
+    }
+
+    /**
+     * Test readers running while a writer adds and removes elements.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    public void testReadersAndWriter() throws InterruptedException {
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread[] readers = new Thread[READERS];
+        final Thread writer = new Thread(() -> {
+            for (int i = 0; i < UPDATES; i++) {
+                final int element = 2 * (i % STABLE) + 1;
+                myTree.update(tree -> {
+                    if (tree.contains(element)) {
+                        tree.removeElement(element);
+                    } else {
+                        tree.addElement(element);
+                    }
+                });
+            }
+        });
+        for (int r = 0; r < READERS; r++) {
+            readers[r] = new Thread(() -> {
+                try {
+                    while (writer.isAlive()) {
+                        for (int i = 0; i < STABLE; i += 37) {
+                            assertTrue(myTree.contains(2 * i));
+                        }
+                        final Iterator<Integer> itr = myTree.iterator();
+                        int previous = Integer.MIN_VALUE;
+                        while (itr.hasNext()) {
+                            final int current = itr.next();
+                            assertTrue(previous < current);
+                            previous = current;
+                        }
+                    }
+                } catch (final Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            });
+        }
+        writer.start();
+        for (final Thread reader : readers) {
+            reader.start();
+        }
+        writer.join();
+        for (final Thread reader : readers) {
+            reader.join();
+        }
+        assertNull(String.valueOf(failure.get()), failure.get());
+        assertEquals(STABLE, myTree.size());
+    }
+
+    /**
+     * Waits for a latch, failing after a few seconds.
+     *
+     * @param theLatch the latch
+     */
+    private static void await(final CountDownLatch theLatch) {
+        try {
+            assertTrue("Timed out", theLatch.await(5, TimeUnit.SECONDS));
+        } catch (final InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * An element that can pause the first thread that compares or hashes it.
+     */
+    private static final class Key {
+        /** Counted down when the paused thread reaches this element. */
+        private final CountDownLatch myArrived = new CountDownLatch(1);
+
+        /** Counted down to let the paused thread go on. */
+        private final CountDownLatch myResume = new CountDownLatch(1);
+
+        /** The value compared. */
+        private final int myValue;
+
+        /** The thread to pause, or null. */
+        private volatile Thread myPaused;
+
+        /**
+         * Creates an element.
+         *
+         * @param theValue the value compared
+         */
+        Key(final int theValue) {
+            myValue = theValue;
+        }
+
+        /**
+         * Pauses the given thread the next time it uses this element.
+         *
+         * @param theThread the thread to pause
+         */
+        void pause(final Thread theThread) {
+            myPaused = theThread;
+        }
+
+        /**
+         * Pauses the current thread if it is the one to pause.
+         */
+        private void arrive() {
+            if (myPaused == Thread.currentThread()) {
+                myPaused = null;
+                myArrived.countDown();
+                await(myResume);
+            }
+        }
+
+        @Override
+        public boolean equals(final Object theOther) {
+            arrive();
+            return theOther instanceof Key && ((Key) theOther).myValue == myValue;
+        }
+
+        @Override
+        public int hashCode() {
+            arrive();
+            return myValue;
+        }
+    }
+}
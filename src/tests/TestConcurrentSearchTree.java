@@ -0,0 +1,271 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import exceptions.ElementNotFoundException;
+import java.util.Random;
+import java.util.TreeSet;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.IntConsumer;
+import org.junit.Test;
+
+import structures.ConcurrentSearchTree;
+
+/**
+ * Test the methods of ConcurrentSearchTree, alone and under contention.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public class TestConcurrentSearchTree {
+
+    /** The number of threads in the stress tests. */
+    private static final int THREADS = 8;
+
+    /** The number of operations per thread. */
+    private static final int OPERATIONS = 20000;
+
+    /** The number of distinct keys the threads fight over. */
+    private static final int KEYS = 64;
+
+    /** The range of the random elements. */
+    private static final int RANGE = 2000;
+
+    /** Seed for the random operations. */
+    private static final long SEED = 4242L;
+
+    /**
+     * Test random operations from one thread against a TreeSet.
+     */
+    @Test
+    public void testAgainstTreeSet() {
+        final ConcurrentSearchTree<Integer> tree = new ConcurrentSearchTree<>();
+        final TreeSet<Integer> model = new TreeSet<>();
+        final Random random = new Random(SEED);
+
+        for (int i = 0; i < OPERATIONS; i++) {
+            final int element = random.nextInt(RANGE);
+            switch (random.nextInt(3)) {
+                case 0:
+                    assertEquals(model.add(element), tree.addElement(element));
+                    break;
+                case 1:
+                    if (model.remove(element)) {
+                        assertEquals(Integer.valueOf(element), tree.removeElement(element));
+                    } else {
+                        assertFalse(tree.contains(element));
+                    }
+                    break;
+                default:
+                    assertEquals(model.contains(element), tree.contains(element));
+                    break;
+            }
+            assertEquals(model.size(), tree.size());
+        }
+    }
+
+    /**
+     * Test that removing a missing element fails.
+     */
+    @Test(expected = ElementNotFoundException.class)
+    public void testRemoveMissing() {
+        final ConcurrentSearchTree<String> tree = new ConcurrentSearchTree<>();
+        tree.addElement("b");
+        tree.removeElement("a");
+    }
+
+    /**
+     * Test that a null element is rejected under the natural ordering and
+     * leaves no node locked.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    public void testNullReleasesLocks() throws InterruptedException {
+        final ConcurrentSearchTree<Integer> tree = new ConcurrentSearchTree<>();
+        tree.addElement(5);
+        try {
+            tree.addElement(null);
+            fail("Null element was added");
+        } catch (final NullPointerException e) {
+            //expected
+        }
+        try {
+            tree.contains(null);
+            fail("Null element was compared");
+        } catch (final NullPointerException e) {
+            //expected
+        }
+        assertUnlocked(tree, 5);
+    }
+
+    /**
+     * Test that a throwing comparator leaves no node locked.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    public void testThrowingComparatorReleasesLocks() throws InterruptedException {
+        final ConcurrentSearchTree<Integer> tree = new ConcurrentSearchTree<>((a, b) -> {
+            if (a < 0 || b < 0) {
+                throw new IllegalArgumentException("Negative element");
+            }
+            return Integer.compare(a, b);
+        });
+        for (int i = 0; i < 8; i++) {
+            tree.addElement(i);
+        }
+        try {
+            tree.addElement(-1);
+            fail("Comparator did not throw");
+        } catch (final IllegalArgumentException e) {
+            //expected
+        }
+        try {
+            tree.removeElement(-1);
+            fail("Comparator did not throw");
+        } catch (final IllegalArgumentException e) {
+            //expected
+        }
+        try {
+            tree.contains(-1);
+            fail("Comparator did not throw");
+        } catch (final IllegalArgumentException e) {
+            //expected
+        }
+        assertUnlocked(tree, 7);
+    }
+
+    /**
+     * Checks from another thread that the tree can still be searched and
+     * changed. The node locks are reentrant, so the calling thread would not
+     * notice a lock it leaked itself.
+     *
+     * @param theTree the tree
+     * @param theElement an element in the tree
+     * @throws InterruptedException if interrupted while waiting
+     */
+    private static void assertUnlocked(final ConcurrentSearchTree<Integer> theTree,
+                                       final int theElement) throws InterruptedException {
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        final Thread other = new Thread(() -> {
+            try {
+                assertTrue(theTree.contains(theElement));
+                assertEquals(Integer.valueOf(theElement), theTree.removeElement(theElement));
+                assertTrue(theTree.addElement(theElement));
+            } catch (final Throwable t) {
+                failure.set(t);
+            }
+        });
+        other.setDaemon(true);
+        other.start();
+        other.join(5000);
+        assertFalse("A node lock was leaked", other.isAlive());
+        assertNull(failure.get());
+    }
+
+    /**
+     * Test that threads working on disjoint ranges do not disturb each other.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    public void testDisjointRanges() throws InterruptedException {
+        final ConcurrentSearchTree<Integer> tree = new ConcurrentSearchTree<>();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        run(THREADS, thread -> {
+            final Random random = new Random(SEED + thread);
+            final TreeSet<Integer> model = new TreeSet<>();
+            for (int i = 0; i < OPERATIONS; i++) {
+                final int element = random.nextInt(RANGE) * THREADS + thread;
+                if (random.nextBoolean()) {
+                    assertEquals(model.add(element), tree.addElement(element));
+                } else if (model.remove(element)) {
+                    tree.removeElement(element);
+                }
+                assertEquals(model.contains(element), tree.contains(element));
+            }
+            for (final int element : model) {
+                assertTrue(tree.contains(element));
+            }
+        }, failure);
+        assertNull(String.valueOf(failure.get()), failure.get());
+    }
+
+    /**
+     * Test many threads adding and removing the same few keys. In any
+     * linearizable history the successful adds and removes of a key
+     * alternate, so at the end they differ by one exactly for the keys that
+     * are present, and by zero for the others.
+     *
+     * @throws InterruptedException if interrupted while waiting
+     */
+    @Test
+    public void testContendedKeys() throws InterruptedException {
+        final ConcurrentSearchTree<Integer> tree = new ConcurrentSearchTree<>();
+        final AtomicIntegerArray balance = new AtomicIntegerArray(KEYS);
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        run(THREADS, thread -> {
+            final Random random = new Random(SEED * thread);
+            for (int i = 0; i < OPERATIONS; i++) {
+                final int key = random.nextInt(KEYS);
+                if (random.nextBoolean()) {
+                    if (tree.addElement(key)) {
+                        balance.incrementAndGet(key);
+                    }
+                } else {
+                    try {
+                        tree.removeElement(key);
+                        balance.decrementAndGet(key);
+                    } catch (final ElementNotFoundException e) {
+                        assertNotNull(e);
+                    }
+                }
+            }
+        }, failure);
+        assertNull(String.valueOf(failure.get()), failure.get());
+
+        int present = 0;
+        for (int key = 0; key < KEYS; key++) {
+            final boolean contained = tree.contains(key);
+            assertEquals("Key " + key, contained ? 1 : 0, balance.get(key));
+            if (contained) {
+                present++;
+            }
+        }
+        assertEquals(present, tree.size());
+    }
+
+    /**
+     * Runs a task in several threads started together and waits for them.
+     *
+     * @param theThreads the number of threads
+     * @param theTask the task, given the number of its thread
+     * @param theFailure set to the first failure of any thread
+     * @throws InterruptedException if interrupted while waiting
+     */
+    static void run(final int theThreads, final IntConsumer theTask,
+                    final AtomicReference<Throwable> theFailure)
+                    throws InterruptedException {
+        final CountDownLatch start = new CountDownLatch(1);
+        final Thread[] threads = new Thread[theThreads];
+        for (int t = 0; t < theThreads; t++) {
+            final int thread = t;
+            threads[t] = new Thread(() -> {
+                try {
+                    start.await();
+                    theTask.accept(thread);
+                } catch (final Throwable e) {
+                    theFailure.compareAndSet(null, e);
+                }
+            });
+            threads[t].start();
+        }
+        start.countDown();
+        for (final Thread thread : threads) {
+            thread.join();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import exceptions.ElementNotFoundException;
+import exceptions.EmptyCollectionException;
+import java.util.PrimitiveIterator;
+import org.junit.Before;
+import org.junit.Test;
+
+import structures.IntBinaryTree;
+import structures.LongBinaryTree;
+
+/**
+ * Test the methods of the primitive trees IntBinaryTree and LongBinaryTree.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public class TestIntBinaryTree {
+
+    /** The element at the root of my fixture. */
+    private static final int ROOT_ELM = 61;
+
+    /** Represent 10. */
+    private static final int TEN = 10;
+
+    /** Represent 20. */
+    private static final int TWENTY = 20;
+
+    /** Represent 40. */
+    private static final int FORTY = 40;
+
+    /** The data structure to represent a balanced tree. */
+    private IntBinaryTree myNormalTree;
+
+    /** The data structure to represent a tree that is like a linked list. */
+    private LongBinaryTree myLineTree;
+
+    /**
+     * Method to initialize test fixtures.
+     */
+    @Before
+    public void setUp() {
+        final IntBinaryTree tree1 = new IntBinaryTree(TWENTY);
+        final IntBinaryTree tree2 = new IntBinaryTree(FORTY);
+        final IntBinaryTree tree3 = new IntBinaryTree(TWENTY);
+        final IntBinaryTree tree4 = new IntBinaryTree(TEN, tree1, tree2);
+        final IntBinaryTree tree5 = new IntBinaryTree(TWENTY, null, tree3);
+        myNormalTree = new IntBinaryTree(ROOT_ELM, tree4, tree5);
+
+        final LongBinaryTree tree6 = new LongBinaryTree(FORTY);
+        final LongBinaryTree tree7 = new LongBinaryTree(TWENTY, tree6, null);
+        final LongBinaryTree tree8 = new LongBinaryTree(TEN, tree7, null);
+        myLineTree = new LongBinaryTree(ROOT_ELM, tree8, null);
+    }
+
+    /**
+     * Test the shape methods.
+     */
+    @Test
+    public void testShape() {
+        assertEquals("Root", ROOT_ELM, myNormalTree.getRootElement());
+        assertEquals("Size", 6, myNormalTree.size());
+        assertEquals("Height", 2, myNormalTree.getHeight());
+        assertEquals("Leaves", 3, myNormalTree.countLeafNodes());
+        assertEquals("One child", 1, myNormalTree.countOneChildNodes());
+
+        assertEquals("Line size", 4, myLineTree.size());
+        assertEquals("Line height", 3, myLineTree.getHeight());
+        assertEquals("Line leaves", 1, myLineTree.countLeafNodes());
+        assertEquals("Line one child", 3, myLineTree.countOneChildNodes());
+    }
+
+    /**
+     * Test the contains() and find() methods.
+     */
+    @Test
+    public void testContainsAndFind() {
+        assertTrue("The tree contains 40", myNormalTree.contains(FORTY));
+        assertFalse("The tree does not contain 0", myNormalTree.contains(0));
+        assertEquals("Find 10", TEN, myNormalTree.find(TEN));
+        assertTrue("The line contains 20", myLineTree.contains(TWENTY));
+        assertFalse("Empty", new IntBinaryTree().contains(TEN));
+    }
+
+    /**
+     * Test the find() method with a missing element.
+     */
+    @Test(expected = ElementNotFoundException.class)
+    public void testFindMissing() {
+        myLineTree.find(0L);
+    }
+
+    /**
+     * Test the size() method on an empty tree.
+     */
+    @Test(expected = EmptyCollectionException.class)
+    public void testSizeEmpty() {
+        new IntBinaryTree().size();
+    }
+
+    /**
+     * Test the traversal iterators.
+     */
+    @Test
+    public void testIterators() {
+        assertEquals("toString", "[20 10 40 61 20 20]", myNormalTree.toString());
+        assertEquals("Pre order", "61 10 20 40 20 20", join(myNormalTree.iteratorPreOrder()));
+        assertEquals("Post order", "20 40 10 20 20 61",
+                     join(myNormalTree.iteratorPostOrder()));
+        assertEquals("Level order", "61 10 20 20 40 20",
+                     join(myNormalTree.iteratorLevelOrder()));
+        assertEquals("Line", "[40 20 10 61]", myLineTree.toString());
+        assertEquals("Subtree", "[20 10 40]", myNormalTree.getLeft().toString());
+    }
+
+    /**
+     * Joins the elements of an iterator separated by spaces.
+     *
+     * @param theIter the iterator to drain
+     * @return the elements separated by spaces
+     */
+    private static String join(final PrimitiveIterator.OfInt theIter) {
+        final StringBuilder sb = new StringBuilder();
+        while (theIter.hasNext()) {
+            sb.append(theIter.nextInt());
+            if (theIter.hasNext()) {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -2,12 +2,28 @@ package tests;
 
 import static org.junit.Assert.*;
 
+import exceptions.ElementNotFoundException;
 import exceptions.EmptyCollectionException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Collectors;
 import org.junit.Before;
 import org.junit.Test;
 
 
+import structures.ExportFormat;
 import structures.LinkedBinaryTree;
+import structures.ParallelTreeAggregator;
+import structures.TraversalOrder;
+import structures.TreeStats;
 
 /**
  * Test the implemented methods from the class LinkedBinaryTree.
@@ -39,6 +55,9 @@ public class TestLinkedBinaryTree {
      * Expected size.
      */
     private static final int EXPECTED_SIZE = 6;
+
+    /** The number of nodes of a tree whose text is larger than the buffers. */
+    private static final int MANY_NODES = 5000;
     
     /** The data structure to represent a balanced tree. */
     private LinkedBinaryTree<Integer> myNormalTree;
@@ -103,6 +122,86 @@ public class TestLinkedBinaryTree {
         assertEquals("Unexpected size", myNormalTree.size(), EXPECTED_SIZE);
     }
     
+    /**
+     *  Test the size() method on the other fixtures.
+     */
+    @Test
+    public void testSizeShapes() {
+        final int sizeL = 4;
+        assertEquals("Line size", sizeL, myLineTree.size());
+        assertEquals("Zig size", sizeL, myZigZagTree.size());
+        final int sizeP = 5;
+        assertEquals("Pyramid size", sizeP, myPyramidTree.size());
+    }
+
+    /**
+     *  Test the select() method.
+     */
+    @Test
+    public void testSelect() {
+        final Iterator<Integer> itr = myPyramidTree.iteratorInOrder();
+        for (int i = 0; itr.hasNext(); i++) {
+            assertEquals("Unexpected element", itr.next(), myPyramidTree.select(i));
+        }
+        assertEquals("Line select", Integer.valueOf(FORTY), myLineTree.select(0));
+    }
+
+    /**
+     *  Test the select() method with an index past the end.
+     */
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSelectOutOfBounds() {
+        myNormalTree.select(EXPECTED_SIZE);
+    }
+
+    /**
+     *  Test the rank() method.
+     */
+    @Test
+    public void testRank() {
+        assertEquals("Rank of root", 3, myNormalTree.rank(ROOT_ELM));
+        assertEquals("Rank of 40", 2, myNormalTree.rank(FORTY));
+        assertEquals("Rank of 10", 2, myLineTree.rank(TEN));
+    }
+
+    /**
+     * Test the rank() method on a line tree too deep for recursion.
+     */
+    @Test
+    public void testRankDeepLine() {
+        final int depth = 200000;
+        LinkedBinaryTree<Integer> tree = new LinkedBinaryTree<>(0);
+        for (int i = 1; i < depth; i++) {
+            tree = new LinkedBinaryTree<>(i, tree, null);
+        }
+        assertEquals("Rank of the deepest", 0, tree.rank(0));
+        assertEquals("Rank of the root", depth - 1, tree.rank(depth - 1));
+    }
+
+    /**
+     * Test the contains() and find() methods on a line tree too deep for
+     * recursion.
+     */
+    @Test
+    public void testContainsDeepLine() {
+        final int depth = 200000;
+        LinkedBinaryTree<Integer> tree = new LinkedBinaryTree<>(0);
+        for (int i = 1; i < depth; i++) {
+            tree = new LinkedBinaryTree<>(i, tree, null);
+        }
+        assertTrue("Contains the deepest", tree.contains(0));
+        assertFalse("Does not contain", tree.contains(-1));
+        assertEquals("Find", Integer.valueOf(1), tree.find(1));
+    }
+
+    /**
+     *  Test the rank() method with a missing element.
+     */
+    @Test(expected = ElementNotFoundException.class)
+    public void testRankMissing() {
+        myNormalTree.rank(0);
+    }
+
     /**
      *  Test the size() method empty.
      *  @throws EmptyCollectionException because the collection is empty.
@@ -168,6 +267,93 @@ public class TestLinkedBinaryTree {
         assertEquals(myPyramidTree.countOneChildNodes(), childP);
     }
 
+    /**
+     * Test the getStats() method.
+     */
+    @Test
+    public void testGetStats() {
+        final TreeStats stats = myNormalTree.getStats();
+        assertEquals("Height", 2, stats.getHeight());
+        assertEquals("Size", EXPECTED_SIZE, stats.getSize());
+        assertEquals("Leaves", 3, stats.getLeafCount());
+        assertEquals("One child", 1, stats.getOneChildCount());
+        assertEquals("Two children", 2, stats.getTwoChildCount());
+        assertArrayEquals("Widths", new int[] {1, 2, 3}, stats.getLevelWidths());
+
+        final TreeStats empty = new LinkedBinaryTree<Integer>().getStats();
+        assertEquals("Empty height", -1, empty.getHeight());
+        assertEquals("Empty size", 0, empty.getSize());
+    }
+
+    /**
+     * Test the getStats() method on a line tree too deep for recursion.
+     */
+    @Test
+    public void testGetStatsDeepLine() {
+        final int depth = 200000;
+        LinkedBinaryTree<Integer> tree = new LinkedBinaryTree<>(0);
+        for (int i = 1; i < depth; i++) {
+            tree = new LinkedBinaryTree<>(i, tree, null);
+        }
+        final TreeStats stats = tree.getStats();
+        assertEquals("Height", depth - 1, stats.getHeight());
+        assertEquals("Leaves", 1, tree.countLeafNodes());
+        assertEquals("One child", depth - 1, tree.countOneChildNodes());
+        assertEquals("Width", 1, stats.getLevelWidth(depth - 1));
+    }
+
+    /**
+     * Test the ParallelTreeAggregator methods with a cutoff small enough to
+     * split the fixtures.
+     */
+    @Test
+    public void testParallelAggregates() {
+        final ParallelTreeAggregator aggregator =
+                        new ParallelTreeAggregator(ForkJoinPool.commonPool(), 1);
+        final List<LinkedBinaryTree<Integer>> trees = Arrays.asList(
+                        myNormalTree, myLineTree, myZigZagTree, myPyramidTree);
+        for (final LinkedBinaryTree<Integer> tree : trees) {
+            assertEquals("Height", tree.getHeight(), aggregator.getHeight(tree));
+            assertEquals("Leaves", tree.countLeafNodes(), aggregator.countLeafNodes(tree));
+            assertEquals("One child", tree.countOneChildNodes(),
+                         aggregator.countOneChildNodes(tree));
+            assertTrue("Contains 40", aggregator.contains(tree, FORTY));
+            assertFalse("Does not contain 0", aggregator.contains(tree, 0));
+        }
+        final LinkedBinaryTree<Integer> empty = new LinkedBinaryTree<>();
+        assertEquals("Empty height", -1, aggregator.getHeight(empty));
+        assertFalse("Empty contains", aggregator.contains(empty, TEN));
+    }
+
+    /**
+     * Test the ParallelTreeAggregator methods on caterpillars, spines with a
+     * leaf at each node, too deep for recursion.
+     */
+    @Test
+    public void testParallelAggregatesCaterpillar() {
+        final int depth = 200000;
+        final ParallelTreeAggregator aggregator =
+                        new ParallelTreeAggregator(ForkJoinPool.commonPool(), 1);
+        LinkedBinaryTree<Integer> left = new LinkedBinaryTree<>(0);
+        LinkedBinaryTree<Integer> zigZag = new LinkedBinaryTree<>(0);
+        for (int i = 1; i < depth; i++) {
+            left = new LinkedBinaryTree<>(i, left, new LinkedBinaryTree<>(-i));
+            if (i % 2 == 0) {
+                zigZag = new LinkedBinaryTree<>(i, zigZag, new LinkedBinaryTree<>(-i));
+            } else {
+                zigZag = new LinkedBinaryTree<>(i, new LinkedBinaryTree<>(-i), zigZag);
+            }
+        }
+        for (final LinkedBinaryTree<Integer> tree : Arrays.asList(left, zigZag)) {
+            assertEquals("Height", depth - 1, aggregator.getHeight(tree));
+            assertEquals("Leaves", depth, aggregator.countLeafNodes(tree));
+            assertEquals("One child", 0, aggregator.countOneChildNodes(tree));
+            assertTrue("Contains the deepest", aggregator.contains(tree, 0));
+            assertTrue("Contains a leaf", aggregator.contains(tree, 1 - depth));
+            assertFalse("Does not contain", aggregator.contains(tree, depth));
+        }
+    }
+
     /**
      * Test the contains method.
      */
@@ -179,6 +365,22 @@ public class TestLinkedBinaryTree {
         
     }
     
+    /**
+     * Test the find and contains methods with the element index on.
+     */
+    @Test
+    public void testIndexed() {
+        myPyramidTree.setIndexed(true);
+        assertTrue("Indexed", myPyramidTree.isIndexed());
+        assertTrue("The tree contains 20", myPyramidTree.contains(TWENTY));
+        assertFalse("The tree does not contain 0", myPyramidTree.contains(0));
+        assertEquals("Find 61", Integer.valueOf(ROOT_ELM), myPyramidTree.find(ROOT_ELM));
+
+        final LinkedBinaryTree<Integer> tree = new LinkedBinaryTree<>();
+        tree.setIndexed(true);
+        assertFalse("Empty collection", tree.contains(ROOT_ELM));
+    }
+
     /**
      * Test the contains method.
      */
@@ -197,4 +399,502 @@ public class TestLinkedBinaryTree {
         assertEquals("toString() prints unexpected result", 
                      myNormalTree.toString(), "[20 10 40 61 20 20]");
     }
+
+    /**
+     * Test toString() on a line tree too deep for plain recursion.
+     */
+    @Test
+    public void testToStringDeepLine() {
+        final int depth = 200000;
+        LinkedBinaryTree<Integer> tree = new LinkedBinaryTree<>(0);
+        for (int i = 1; i < depth; i++) {
+            tree = new LinkedBinaryTree<>(i, tree, null);
+        }
+        final String text = tree.toString();
+        assertTrue("Start", text.startsWith("[0 1 2 "));
+        assertTrue("End", text.endsWith(" " + (depth - 1) + "]"));
+    }
+
+    /**
+     * Test writeTo() in each format.
+     *
+     * @throws IOException never, a StringBuilder does not throw
+     */
+    @Test
+    public void testWriteTo() throws IOException {
+        final StringBuilder text = new StringBuilder();
+        myNormalTree.writeTo(text, ExportFormat.TEXT);
+        assertEquals("Text", myNormalTree.toString(), text.toString());
+
+        final StringBuilder json = new StringBuilder();
+        myNormalTree.writeTo(json, ExportFormat.JSON);
+        assertEquals("Json", "{\"nodes\":[\n"
+                     + "{\"id\":0,\"element\":61},\n"
+                     + "{\"id\":1,\"parent\":0,\"side\":\"left\",\"element\":10},\n"
+                     + "{\"id\":2,\"parent\":1,\"side\":\"left\",\"element\":20},\n"
+                     + "{\"id\":3,\"parent\":1,\"side\":\"right\",\"element\":40},\n"
+                     + "{\"id\":4,\"parent\":0,\"side\":\"right\",\"element\":20},\n"
+                     + "{\"id\":5,\"parent\":4,\"side\":\"right\",\"element\":20}\n"
+                     + "]}", json.toString());
+
+        final StringBuilder dot = new StringBuilder();
+        myLineTree.writeTo(dot, ExportFormat.DOT);
+        assertEquals("Dot", "digraph \"LinkedBinaryTree\" {\n"
+                     + "  n0 [label=\"61\"];\n"
+                     + "  n1 [label=\"10\"];\n  n0 -> n1 [label=\"L\"];\n"
+                     + "  n2 [label=\"20\"];\n  n1 -> n2 [label=\"L\"];\n"
+                     + "  n3 [label=\"40\"];\n  n2 -> n3 [label=\"L\"];\n"
+                     + "}\n", dot.toString());
+
+        final StringBuilder empty = new StringBuilder();
+        new LinkedBinaryTree<Integer>().writeTo(empty, ExportFormat.JSON);
+        assertEquals("Empty", "{\"nodes\":[\n]}", empty.toString());
+    }
+
+    /**
+     * Test that JSON and DOT escape quotes, backslashes and control
+     * characters.
+     *
+     * @throws IOException never, a StringBuilder does not throw
+     */
+    @Test
+    public void testWriteToEscapes() throws IOException {
+        final LinkedBinaryTree<String> tree = new LinkedBinaryTree<>("a\"b\\c\n\u0001");
+        final StringBuilder json = new StringBuilder();
+        tree.writeTo(json, ExportFormat.JSON);
+        assertEquals("Json", "{\"nodes\":[\n{\"id\":0,\"element\":\"a\\\"b\\\\c\\n\\u0001\"}\n]}",
+                     json.toString());
+        final StringBuilder dot = new StringBuilder();
+        tree.writeTo(dot, ExportFormat.DOT);
+        assertTrue("Dot", dot.toString().contains("[label=\"a\\\"b\\\\c\n\u0001\"]"));
+    }
+
+    /**
+     * Test that writing to a channel gives the UTF-8 bytes of the text, for
+     * output larger than the buffers and characters of several bytes.
+     *
+     * @throws IOException if the channel cannot be written
+     */
+    @Test
+    public void testWriteToChannel() throws IOException {
+        LinkedBinaryTree<String> tree = null;
+        for (int i = 0; i < MANY_NODES; i++) {
+            tree = new LinkedBinaryTree<>("\u00e9\u20ac\ud83d\ude00" + i, null, tree);
+        }
+        final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        tree.writeTo(Channels.newChannel(bytes), ExportFormat.TEXT);
+        assertArrayEquals("Bytes", tree.toString().getBytes(StandardCharsets.UTF_8),
+                          bytes.toByteArray());
+    }
+
+    /**
+     * Test the iteratorInOrder() method.
+     */
+    @Test
+    public void testIteratorInOrder() {
+        assertEquals("In order", "20 10 40 61 20 20",
+                     join(myNormalTree.iteratorInOrder()));
+        assertEquals("Line in order", "40 20 10 61",
+                     join(myLineTree.iteratorInOrder()));
+        assertEquals("Zig in order", "40 10 20 10",
+                     join(myZigZagTree.iteratorInOrder()));
+    }
+
+    /**
+     * Test the iteratorPreOrder() method.
+     */
+    @Test
+    public void testIteratorPreOrder() {
+        assertEquals("Pre order", "61 10 20 40 20 20",
+                     join(myNormalTree.iteratorPreOrder()));
+        assertEquals("Pyramid pre order", "61 40 10 10 20",
+                     join(myPyramidTree.iteratorPreOrder()));
+    }
+
+    /**
+     * Test the iteratorPostOrder() method.
+     */
+    @Test
+    public void testIteratorPostOrder() {
+        assertEquals("Post order", "20 40 10 20 20 61",
+                     join(myNormalTree.iteratorPostOrder()));
+        assertEquals("Zig post order", "10 20 40 10",
+                     join(myZigZagTree.iteratorPostOrder()));
+        assertEquals("Pyramid post order", "10 40 20 10 61",
+                     join(myPyramidTree.iteratorPostOrder()));
+    }
+
+    /**
+     * Test the iteratorLevelOrder() method.
+     */
+    @Test
+    public void testIteratorLevelOrder() {
+        assertEquals("Level order", "61 10 20 20 40 20",
+                     join(myNormalTree.iteratorLevelOrder()));
+        assertEquals("Pyramid level order", "61 40 10 10 20",
+                     join(myPyramidTree.iteratorLevelOrder()));
+    }
+
+    /**
+     * Test the stream() and parallelStream() methods.
+     */
+    @Test
+    public void testStreams() {
+        final List<Integer> expected = Arrays.asList(TWENTY, TEN, FORTY, ROOT_ELM,
+                                                     TWENTY, TWENTY);
+        assertEquals("Stream", expected,
+                     myNormalTree.stream().collect(Collectors.toList()));
+        assertEquals("Parallel stream", expected,
+                     myNormalTree.parallelStream().collect(Collectors.toList()));
+        assertEquals("Count", EXPECTED_SIZE, myNormalTree.stream().count());
+        assertEquals("Empty", 0, new LinkedBinaryTree<Integer>().stream().count());
+    }
+
+    /**
+     * Test that a parallel stream over a large tree keeps the inorder.
+     */
+    @Test
+    public void testParallelStreamLarge() {
+        final int size = 100000;
+        final LinkedBinaryTree<Integer> tree = balanced(0, size - 1);
+        final List<Integer> elements = tree.parallelStream()
+                        .collect(Collectors.toList());
+        assertEquals("Size", size, elements.size());
+        for (int i = 0; i < size; i++) {
+            assertEquals("In order", Integer.valueOf(i), elements.get(i));
+        }
+        final long sum = tree.parallelStream().mapToLong(Integer::longValue).sum();
+        assertEquals("Sum", (long) size * (size - 1) / 2, sum);
+    }
+
+    /**
+     * Test that traverse() visits the fixtures in the orders of the iterators.
+     */
+    @Test
+    public void testTraverse() {
+        final List<LinkedBinaryTree<Integer>> trees =
+                        Arrays.asList(myNormalTree, myLineTree, myZigZagTree, myPyramidTree);
+        for (final LinkedBinaryTree<Integer> tree : trees) {
+            assertEquals("In order", join(tree.iteratorInOrder()),
+                         visitAll(tree, TraversalOrder.IN_ORDER));
+            assertEquals("Pre order", join(tree.iteratorPreOrder()),
+                         visitAll(tree, TraversalOrder.PRE_ORDER));
+            assertEquals("Post order", join(tree.iteratorPostOrder()),
+                         visitAll(tree, TraversalOrder.POST_ORDER));
+            assertEquals("Level order", join(tree.iteratorLevelOrder()),
+                         visitAll(tree, TraversalOrder.LEVEL_ORDER));
+        }
+        final StringBuilder sb = new StringBuilder();
+        myNormalTree.forEach(element -> sb.append(element).append(' '));
+        assertEquals("For each", join(myNormalTree.iteratorInOrder()), sb.toString().trim());
+    }
+
+    /**
+     * Test that the visitor can stop the walk.
+     */
+    @Test
+    public void testTraverseEarlyExit() {
+        final int[] count = new int[1];
+        assertFalse("Stopped", myNormalTree.traverse(TraversalOrder.PRE_ORDER, element -> {
+            count[0]++;
+            return element != FORTY;
+        }));
+        assertEquals("Visited", 4, count[0]);
+        assertTrue("Completed", myNormalTree.traverse(TraversalOrder.POST_ORDER,
+                                                      element -> true));
+    }
+
+    /**
+     * Test traverse() on a line tree too deep for plain recursion.
+     */
+    @Test
+    public void testTraverseDeepLine() {
+        final int depth = 200000;
+        LinkedBinaryTree<Integer> tree = new LinkedBinaryTree<>(0);
+        for (int i = 1; i < depth; i++) {
+            tree = new LinkedBinaryTree<>(i, null, tree);
+        }
+        final int[] next = {depth - 1};
+        assertTrue(tree.traverse(TraversalOrder.PRE_ORDER, element -> element == next[0]--));
+        next[0] = 0;
+        assertTrue(tree.traverse(TraversalOrder.POST_ORDER, element -> element == next[0]++));
+        assertEquals("Visited", depth, next[0]);
+    }
+
+    /**
+     * Test that a visitor that changes the tree is stopped.
+     */
+    @Test(expected = ConcurrentModificationException.class)
+    public void testTraverseModified() {
+        myNormalTree.traverse(TraversalOrder.IN_ORDER, element -> {
+            myNormalTree.setRootElement(element);
+            return true;
+        });
+    }
+
+    /**
+     * Test attaching and detaching subtrees of the root.
+     */
+    @Test
+    public void testAttachAndDetach() {
+        final LinkedBinaryTree<Integer> left = myNormalTree.detachLeft();
+        assertEquals("Detached", "20 10 40", join(left.iteratorInOrder()));
+        assertEquals("Size after detach", 3, myNormalTree.size());
+        assertTrue("Detached again", myNormalTree.detachLeft().isEmpty());
+
+        myNormalTree.attachLeft(myLineTree);
+        assertTrue("Moved", myLineTree.isEmpty());
+        assertEquals("Attached", "40 20 10 61 61 20 20", myNormalTree.toString()
+                        .replace("[", "").replace("]", ""));
+        assertEquals("Size after attach", 7, myNormalTree.size());
+        assertEquals("Height after attach", 4, myNormalTree.getHeight());
+
+        final LinkedBinaryTree<Integer> right = myNormalTree.replaceRight(left);
+        assertEquals("Replaced", "20 20", join(right.iteratorInOrder()));
+        assertEquals("Size after replace", 8, myNormalTree.size());
+        assertEquals("Old root", Integer.valueOf(ROOT_ELM), myNormalTree.setRootElement(TEN));
+        assertEquals("New root", Integer.valueOf(TEN), myNormalTree.getRootElement());
+        assertEquals("Rank", 4, myNormalTree.rank(TEN));
+    }
+
+    /**
+     * Test that the constructor moves the nodes of its subtrees, so that an
+     * edit of a subtree cannot change the sizes kept by the new tree.
+     */
+    @Test
+    public void testConstructorMovesNodes() {
+        final LinkedBinaryTree<Integer> left = new LinkedBinaryTree<>(TEN);
+        final LinkedBinaryTree<Integer> tree = new LinkedBinaryTree<>(ROOT_ELM, left, null);
+        assertTrue("Moved", left.isEmpty());
+        assertEquals("Size", 2, tree.size());
+        assertEquals("Stream", 2, tree.stream().count());
+        assertEquals("Select", Integer.valueOf(ROOT_ELM), tree.select(1));
+    }
+
+    /**
+     * Test that one tree cannot be both subtrees of a new tree.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testConstructorSameSubtree() {
+        final LinkedBinaryTree<Integer> tree = new LinkedBinaryTree<>(TEN);
+        new LinkedBinaryTree<>(ROOT_ELM, tree, tree);
+    }
+
+    /**
+     * Test that a subtree returned by getLeft() cannot be edited.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSubtreeEditUnsupported() {
+        myLineTree.getLeft().attachRight(new LinkedBinaryTree<>(TEN));
+    }
+
+    /**
+     * Test that a subtree returned by getRight() cannot be moved into a new
+     * tree.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSubtreeMoveUnsupported() {
+        new LinkedBinaryTree<>(ROOT_ELM, null, myNormalTree.getRight());
+    }
+
+    /**
+     * Test that attaching to an occupied side fails.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testAttachOccupied() {
+        myNormalTree.attachRight(myLineTree);
+    }
+
+    /**
+     * Test that an edit makes open iterators fail fast.
+     */
+    @Test(expected = ConcurrentModificationException.class)
+    public void testEditFailsFast() {
+        final Iterator<Integer> itr = myNormalTree.iteratorPreOrder();
+        itr.next();
+        myNormalTree.detachRight();
+        itr.next();
+    }
+
+    /**
+     * Test that an edit is seen by the element index.
+     */
+    @Test
+    public void testEditIndexed() {
+        myNormalTree.setIndexed(true);
+        assertTrue("Before", myNormalTree.contains(FORTY));
+        myNormalTree.detachLeft();
+        assertFalse("After", myNormalTree.contains(FORTY));
+        myNormalTree.setRootElement(FORTY);
+        assertTrue("Root", myNormalTree.contains(FORTY));
+    }
+
+    /**
+     * Test that edits of a tree of distinct elements keep the element index
+     * in step with the tree.
+     */
+    @Test
+    public void testEditIndexedInPlace() {
+        final LinkedBinaryTree<Integer> tree = balanced(1, 15);
+        tree.setIndexed(true);
+        assertTrue("Built", tree.contains(1));
+        final LinkedBinaryTree<Integer> left = tree.detachLeft();
+        tree.attachLeft(balanced(TWENTY, TWENTY + 2));
+        final LinkedBinaryTree<Integer> right = tree.replaceRight(left);
+        assertEquals("Old root", Integer.valueOf(8), tree.setRootElement(FORTY));
+        for (int i = 1; i <= 15; i++) {
+            assertEquals("Contains " + i, i < 8, tree.contains(i));
+        }
+        assertTrue("Attached", tree.contains(TWENTY + 1));
+        assertTrue("Root", tree.contains(FORTY));
+        assertEquals("Replaced", "9 10 11 12 13 14 15", join(right.iteratorInOrder()));
+    }
+
+    /**
+     * Test that after edits the element index finds the first of equal
+     * elements in preorder, as a search of the tree does.
+     */
+    @Test
+    public void testEditIndexedEqualElements() {
+        final String first = new String("a");
+        final String second = new String("a");
+        final String third = new String("a");
+        final LinkedBinaryTree<String> tree =
+                        new LinkedBinaryTree<>("r", null, new LinkedBinaryTree<>(second));
+        tree.setIndexed(true);
+        assertSame("Right", second, tree.find("a"));
+        tree.attachLeft(new LinkedBinaryTree<>(first));
+        assertSame("Left comes first", first, tree.find("a"));
+        tree.detachLeft();
+        assertSame("Right again", second, tree.find("a"));
+        tree.setRootElement(third);
+        assertSame("Root comes first", third, tree.find("a"));
+    }
+
+    /**
+     * Test that the Morris traversals visit the fixtures in the same order as
+     * the iterators and leave them as they were.
+     */
+    @Test
+    public void testMorrisTraversals() {
+        final List<LinkedBinaryTree<Integer>> trees =
+                        Arrays.asList(myNormalTree, myLineTree, myZigZagTree, myPyramidTree);
+        for (final LinkedBinaryTree<Integer> tree : trees) {
+            final String preOrder = join(tree.iteratorPreOrder());
+            final String postOrder = join(tree.iteratorPostOrder());
+            final StringBuilder inOrder = new StringBuilder();
+            final StringBuilder morrisPre = new StringBuilder();
+            tree.morrisInOrder(element -> inOrder.append(element).append(' '));
+            tree.morrisPreOrder(element -> morrisPre.append(element).append(' '));
+            assertEquals("In order", join(tree.iteratorInOrder()), inOrder.toString().trim());
+            assertEquals("Pre order", preOrder, morrisPre.toString().trim());
+            assertEquals("Restored", postOrder, join(tree.iteratorPostOrder()));
+        }
+    }
+
+    /**
+     * Test a Morris traversal of a line tree too deep for recursion.
+     */
+    @Test
+    public void testMorrisDeepLine() {
+        final int depth = 200000;
+        LinkedBinaryTree<Integer> tree = new LinkedBinaryTree<>(0);
+        for (int i = 1; i < depth; i++) {
+            tree = new LinkedBinaryTree<>(i, tree, null);
+        }
+        final int[] next = new int[1];
+        tree.morrisInOrder(element -> assertEquals(next[0]++, element.intValue()));
+        assertEquals("Visited", depth, next[0]);
+        assertEquals("Height", depth - 1, tree.getHeight());
+    }
+
+    /**
+     * Test that an exception in the action leaves the tree as it was.
+     */
+    @Test
+    public void testMorrisActionThrows() {
+        final String before = join(myNormalTree.iteratorPostOrder());
+        try {
+            myNormalTree.morrisInOrder(element -> {
+                if (element == FORTY) {
+                    throw new IllegalArgumentException();
+                }
+            });
+            fail("Exception not passed on");
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e);
+        }
+        assertEquals("Restored", before, join(myNormalTree.iteratorPostOrder()));
+        assertEquals("Stats", 2, myNormalTree.getHeight());
+    }
+
+    /**
+     * Test that the tree cannot be walked from inside a Morris traversal.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void testMorrisReentry() {
+        myNormalTree.morrisPreOrder(element -> myNormalTree.contains(element));
+    }
+
+    /**
+     * Builds a balanced tree holding the given range inorder.
+     *
+     * @param theLow the first element
+     * @param theHigh the last element
+     * @return the balanced tree, or null if the range is empty
+     */
+    private static LinkedBinaryTree<Integer> balanced(final int theLow,
+                                                      final int theHigh) {
+        if (theLow > theHigh) {
+            return null;
+        }
+        final int mid = (theLow + theHigh) >>> 1;
+        return new LinkedBinaryTree<>(mid, balanced(theLow, mid - 1),
+                                      balanced(mid + 1, theHigh));
+    }
+
+    /**
+     * Test that the iterators of an empty tree have no elements.
+     */
+    @Test(expected = NoSuchElementException.class)
+    public void testIteratorEmpty() {
+        final LinkedBinaryTree<Integer> tree = new LinkedBinaryTree<>();
+        assertFalse("Empty in order", tree.iteratorInOrder().hasNext());
+        assertFalse("Empty pre order", tree.iteratorPreOrder().hasNext());
+        tree.iteratorPostOrder().next();
+    }
+
+    /**
+     * Joins the elements visited by traverse() separated by spaces.
+     *
+     * @param theTree the tree to walk
+     * @param theOrder the traversal order
+     * @return the elements separated by spaces
+     */
+    private static String visitAll(final LinkedBinaryTree<Integer> theTree,
+                                   final TraversalOrder theOrder) {
+        final StringBuilder sb = new StringBuilder();
+        theTree.traverse(theOrder, element -> {
+            sb.append(element).append(' ');
+            return true;
+        });
+        return sb.toString().trim();
+    }
+
+    /**
+     * Joins the elements of an iterator separated by spaces.
+     *
+     * @param theIter the iterator to drain
+     * @return the elements separated by spaces
+     */
+    private static String join(final Iterator<Integer> theIter) {
+        final StringBuilder sb = new StringBuilder();
+        while (theIter.hasNext()) {
+            sb.append(theIter.next());
+            if (theIter.hasNext()) {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
 }
@@ -0,0 +1,19 @@
+package tests;
+
+import structures.LinkedHashUnorderedList;
+import structures.UnorderedListADT;
+
+/**
+ * Test the methods of the class LinkedHashUnorderedList against the
+ * UnorderedListADT contract.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public class TestLinkedHashUnorderedList extends AbstractUnorderedListTest {
+
+    @Override
+    protected UnorderedListADT<Integer> createList() {
+        return new LinkedHashUnorderedList<>();
+    }
+}
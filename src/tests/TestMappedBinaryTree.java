@@ -0,0 +1,196 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import exceptions.ElementNotFoundException;
+import exceptions.EmptyCollectionException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Random;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import structures.ElementCodec;
+import structures.LinkedBinaryTree;
+import structures.MappedBinaryTree;
+
+/**
+ * Test writing trees to files and reading them back with MappedBinaryTree.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public class TestMappedBinaryTree {
+
+    /** The element at the root of my fixture. */
+    private static final int ROOT_ELM = 61;
+
+    /** Represent 10. */
+    private static final int TEN = 10;
+
+    /** Represent 20. */
+    private static final int TWENTY = 20;
+
+    /** Represent 40. */
+    private static final int FORTY = 40;
+
+    /** The number of random trees to compare. */
+    private static final int TRIALS = 50;
+
+    /** The largest random tree. */
+    private static final int MAX_NODES = 300;
+
+    /** The file the trees are written to. */
+    private Path myFile;
+
+    /**
+     * Method to initialize test fixtures.
+     *
+     * @throws IOException if the temporary file cannot be created
+     */
+    @Before
+    public void setUp() throws IOException {
+        myFile = Files.createTempFile("tree", ".bin");
+    }
+
+    /**
+     * Removes the temporary file.
+     *
+     * @throws IOException if the temporary file cannot be deleted
+     */
+    @After
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(myFile);
+    }
+
+    /**
+     * Test a small tree read back from its file.
+     *
+     * @throws IOException if the file cannot be used
+     */
+    @Test
+    public void testRoundTrip() throws IOException {
+        final LinkedBinaryTree<Integer> tree1 = new LinkedBinaryTree<>(TWENTY);
+        final LinkedBinaryTree<Integer> tree2 = new LinkedBinaryTree<>(FORTY);
+        final LinkedBinaryTree<Integer> tree3 = new LinkedBinaryTree<>(TWENTY);
+        final LinkedBinaryTree<Integer> tree4 = new LinkedBinaryTree<>(TEN, tree1, tree2);
+        final LinkedBinaryTree<Integer> tree5 = new LinkedBinaryTree<>(TWENTY, null, tree3);
+        final LinkedBinaryTree<Integer> tree =
+                        new LinkedBinaryTree<>(ROOT_ELM, tree4, tree5);
+
+        MappedBinaryTree.write(tree, ElementCodec.INTEGER, myFile);
+        final MappedBinaryTree<Integer> mapped =
+                        MappedBinaryTree.open(myFile, ElementCodec.INTEGER);
+        assertEquals("[20 10 40 61 20 20]", mapped.toString());
+        assertEquals(6, mapped.size());
+        assertEquals(2, mapped.getHeight());
+        assertEquals(3, mapped.countLeafNodes());
+        assertEquals(1, mapped.countOneChildNodes());
+        assertEquals(Integer.valueOf(ROOT_ELM), mapped.getRootElement());
+        assertTrue(mapped.contains(FORTY));
+        assertFalse(mapped.contains(TEN + 1));
+        assertEquals(Integer.valueOf(TEN), mapped.find(TEN));
+        try {
+            mapped.find(TEN + 1);
+            fail();
+        } catch (final ElementNotFoundException e) {
+            assertNotNull(e);
+        }
+    }
+
+    /**
+     * Test that every traversal of random trees matches the linked tree.
+     *
+     * @throws IOException if the file cannot be used
+     */
+    @Test
+    public void testRandomShapes() throws IOException {
+        final Random random = new Random(TRIALS);
+        for (int trial = 0; trial < TRIALS; trial++) {
+            final LinkedBinaryTree<Long> tree =
+                            randomTree(random, random.nextInt(MAX_NODES) + 1);
+            MappedBinaryTree.write(tree, ElementCodec.LONG, myFile);
+            final MappedBinaryTree<Long> mapped =
+                            MappedBinaryTree.open(myFile, ElementCodec.LONG);
+
+            assertEquals(join(tree.iteratorInOrder()), join(mapped.iteratorInOrder()));
+            assertEquals(join(tree.iteratorPreOrder()), join(mapped.iteratorPreOrder()));
+            assertEquals(join(tree.iteratorPostOrder()), join(mapped.iteratorPostOrder()));
+            assertEquals(join(tree.iteratorLevelOrder()),
+                         join(mapped.iteratorLevelOrder()));
+            assertEquals(tree.getHeight(), mapped.getHeight());
+            assertEquals(tree.countLeafNodes(), mapped.countLeafNodes());
+            assertEquals(tree.countOneChildNodes(), mapped.countOneChildNodes());
+        }
+    }
+
+    /**
+     * Test an empty tree and files that cannot be read as trees.
+     *
+     * @throws IOException if the file cannot be used
+     */
+    @Test
+    public void testEmptyAndInvalid() throws IOException {
+        MappedBinaryTree.write(new LinkedBinaryTree<Integer>(), ElementCodec.INTEGER, myFile);
+        final MappedBinaryTree<Integer> empty =
+                        MappedBinaryTree.open(myFile, ElementCodec.INTEGER);
+        assertTrue(empty.isEmpty());
+        assertEquals(-1, empty.getHeight());
+        assertFalse(empty.iteratorPostOrder().hasNext());
+        try {
+            empty.size();
+            fail();
+        } catch (final EmptyCollectionException e) {
+            assertNotNull(e);
+        }
+        try {
+            MappedBinaryTree.open(myFile, ElementCodec.LONG);
+            fail();
+        } catch (final IOException e) {
+            assertNotNull(e);
+        }
+        Files.write(myFile, new byte[] {1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16});
+        try {
+            MappedBinaryTree.open(myFile, ElementCodec.INTEGER);
+            fail();
+        } catch (final IOException e) {
+            assertNotNull(e);
+        }
+    }
+
+    /**
+     * Builds a tree of random shape whose elements are its node numbers.
+     *
+     * @param theRandom the source of the shape
+     * @param theSize the number of nodes
+     * @return the tree, or null if the size is 0
+     */
+    private static LinkedBinaryTree<Long> randomTree(final Random theRandom,
+                                                     final int theSize) {
+        if (theSize == 0) {
+            return null;
+        }
+        final int leftSize = theRandom.nextInt(theSize);
+        return new LinkedBinaryTree<>((long) theSize * MAX_NODES + leftSize,
+                                      randomTree(theRandom, leftSize),
+                                      randomTree(theRandom, theSize - 1 - leftSize));
+    }
+
+    /**
+     * Joins the elements of an iterator, each followed by a space.
+     *
+     * @param theIter the iterator
+     * @param <T> the generic data type
+     * @return the joined elements
+     */
+    private static <T> String join(final Iterator<T> theIter) {
+        final StringBuilder sb = new StringBuilder();
+        while (theIter.hasNext()) {
+            sb.append(theIter.next()).append(' ');
+        }
+        return sb.toString();
+    }
+}
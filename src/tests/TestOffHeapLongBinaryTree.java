@@ -0,0 +1,178 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import exceptions.ElementNotFoundException;
+import exceptions.EmptyCollectionException;
+import java.util.PrimitiveIterator;
+import org.junit.Before;
+import org.junit.Test;
+
+import structures.LongBinaryTree;
+import structures.OffHeapLongBinaryTree;
+
+/**
+ * Test the methods of OffHeapLongBinaryTree.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public class TestOffHeapLongBinaryTree {
+
+    /** The element at the root of my fixture. */
+    private static final long ROOT_ELM = 61;
+
+    /** Represent 10. */
+    private static final long TEN = 10;
+
+    /** Represent 20. */
+    private static final long TWENTY = 20;
+
+    /** Represent 40. */
+    private static final long FORTY = 40;
+
+    /** The number of nodes in the large line tree, more than one slab. */
+    private static final int LARGE = 200000;
+
+    /** The data structure to represent a balanced tree. */
+    private OffHeapLongBinaryTree myNormalTree;
+
+    /**
+     * Method to initialize test fixtures.
+     */
+    @Before
+    public void setUp() {
+        myNormalTree = new OffHeapLongBinaryTree();
+        final int node1 = myNormalTree.addNode(TWENTY, OffHeapLongBinaryTree.NIL,
+                                               OffHeapLongBinaryTree.NIL);
+        final int node2 = myNormalTree.addNode(FORTY, OffHeapLongBinaryTree.NIL,
+                                               OffHeapLongBinaryTree.NIL);
+        final int node3 = myNormalTree.addNode(TWENTY, OffHeapLongBinaryTree.NIL,
+                                               OffHeapLongBinaryTree.NIL);
+        final int node4 = myNormalTree.addNode(TEN, node1, node2);
+        final int node5 = myNormalTree.addNode(TWENTY, OffHeapLongBinaryTree.NIL, node3);
+        myNormalTree.setRoot(myNormalTree.addNode(ROOT_ELM, node4, node5));
+    }
+
+    /**
+     * Test the shape methods.
+     */
+    @Test
+    public void testShape() {
+        assertEquals(6, myNormalTree.size());
+        assertEquals(2, myNormalTree.getHeight());
+        assertEquals(3, myNormalTree.countLeafNodes());
+        assertEquals(1, myNormalTree.countOneChildNodes());
+        assertEquals(ROOT_ELM, myNormalTree.getRootElement());
+        assertTrue(myNormalTree.contains(FORTY));
+        assertEquals(FORTY, myNormalTree.find(FORTY));
+        assertFalse(myNormalTree.contains(TEN + 1));
+    }
+
+    /**
+     * Test the four traversal orders.
+     */
+    @Test
+    public void testTraversals() {
+        assertEquals("[20 10 40 61 20 20]", myNormalTree.toString());
+        assertEquals("61 10 20 40 20 20 ", join(myNormalTree.iteratorPreOrder()));
+        assertEquals("20 40 10 20 20 61 ", join(myNormalTree.iteratorPostOrder()));
+        assertEquals("61 10 20 20 40 20 ", join(myNormalTree.iteratorLevelOrder()));
+    }
+
+    /**
+     * Test that a copy matches the tree it was made from.
+     */
+    @Test
+    public void testCopyOf() {
+        final LongBinaryTree tree1 = new LongBinaryTree(FORTY);
+        final LongBinaryTree tree2 = new LongBinaryTree(TWENTY, tree1, null);
+        final LongBinaryTree tree3 = new LongBinaryTree(TEN, null, tree2);
+        final LongBinaryTree source = new LongBinaryTree(ROOT_ELM, tree3,
+                                                         new LongBinaryTree(TEN));
+        try (OffHeapLongBinaryTree copy = OffHeapLongBinaryTree.copyOf(source)) {
+            assertEquals(source.toString(), copy.toString());
+            assertEquals(join(source.iteratorPostOrder()), join(copy.iteratorPostOrder()));
+            assertEquals(source.getHeight(), copy.getHeight());
+            assertEquals(source.size(), copy.size());
+        }
+    }
+
+    /**
+     * Test a line tree spread over several slabs.
+     */
+    @Test
+    public void testLargeLine() {
+        try (OffHeapLongBinaryTree tree = new OffHeapLongBinaryTree()) {
+            int node = OffHeapLongBinaryTree.NIL;
+            for (int i = 0; i < LARGE; i++) {
+                node = tree.addNode(i, node, OffHeapLongBinaryTree.NIL);
+            }
+            tree.setRoot(node);
+            assertEquals(LARGE, tree.size());
+            assertEquals(LARGE - 1, tree.getHeight());
+            assertEquals(1, tree.countLeafNodes());
+            final PrimitiveIterator.OfLong itr = tree.iteratorInOrder();
+            for (long i = 0; i < LARGE; i++) {
+                assertEquals(i, itr.nextLong());
+            }
+            assertFalse(itr.hasNext());
+        }
+    }
+
+    /**
+     * Test the exceptions for empty trees, bad handles and closed trees.
+     */
+    @Test
+    public void testExceptions() {
+        final OffHeapLongBinaryTree empty = new OffHeapLongBinaryTree();
+        assertTrue(empty.isEmpty());
+        assertEquals(-1, empty.getHeight());
+        try {
+            empty.size();
+            fail();
+        } catch (final EmptyCollectionException e) {
+            assertNotNull(e);
+        }
+        try {
+            myNormalTree.find(TEN + 1);
+            fail();
+        } catch (final ElementNotFoundException e) {
+            assertNotNull(e);
+        }
+        try {
+            empty.addNode(TEN, 0, OffHeapLongBinaryTree.NIL);
+            fail();
+        } catch (final IllegalArgumentException e) {
+            assertNotNull(e);
+        }
+        myNormalTree.close();
+        assertEquals(0, myNormalTree.allocatedBytes());
+        try {
+            myNormalTree.iteratorInOrder();
+            fail();
+        } catch (final IllegalStateException e) {
+            assertNotNull(e);
+        }
+        try {
+            myNormalTree.isEmpty();
+            fail();
+        } catch (final IllegalStateException e) {
+            assertNotNull(e);
+        }
+    }
+
+    /**
+     * Joins the elements of an iterator, each followed by a space.
+     *
+     * @param theItr the iterator
+     * @return the joined elements
+     */
+    private static String join(final PrimitiveIterator.OfLong theItr) {
+        final StringBuilder sb = new StringBuilder();
+        while (theItr.hasNext()) {
+            sb.append(theItr.nextLong()).append(' ');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,128 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.Test;
+
+import structures.PersistentRedBlackTree;
+
+/**
+ * Test the versions returned by PersistentRedBlackTree.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public class TestPersistentRedBlackTree {
+
+    /** The number of updates. */
+    private static final int UPDATES = 2000;
+
+    /** The range of the random elements. */
+    private static final int RANGE = 500;
+
+    /** Seed for the random updates. */
+    private static final long SEED = 1009L;
+
+    /**
+     * Test that every version keeps its elements after later updates.
+     */
+    @Test
+    public void testVersionsUnchanged() {
+        final Random random = new Random(SEED);
+        final List<PersistentRedBlackTree<Integer>> versions = new ArrayList<>();
+        final List<String> expected = new ArrayList<>();
+        final TreeSet<Integer> model = new TreeSet<>();
+        PersistentRedBlackTree<Integer> tree = new PersistentRedBlackTree<>();
+
+        for (int i = 0; i < UPDATES; i++) {
+            final int element = random.nextInt(RANGE);
+            if (random.nextInt(3) == 0) {
+                tree = tree.minus(element);
+                model.remove(element);
+            } else {
+                tree = tree.plus(element);
+                model.add(element);
+            }
+            versions.add(tree);
+            expected.add(model.toString().replace(",", ""));
+        }
+        for (int i = 0; i < UPDATES; i++) {
+            final PersistentRedBlackTree<Integer> version = versions.get(i);
+            assertEquals("Version " + i, expected.get(i), version.toString());
+            if (!version.isEmpty()) {
+                assertTrue("Height", version.getHeight() <= 2 * log2(version.size() + 1));
+            }
+        }
+    }
+
+    /**
+     * Test that plus and minus return the same version when nothing changes.
+     */
+    @Test
+    public void testUnchangedVersion() {
+        final PersistentRedBlackTree<Integer> empty = new PersistentRedBlackTree<>();
+        final PersistentRedBlackTree<Integer> one = empty.plus(1);
+        assertTrue(empty.isEmpty());
+        assertEquals(1, one.size());
+        assertSame(one, one.plus(1));
+        assertSame(one, one.minus(2));
+        assertTrue(one.minus(1).isEmpty());
+        assertEquals(1, one.size());
+    }
+
+    /**
+     * Test that the inherited mutators are not supported.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAddElement() {
+        new PersistentRedBlackTree<Integer>().addElement(1);
+    }
+
+    /**
+     * Test that the inherited mutators are not supported.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testRemoveElement() {
+        new PersistentRedBlackTree<Integer>().plus(1).removeElement(1);
+    }
+
+    /**
+     * Test that the Morris traversals leave nodes shared with another version
+     * untouched while they run.
+     */
+    @Test
+    public void testMorrisSharedNodes() {
+        PersistentRedBlackTree<Integer> first = new PersistentRedBlackTree<>();
+        for (int i = 0; i < RANGE; i++) {
+            first = first.plus(i);
+        }
+        final PersistentRedBlackTree<Integer> second = first.plus(RANGE);
+        final String expected = second.toString();
+        final List<Integer> inOrder = new ArrayList<>();
+        first.morrisInOrder(element -> {
+            assertEquals("Shared version", expected, second.toString());
+            inOrder.add(element);
+        });
+        assertEquals("In order", first.toString(), inOrder.toString().replace(",", ""));
+
+        final List<Integer> preOrder = new ArrayList<>();
+        first.morrisPreOrder(preOrder::add);
+        final List<Integer> expectedPreOrder = new ArrayList<>();
+        first.iteratorPreOrder().forEachRemaining(expectedPreOrder::add);
+        assertEquals("Pre order", expectedPreOrder, preOrder);
+    }
+
+    /**
+     * Returns the ceiling of the base 2 logarithm.
+     *
+     * @param theValue a positive number
+     * @return the ceiling of log2 of the value
+     */
+    private static int log2(final int theValue) {
+        return 32 - Integer.numberOfLeadingZeros(theValue - 1);
+    }
+}
@@ -0,0 +1,261 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import exceptions.ElementNotFoundException;
+import exceptions.EmptyCollectionException;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.Random;
+import java.util.TreeSet;
+import org.junit.Before;
+import org.junit.Test;
+
+import structures.LinkedBinaryTree;
+import structures.RedBlackTree;
+
+/**
+ * Test the methods of the class RedBlackTree.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public class TestRedBlackTree {
+
+    /** The number of elements used by the randomized tests. */
+    private static final int MANY = 5000;
+
+    /** The seed of the randomized tests. */
+    private static final long SEED = 342L;
+
+    /** A tree holding 10, 20, ..., 100. */
+    private RedBlackTree<Integer> myTree;
+
+    /**
+     * Method to initialize test fixtures.
+     */
+    @Before
+    public void setUp() {
+        myTree = new RedBlackTree<>();
+        for (int i = 1; i <= 10; i++) {
+            myTree.addElement(i * 10);
+        }
+    }
+
+    /**
+     * Test that the elements come out in order and the tree stays balanced.
+     */
+    @Test
+    public void testAddElementOrderAndHeight() {
+        final RedBlackTree<Integer> tree = new RedBlackTree<>();
+        for (int i = 0; i < MANY; i++) {
+            tree.addElement(i);
+        }
+        assertEquals("Size", MANY, tree.size());
+        assertTrue("Too tall", tree.getHeight() <= 2 * log2(MANY + 1));
+        final Iterator<Integer> itr = tree.iteratorInOrder();
+        for (int i = 0; i < MANY; i++) {
+            assertEquals("In order", Integer.valueOf(i), itr.next());
+        }
+        assertFalse("Extra elements", itr.hasNext());
+    }
+
+    /**
+     * Test adding an element that is already in the tree.
+     */
+    @Test
+    public void testAddDuplicate() {
+        myTree.addElement(50);
+        assertEquals("Size", 10, myTree.size());
+    }
+
+    /**
+     * Test random additions and removals against a TreeSet.
+     */
+    @Test
+    public void testRandomAgainstTreeSet() {
+        final Random random = new Random(SEED);
+        final RedBlackTree<Integer> tree = new RedBlackTree<>();
+        final TreeSet<Integer> expected = new TreeSet<>();
+        for (int i = 0; i < MANY * 4; i++) {
+            final Integer value = random.nextInt(MANY);
+            if (random.nextBoolean()) {
+                tree.addElement(value);
+                expected.add(value);
+            } else if (expected.remove(value)) {
+                assertEquals("Removed", value, tree.removeElement(value));
+            } else {
+                assertFalse("Missing", tree.contains(value));
+            }
+        }
+        assertEquals("Size", expected.size(), tree.size());
+        assertTrue("Too tall", tree.getHeight() <= 2 * log2(expected.size() + 1));
+        final Iterator<Integer> itr = tree.iterator();
+        for (final Integer value : expected) {
+            assertEquals("In order", value, itr.next());
+        }
+        assertEquals("Min", expected.first(), tree.findMin());
+        assertEquals("Max", expected.last(), tree.findMax());
+    }
+
+    /**
+     * Test removing every element.
+     */
+    @Test
+    public void testRemoveAll() {
+        for (int i = 1; i <= 10; i++) {
+            assertEquals("Removed", Integer.valueOf(i * 10), myTree.removeElement(i * 10));
+        }
+        assertTrue("Should be empty", myTree.isEmpty());
+    }
+
+    /**
+     * Test removing an element that is not in the tree.
+     */
+    @Test(expected = ElementNotFoundException.class)
+    public void testRemoveMissing() {
+        myTree.removeElement(55);
+    }
+
+    /**
+     * Test the find() and contains() methods.
+     */
+    @Test
+    public void testFindAndContains() {
+        assertTrue("Contains 30", myTree.contains(30));
+        assertFalse("Does not contain 35", myTree.contains(35));
+        assertEquals("Find 70", Integer.valueOf(70), myTree.find(70));
+    }
+
+    /**
+     * Test the floor() and ceiling() methods.
+     */
+    @Test
+    public void testFloorAndCeiling() {
+        assertEquals("Floor of 35", Integer.valueOf(30), myTree.floor(35));
+        assertEquals("Floor of 40", Integer.valueOf(40), myTree.floor(40));
+        assertEquals("Floor of 1000", Integer.valueOf(100), myTree.floor(1000));
+        assertEquals("Ceiling of 35", Integer.valueOf(40), myTree.ceiling(35));
+        assertEquals("Ceiling of 0", Integer.valueOf(10), myTree.ceiling(0));
+    }
+
+    /**
+     * Test the floor() method below the smallest element.
+     */
+    @Test(expected = ElementNotFoundException.class)
+    public void testFloorMissing() {
+        myTree.floor(5);
+    }
+
+    /**
+     * Test the findMin() method on an empty tree.
+     */
+    @Test(expected = EmptyCollectionException.class)
+    public void testFindMinEmpty() {
+        new RedBlackTree<Integer>().findMin();
+    }
+
+    /**
+     * Test the iteratorRange() method.
+     */
+    @Test
+    public void testIteratorRange() {
+        assertEquals("Inner range", "30 40 50", join(myTree.iteratorRange(25, 55)));
+        assertEquals("Exact bounds", "10 20", join(myTree.iteratorRange(10, 20)));
+        assertEquals("Empty range", "", join(myTree.iteratorRange(41, 49)));
+        assertEquals("Whole range", join(myTree.iterator()),
+                     join(myTree.iteratorRange(0, 1000)));
+    }
+
+    /**
+     * Test the rank() and select() methods.
+     */
+    @Test
+    public void testRankAndSelect() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals("Rank", i, myTree.rank((i + 1) * 10));
+            assertEquals("Select", Integer.valueOf((i + 1) * 10), myTree.select(i));
+        }
+    }
+
+    /**
+     * Test a tree ordered by a comparator.
+     */
+    @Test
+    public void testComparator() {
+        final RedBlackTree<String> tree = new RedBlackTree<>(Comparator.reverseOrder());
+        tree.addElement("b");
+        tree.addElement("c");
+        tree.addElement("a");
+        assertEquals("Reverse order", "[c b a]", tree.toString());
+        assertEquals("Min", "c", tree.findMin());
+    }
+
+    /**
+     * Test that subtrees of a search tree cannot be edited.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testDetachUnsupported() {
+        myTree.addElement(1);
+        myTree.detachLeft();
+    }
+
+    /**
+     * Test that the subtrees of a search tree cannot be edited.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSubtreeEditUnsupported() {
+        myTree.getLeft().setRootElement(0);
+    }
+
+    /**
+     * Test that a subtree of a search tree cannot be moved into another tree.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSubtreeMoveUnsupported() {
+        new LinkedBinaryTree<>(0).attachLeft(myTree.getRight());
+    }
+
+    /**
+     * Test that the Morris traversals of a subtree leave the nodes it shares
+     * with the tree untouched while they run.
+     */
+    @Test
+    public void testSubtreeMorris() {
+        final LinkedBinaryTree<Integer> left = myTree.getLeft();
+        final String expected = myTree.toString();
+        final StringBuilder sb = new StringBuilder();
+        left.morrisInOrder(element -> {
+            assertEquals("Whole tree", expected, myTree.toString());
+            sb.append(' ').append(element);
+        });
+        assertEquals("Subtree", left.toString(), "[" + sb.toString().trim() + "]");
+    }
+
+    /**
+     * Returns the base 2 logarithm of a number, rounded up.
+     *
+     * @param theValue a positive number
+     * @return the logarithm rounded up
+     */
+    private static int log2(final int theValue) {
+        return 32 - Integer.numberOfLeadingZeros(theValue - 1);
+    }
+
+    /**
+     * Joins the elements of an iterator separated by spaces.
+     *
+     * @param theIter the iterator to drain
+     * @return the elements separated by spaces
+     */
+    private static String join(final Iterator<Integer> theIter) {
+        final StringBuilder sb = new StringBuilder();
+        while (theIter.hasNext()) {
+            sb.append(theIter.next());
+            if (theIter.hasNext()) {
+                sb.append(' ');
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,286 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import structures.ArrayUnorderedList;
+import structures.LatencyHistogram;
+import structures.LinkedBinaryTree;
+import structures.TraversalOrder;
+import structures.TreeMetrics;
+
+/**
+ * Test the counters of TreeMetrics and the JFR events of the collections.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public class TestTreeMetrics {
+
+    /** The element at the root of my fixture. */
+    private static final int ROOT_ELM = 61;
+
+    /** Represent 10. */
+    private static final int TEN = 10;
+
+    /** Represent 20. */
+    private static final int TWENTY = 20;
+
+    /** Represent 40. */
+    private static final int FORTY = 40;
+
+    /** The metrics under test. */
+    private TreeMetrics myMetrics;
+
+    /** The fixture tree, 61 with children 10 and 20, 10 with child 40. */
+    private LinkedBinaryTree<Integer> myTree;
+
+    /**
+     * Method to initialize test fixtures.
+     */
+    @Before
+    public void setUp() {
+        myMetrics = TreeMetrics.getInstance();
+        myMetrics.reset();
+        myMetrics.setEnabled(true);
+        final LinkedBinaryTree<Integer> left =
+                        new LinkedBinaryTree<>(TEN, new LinkedBinaryTree<>(FORTY), null);
+        myTree = new LinkedBinaryTree<>(ROOT_ELM, left, new LinkedBinaryTree<>(TWENTY));
+    }
+
+    /**
+     * Turns the counters back off.
+     */
+    @After
+    public void tearDown() {
+        myMetrics.setEnabled(false);
+        myMetrics.reset();
+    }
+
+    /**
+     * Test that tree searches count the nodes they visit and their misses.
+     */
+    @Test
+    public void testSearchCounts() {
+        assertTrue(myTree.contains(FORTY));
+        assertFalse(myTree.contains(-1));
+        assertEquals(2, myMetrics.getSearchCount());
+        assertEquals(3 + 4, myMetrics.getSearchNodesVisited());
+        assertEquals(1, myMetrics.getSearchMisses());
+        assertEquals(2, myMetrics.getSearchLatency().getCount());
+
+        myTree.setIndexed(true);
+        assertEquals(TWENTY, (int) myTree.find(TWENTY));
+        assertEquals(3, myMetrics.getSearchCount());
+        assertEquals(3 + 4 + 1, myMetrics.getSearchNodesVisited());
+    }
+
+    /**
+     * Test that list searches count the slots they look at.
+     */
+    @Test
+    public void testListSearch() {
+        final ArrayUnorderedList<Integer> list = new ArrayUnorderedList<>();
+        list.addToRear(TEN);
+        list.addToRear(TWENTY);
+        list.addToRear(FORTY);
+        assertTrue(list.contains(TWENTY));
+        assertFalse(list.contains(ROOT_ELM));
+        assertEquals(2, myMetrics.getSearchCount());
+        assertEquals(2 + 3, myMetrics.getSearchNodesVisited());
+        assertEquals(1, myMetrics.getSearchMisses());
+    }
+
+    /**
+     * Test that traversals count the elements they visit, including ones
+     * stopped early.
+     */
+    @Test
+    public void testTraversalCounts() {
+        myTree.forEach(element -> { });
+        myTree.traverse(TraversalOrder.PRE_ORDER, element -> element != TEN);
+        myTree.iteratorLevelOrder();
+        assertEquals(3, myMetrics.getTraversalCount());
+        assertEquals(4 + 2 + 4, myMetrics.getTraversalElements());
+        assertEquals(3, myMetrics.getTraversalLatency().getCount());
+    }
+
+    /**
+     * Test that the levelorder traversal of an empty tree visits nothing.
+     */
+    @Test
+    public void testLevelOrderEmpty() {
+        new LinkedBinaryTree<Integer>().iteratorLevelOrder();
+        assertEquals(1, myMetrics.getTraversalCount());
+        assertEquals(0, myMetrics.getTraversalElements());
+    }
+
+    /**
+     * Test that array growth is counted once per growth.
+     */
+    @Test
+    public void testGrowthCounts() {
+        final ArrayUnorderedList<Integer> list = new ArrayUnorderedList<>(1);
+        for (int i = 0; i < 5; i++) {
+            list.addToRear(i);
+        }
+        //capacities 1, 2, 4, 8
+        assertEquals(3, myMetrics.getArrayGrowthCount());
+        assertEquals(1 + 2 + 4, myMetrics.getArrayGrowthCopies());
+    }
+
+    /**
+     * Test that nothing is counted while the counters are off.
+     */
+    @Test
+    public void testDisabled() {
+        myMetrics.setEnabled(false);
+        myTree.contains(FORTY);
+        myTree.forEach(element -> { });
+        fill(new ArrayUnorderedList<Integer>(1));
+        assertEquals(0, myMetrics.getSearchCount());
+        assertEquals(0, myMetrics.getTraversalCount());
+        assertEquals(0, myMetrics.getArrayGrowthCount());
+    }
+
+    /**
+     * Test the buckets and percentiles of the histogram.
+     */
+    @Test
+    public void testHistogram() {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getPercentile(99));
+        histogram.record(0);
+        histogram.record(1);
+        histogram.record(5);
+        histogram.record(1000);
+        final long[] buckets = histogram.getBuckets();
+        assertEquals(1, buckets[0]);
+        assertEquals(1, buckets[1]);
+        assertEquals(1, buckets[3]);
+        assertEquals(1, buckets[TEN]);
+        assertEquals(4, histogram.getCount());
+        assertEquals(1006, histogram.getTotalNanos());
+        assertEquals(1, histogram.getPercentile(50));
+        assertEquals(1023, histogram.getPercentile(100));
+        assertEquals(0, histogram.getPercentile(0));
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.getPercentile(100));
+        histogram.reset();
+        assertEquals(0, histogram.getCount());
+    }
+
+    /**
+     * Test that a percentile out of range is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadPercentile() {
+        new LatencyHistogram().getPercentile(101);
+    }
+
+    /**
+     * Test reading the counters over JMX.
+     *
+     * @throws JMException if the attribute cannot be read
+     */
+    @Test
+    public void testMBean() throws JMException {
+        TreeMetrics.registerMBean();
+        TreeMetrics.registerMBean();
+        myTree.contains(TWENTY);
+        final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        final ObjectName name = new ObjectName(TreeMetrics.OBJECT_NAME);
+        assertEquals(1L, server.getAttribute(name, "SearchCount"));
+        assertEquals(Boolean.TRUE, server.getAttribute(name, "Enabled"));
+        server.invoke(name, "reset", null, null);
+        assertEquals(0L, server.getAttribute(name, "SearchCount"));
+    }
+
+    /**
+     * Test that a recording gets the search, traversal and growth events
+     * even with the counters off.
+     *
+     * @throws IOException if the recording cannot be written or read
+     */
+    @Test
+    public void testEvents() throws IOException {
+        myMetrics.setEnabled(false);
+        final Path file = Files.createTempFile("metrics", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("structures.Search").withThreshold(java.time.Duration.ZERO);
+            recording.enable("structures.Traversal").withThreshold(java.time.Duration.ZERO);
+            recording.enable("structures.ArrayGrowth");
+            recording.start();
+            myTree.contains(FORTY);
+            myTree.traverse(TraversalOrder.POST_ORDER, element -> true);
+            fill(new ArrayUnorderedList<Integer>(1));
+            recording.stop();
+            recording.dump(file);
+            final List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+            final RecordedEvent search = only(events, "structures.Search");
+            assertEquals(LinkedBinaryTree.COLLECTION, search.getString("collection"));
+            assertEquals(3, search.getInt("visited"));
+            assertTrue(search.getBoolean("found"));
+
+            final RecordedEvent traversal = only(events, "structures.Traversal");
+            assertEquals("POST_ORDER", traversal.getString("order"));
+            assertEquals(4, traversal.getInt("visited"));
+
+            int growths = 0;
+            for (final RecordedEvent event : events) {
+                if (event.getEventType().getName().equals("structures.ArrayGrowth")) {
+                    assertEquals(1, event.getInt("oldCapacity"));
+                    assertEquals(2, event.getInt("newCapacity"));
+                    growths++;
+                }
+            }
+            assertEquals(1, growths);
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /**
+     * Adds two elements to a list of capacity one, which grows it once.
+     *
+     * @param theList the list
+     */
+    private static void fill(final ArrayUnorderedList<Integer> theList) {
+        theList.addToRear(TEN);
+        theList.addToFront(TWENTY);
+    }
+
+    /**
+     * Returns the only event of the given type.
+     *
+     * @param theEvents the recorded events
+     * @param theName the event type
+     * @return the event
+     */
+    private static RecordedEvent only(final List<RecordedEvent> theEvents, final String theName) {
+        RecordedEvent result = null;
+        for (final RecordedEvent event : theEvents) {
+            if (event.getEventType().getName().equals(theName)) {
+                assertNull("More than one " + theName, result);
+                result = event;
+            }
+        }
+        assertNotNull("No " + theName, result);
+        return result;
+    }
+}
@@ -0,0 +1,65 @@
+package tests;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+import org.junit.Test;
+
+import structures.UnrolledUnorderedList;
+import structures.UnorderedListADT;
+
+/**
+ * Test the methods of the class UnrolledUnorderedList. The UnorderedListADT
+ * contract is tested by AbstractUnorderedListTest; the tests here split,
+ * merge and drain chunks.
+ * @author Yaro Salo
+ * @version 1.0
+ *
+ */
+public class TestUnrolledUnorderedList extends AbstractUnorderedListTest {
+
+    @Override
+    protected UnorderedListADT<Integer> createList() {
+        return new UnrolledUnorderedList<>();
+    }
+
+    /**
+     * Test random operations against ArrayUnorderedList with chunks of
+     * several sizes, so that chunks split and merge often.
+     */
+    @Test
+    public void testSplitAndMerge() {
+        for (final int capacity : new int[] {2, 3, 8, 64}) {
+            compare(new UnrolledUnorderedList<>(capacity), new Random(capacity));
+        }
+    }
+
+    /**
+     * Test that a chunk capacity below 2 is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void testBadCapacity() {
+        new UnrolledUnorderedList<Integer>(1);
+    }
+
+    /**
+     * Test draining a list from both ends after edits in the middle.
+     */
+    @Test
+    public void testDrain() {
+        final UnrolledUnorderedList<Integer> list = new UnrolledUnorderedList<>(4);
+        for (int i = 0; i < MANY; i += 2) {
+            list.addToRear(i);
+        }
+        for (int i = 0; i < MANY; i += 2) {
+            list.addAfter(i + 1, i);
+        }
+        for (int i = 0; i < MANY / 2; i++) {
+            assertEquals("First", Integer.valueOf(i), list.removeFirst());
+            assertEquals("Last", Integer.valueOf(MANY - 1 - i), list.removeLast());
+        }
+        assertTrue("Should be empty", list.isEmpty());
+        list.addToFront(1);
+        assertEquals("Reused", "1", join(list));
+    }
+}